@@ -0,0 +1,65 @@
+package com.terheyden.event;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A query that keeps track of how many responders in its subscriber snapshot are still working,
+ * so it knows when every one of them has responded, failed, or been skipped.
+ * <p>
+ * Responders that ran are counted in {@link #end(EventSubscription)}, which is called in a {@code finally},
+ * so one that throws an {@link Error} still counts as done.
+ */
+abstract class AggregatingQueryRequest<I, O> extends QueryEventRequest<I, O> {
+
+    private final AtomicInteger remainingCount;
+
+    /**
+     * @param responderCount the size of the subscriber snapshot this query is published to
+     */
+    AggregatingQueryRequest(I eventObj, int responderCount) {
+        super(eventObj, response -> { });
+        this.remainingCount = new AtomicInteger(responderCount);
+    }
+
+    @Override
+    void respond(EventSubscription responder, O response) {
+        onResponse(response);
+    }
+
+    @Override
+    void fail(EventSubscription responder, Throwable thrown) {
+        onFailure(new EventRouterPublishException(responder, getEventObj(), thrown));
+    }
+
+    @Override
+    void end(EventSubscription responder) {
+        countDown();
+    }
+
+    @Override
+    void skip(EventSubscription responder) {
+        countDown();
+    }
+
+    private void countDown() {
+        if (remainingCount.decrementAndGet() == 0) {
+            onAllDone();
+        }
+    }
+
+    /**
+     * Called with each response, possibly from many threads at once.
+     */
+    abstract void onResponse(O response);
+
+    /**
+     * Called for each responder that threw, possibly from many threads at once.
+     */
+    abstract void onFailure(EventRouterPublishException failure);
+
+    /**
+     * Called once, after every responder has responded, failed, or been skipped.
+     * Also called by the publisher if there are no responders at all.
+     */
+    abstract void onAllDone();
+}
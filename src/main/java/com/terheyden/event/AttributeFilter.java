@@ -0,0 +1,36 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A subscription filter matching events whose {@link EventAttribute} equals a value.
+ * It works like any other {@link Predicate}, but routers recognize it and index it.
+ *
+ * @see EventAttribute#equalTo(Object)
+ */
+public final class AttributeFilter<T> implements Predicate<T> {
+
+    private final EventAttribute<T, ?> attribute;
+    @Nullable private final Object value;
+
+    AttributeFilter(EventAttribute<T, ?> attribute, @Nullable Object value) {
+        this.attribute = attribute;
+        this.value = value;
+    }
+
+    @Override
+    public boolean test(T eventObj) {
+        return Objects.equals(attribute.extract(eventObj), value);
+    }
+
+    EventAttribute<T, ?> attribute() {
+        return attribute;
+    }
+
+    @Nullable
+    Object value() {
+        return value;
+    }
+}
@@ -1,6 +1,8 @@
 package com.terheyden.event;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -28,28 +30,72 @@ class BaseEventRouter<T> {
 
     /**
      * The singular thread pool used by all components.
+     * Usually a {@link ThreadPoolExecutor}, but may be a {@link java.util.concurrent.ForkJoinPool}.
      */
-    private final ThreadPoolExecutor threadPoolExecutor;
+    private final Executor threadPoolExecutor;
 
     /**
      * Create a new event router with a custom thread pool.
+     *
+     * @param publishDispatcher decides how publish requests get to the send strategy
      */
     protected BaseEventRouter(
-        ThreadPoolExecutor threadPoolExecutor,
-        SendEventStrategy<T> sendEventStrategy) {
+        Executor threadPoolExecutor,
+        SendEventStrategy<T> sendEventStrategy,
+        PublishDispatcher publishDispatcher) {
 
-        this.receivedEventHandler = new ReceivedEventHandler<>(threadPoolExecutor);
+        this.receivedEventHandler = new ReceivedEventHandler<>(publishDispatcher);
         this.sendEventStrategy = sendEventStrategy;
         this.subscriberManager = new EventSubscriberManager();
         this.threadPoolExecutor = threadPoolExecutor;
     }
 
     protected void publishInternal(EventRequest<T> eventRequest) {
+        publishInternal(eventRequest, Priority.NORMAL);
+    }
+
+    /**
+     * Publish to the given subscriber snapshot, instead of this router's own subscribers.
+     */
+    protected void publishInternal(EventRequest<T> eventRequest, EventSubscription[] subscribers) {
+        publishInternal(eventRequest, subscribers, Priority.NORMAL);
+    }
+
+    protected void publishInternal(EventRequest<T> eventRequest, EventSubscription[] subscribers, Priority priority) {
+        receivedEventHandler.publish(new PublishRequest<>(eventRequest, sendEventStrategy, subscribers, priority));
+    }
+
+    protected void publishInternal(EventRequest<T> eventRequest, Priority priority) {
 
         PublishRequest<T> request = new PublishRequest<>(
             eventRequest,
             sendEventStrategy,
-            subscriberManager.getSubscribers());
+            subscriberManager.getSubscriberSnapshot(),
+            priority);
+
+        receivedEventHandler.publish(request);
+    }
+
+    /**
+     * Publish a batch of events as a single request, against a single subscriber snapshot.
+     */
+    protected void publishAllInternal(List<EventRequest<T>> eventRequests) {
+        publishAllInternal(eventRequests, subscriberManager.getSubscriberSnapshot());
+    }
+
+    /**
+     * Publish a batch of events to the given subscriber snapshot, instead of this router's own subscribers.
+     */
+    protected void publishAllInternal(List<EventRequest<T>> eventRequests, EventSubscription[] subscribers) {
+
+        if (eventRequests.isEmpty()) {
+            return;
+        }
+
+        PublishRequest<T> request = new BatchPublishRequest<>(
+            eventRequests,
+            sendEventStrategy,
+            subscribers);
 
         receivedEventHandler.publish(request);
     }
@@ -57,11 +103,37 @@ class BaseEventRouter<T> {
     /**
      * The singular thread pool used by all components in this event router.
      * For metrics only — don't use this to publish events.
+     *
+     * @throws IllegalStateException if this router runs on a {@link java.util.concurrent.ForkJoinPool};
+     *     use {@link #getExecutor()} instead
      */
     protected ThreadPoolExecutor getThreadPool() {
+
+        if (!(threadPoolExecutor instanceof ThreadPoolExecutor)) {
+            throw new IllegalStateException(
+                "This router runs on a " + threadPoolExecutor.getClass().getSimpleName()
+                    + ", not a ThreadPoolExecutor; use getExecutor() instead");
+        }
+
+        return (ThreadPoolExecutor) threadPoolExecutor;
+    }
+
+    /**
+     * The singular thread pool used by all components in this event router,
+     * whether it's a {@link ThreadPoolExecutor} or a {@link java.util.concurrent.ForkJoinPool}.
+     * For metrics only — don't use this to publish events.
+     */
+    protected Executor getExecutor() {
         return threadPoolExecutor;
     }
 
+    /**
+     * How many events this router's thread pool has dropped due to its overflow policy.
+     */
+    protected long getDroppedEventCount() {
+        return ThreadPools.getDroppedEventCount(threadPoolExecutor);
+    }
+
     /**
      * Used by subclasses to manage subscriptions.
      */
@@ -0,0 +1,35 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+
+/**
+ * The ID and cancellation state shared by every subscription type.
+ * <p>
+ * Unsubscribing only marks a subscription as cancelled, so it doesn't have to be found and
+ * copied out of the subscriber array right away; send strategies skip cancelled subscriptions,
+ * and {@link EventSubscriberManager} compacts them out later.
+ */
+abstract class BaseEventSubscription implements EventSubscription {
+
+    private final long subscriptionId = SubscriptionIds.nextId();
+
+    private volatile boolean isCancelled;
+
+    @Override
+    public long getId() {
+        return subscriptionId;
+    }
+
+    @Override
+    public UUID getSubscriptionId() {
+        return SubscriptionIds.toUuid(subscriptionId);
+    }
+
+    void cancel() {
+        isCancelled = true;
+    }
+
+    boolean isCancelled() {
+        return isCancelled;
+    }
+}
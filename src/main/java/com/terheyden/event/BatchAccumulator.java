@@ -0,0 +1,158 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The event handler behind {@link EventRouter#subscribeBatch}: collects a subscriber's events
+ * and hands them to its batch handler as a list, once {@code maxBatchSize} events are waiting
+ * or the oldest waiting event is {@code maxDelay} old — whichever comes first.
+ * <p>
+ * Adding an event is lock-free: it's a queue offer and a counter increment. At most one thread
+ * delivers batches at a time, so the batch handler never runs concurrently with itself and sees
+ * batches in the order the events were added. Time-based flushes are scheduled on the
+ * {@link SharedScheduler} and run on the router's thread pool.
+ */
+final class BatchAccumulator<T> implements CheckedConsumer<T> {
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final CheckedConsumer<List<T>> batchHandler;
+    private final SubscriberExceptionHandler exceptionHandler;
+    private final Executor executor;
+
+    private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * How many events are waiting. Incremented after the offer, so it may briefly lag the queue.
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * True while a time-based flush is scheduled.
+     */
+    private final AtomicBoolean isTimerArmed = new AtomicBoolean();
+
+    /**
+     * True while some thread is delivering batches.
+     */
+    private final AtomicBoolean isDelivering = new AtomicBoolean();
+
+    BatchAccumulator(
+        int maxBatchSize,
+        long maxDelay,
+        TimeUnit unit,
+        CheckedConsumer<List<T>> batchHandler,
+        SubscriberExceptionHandler exceptionHandler,
+        Executor executor) {
+
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+
+        if (maxDelay <= 0) {
+            throw new IllegalArgumentException("Max batch delay must be positive: " + maxDelay);
+        }
+
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.batchHandler = batchHandler;
+        this.exceptionHandler = exceptionHandler;
+        this.executor = executor;
+    }
+
+    @Override
+    public void acceptChecked(T eventObj) {
+
+        queue.offer(eventObj);
+
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            deliver(false);
+        } else {
+            armTimer();
+        }
+    }
+
+    private void armTimer() {
+        if (!isTimerArmed.get() && isTimerArmed.compareAndSet(false, true)) {
+            SharedScheduler.schedule(() -> executor.execute(this::timerExpired), maxDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void timerExpired() {
+
+        // Disarm before flushing, so an event added after the flush always arms a new timer.
+        isTimerArmed.set(false);
+        deliver(true);
+
+        // Another thread may have been delivering, or events may have arrived while we were.
+        if (pendingCount.get() > 0) {
+            armTimer();
+        }
+    }
+
+    /**
+     * Deliver all full batches, plus the final partial batch if {@code flushPartial} is set.
+     * If another thread is already delivering, leave it to that thread.
+     */
+    private void deliver(boolean flushPartial) {
+
+        while (isDelivering.compareAndSet(false, true)) {
+
+            try {
+                while (pendingCount.get() >= maxBatchSize || (flushPartial && pendingCount.get() > 0)) {
+                    List<T> batch = takeBatch();
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    sendBatch(batch);
+                }
+            } finally {
+                isDelivering.set(false);
+            }
+
+            // A full batch may have filled up while we held the flag, and its adder saw us delivering.
+            if (pendingCount.get() < maxBatchSize) {
+                return;
+            }
+
+            flushPartial = false;
+        }
+    }
+
+    private List<T> takeBatch() {
+
+        List<T> batch = new ArrayList<>(Math.min(maxBatchSize, Math.max(1, pendingCount.get())));
+
+        while (batch.size() < maxBatchSize) {
+            T eventObj = queue.poll();
+            if (eventObj == null) {
+                break;
+            }
+            batch.add(eventObj);
+        }
+
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void sendBatch(List<T> batch) {
+        try {
+            batchHandler.accept(batch);
+        } catch (Exception e) {
+            exceptionHandler.handleException(e, batch);
+        }
+    }
+
+    /**
+     * How many events are waiting to be delivered.
+     */
+    int getPendingCount() {
+        return Math.max(0, pendingCount.get());
+    }
+}
@@ -0,0 +1,41 @@
+package com.terheyden.event;
+
+import java.util.List;
+
+/**
+ * A batch of events published together, for queuing and delivery as a single task.
+ * Every event in the batch is sent to the same subscriber snapshot.
+ */
+class BatchPublishRequest<T> extends PublishRequest<T> {
+
+    private final List<EventRequest<T>> eventRequests;
+
+    /**
+     * @param eventRequests the events to publish, in order — must not be empty
+     */
+    BatchPublishRequest(
+        List<EventRequest<T>> eventRequests,
+        SendEventStrategy<T> sendEventStrategy,
+        EventSubscription[] subscribers) {
+
+        super(eventRequests.get(0), sendEventStrategy, subscribers);
+        this.eventRequests = eventRequests;
+    }
+
+    List<EventRequest<T>> eventRequests() {
+        return eventRequests;
+    }
+
+    @Override
+    void sendToSubscribers() {
+        eventPublisher().sendEventsToSubscribers(eventRequests, subscribers());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchPublishRequest [%d events]; %d subs => %s",
+            eventRequests.size(),
+            subscribers().length,
+            eventPublisher().getClass().getSimpleName());
+    }
+}
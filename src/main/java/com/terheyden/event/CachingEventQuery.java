@@ -0,0 +1,31 @@
+package com.terheyden.event;
+
+/**
+ * An {@link EventQuery} that caches each query's responses, for idempotent lookups like config
+ * or permissions. A cached query is answered straight from the cache, without reaching subscribers.
+ * Created by {@link EventRouters.EventQueryBuilder#cache(long, java.util.concurrent.TimeUnit, int)}.
+ * <p>
+ * Results are cached by query object, so queries need proper {@code equals()} and {@code hashCode()}.
+ * Only complete results are cached: a query where a subscriber threw, or that finished early because of
+ * {@link QueryOptions}, isn't. Subscribing or unsubscribing clears the cache, since the answers may change.
+ */
+public interface CachingEventQuery<I, O> extends EventQuery<I, O> {
+
+    /**
+     * Forget the cached responses to the given query.
+     */
+    void invalidate(I eventObj);
+
+    /**
+     * Forget every cached response.
+     */
+    void invalidateAll();
+
+    /**
+     * A router that invalidates the cached responses to each query object published to it,
+     * so whatever owns the data can announce changes without knowing about this cache.
+     */
+    EventRouter<I> getInvalidationRouter();
+
+    QueryCacheStats getCacheStats();
+}
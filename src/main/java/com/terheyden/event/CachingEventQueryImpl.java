@@ -0,0 +1,176 @@
+package com.terheyden.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collector;
+
+/**
+ * Wraps an {@link EventQueryImpl} with a {@link QueryResultCache}.
+ * A query's full list of responses is cached, so every kind of query can be answered from it.
+ */
+final class CachingEventQueryImpl<I, O> implements CachingEventQuery<I, O> {
+
+    private final EventQueryImpl<I, O> eventQuery;
+    private final QueryResultCache<I, List<O>> cache;
+    private final EventRouter<I> invalidationRouter;
+
+    CachingEventQueryImpl(
+        EventQueryImpl<I, O> eventQuery,
+        QueryResultCache<I, List<O>> cache,
+        EventRouter<I> invalidationRouter) {
+
+        this.eventQuery = eventQuery;
+        this.cache = cache;
+        this.invalidationRouter = invalidationRouter;
+        invalidationRouter.subscribe(cache::invalidate);
+    }
+
+    @Override
+    public UUID subscribe(CheckedFunction<I, O> eventHandler) {
+        UUID subscriptionId = eventQuery.subscribe(eventHandler);
+        cache.invalidateAll();
+        return subscriptionId;
+    }
+
+    @Override
+    public void unsubscribe(UUID subscriptionId) {
+        eventQuery.unsubscribe(subscriptionId);
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        eventQuery.unsubscribe(subscriptionId);
+        cache.invalidateAll();
+    }
+
+    /**
+     * On a miss, the handler is called once every subscriber has responded, instead of as each one responds.
+     */
+    @Override
+    public void query(I eventObj, CheckedConsumer<O> responseHandler) {
+        queryCached(eventObj).thenAccept(responses -> {
+            for (O response : responses) {
+                try {
+                    responseHandler.accept(response);
+                } catch (Exception e) {
+                    eventQuery.getExceptionHandler().handleException(e, eventObj);
+                }
+            }
+        });
+    }
+
+    @Override
+    public <R> CompletableFuture<R> query(I eventObj, Collector<? super O, ?, R> collector) {
+        return queryCached(eventObj).thenApply(responses -> responses.stream().collect(collector));
+    }
+
+    @Override
+    public CompletableFuture<List<O>> queryAll(I eventObj) {
+        return queryCached(eventObj);
+    }
+
+    /**
+     * On a miss, waits for every subscriber, so the full result can be cached.
+     */
+    @Override
+    public CompletableFuture<O> queryFirst(I eventObj) {
+        return queryCached(eventObj).thenApply(responses -> {
+            if (responses.isEmpty()) {
+                throw new NoSuchElementException("No responses to query: " + eventObj);
+            }
+            return responses.get(0);
+        });
+    }
+
+    /**
+     * A cached result satisfies any options. Otherwise the query runs uncached,
+     * since one that stops early doesn't have the full result.
+     */
+    @Override
+    public CompletableFuture<List<O>> query(I eventObj, QueryOptions options) {
+
+        List<O> cached = cache.get(eventObj);
+
+        if (cached == null) {
+            return eventQuery.query(eventObj, options);
+        }
+
+        int responseCount = options.firstResponseCount() > 0
+            ? Math.min(options.firstResponseCount(), cached.size())
+            : cached.size();
+
+        return CompletableFuture.completedFuture(cached.subList(0, responseCount));
+    }
+
+    @Override
+    public void publishAll(Iterable<? extends I> eventObjs, CheckedConsumer<O> responseHandler) {
+        eventQuery.publishAll(eventObjs, responseHandler);
+    }
+
+    private CompletableFuture<List<O>> queryCached(I eventObj) {
+
+        List<O> cached = cache.get(eventObj);
+
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Taken before publishing, so an invalidation while the query runs keeps its result out of the cache.
+        long generation = cache.generation();
+
+        QueryFlight<I, O> flight = eventQuery.queryFlight(eventObj, null);
+
+        return flight.getFuture().thenApply(responses -> {
+            if (!flight.hasFailures()) {
+                cache.put(eventObj, responses, generation);
+            }
+            return responses;
+        });
+    }
+
+    @Override
+    public void invalidate(I eventObj) {
+        cache.invalidate(eventObj);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public EventRouter<I> getInvalidationRouter() {
+        return invalidationRouter;
+    }
+
+    @Override
+    public QueryCacheStats getCacheStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public Collection<UUID> getSubscriptions() {
+        return eventQuery.getSubscriptions();
+    }
+
+    @Override
+    public ThreadPoolExecutor getThreadPool() {
+        return eventQuery.getThreadPool();
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return eventQuery.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return eventQuery.getDroppedEventCount();
+    }
+}
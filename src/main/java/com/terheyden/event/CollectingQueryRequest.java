@@ -0,0 +1,54 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collector;
+
+/**
+ * A query that collects every response, and completes its future once all responders are done.
+ * Responders that throw are reported to the router's exception handler, and left out of the result.
+ */
+final class CollectingQueryRequest<I, O, R> extends AggregatingQueryRequest<I, O> {
+
+    private final List<O> responses = Collections.synchronizedList(new ArrayList<>());
+    private final Collector<? super O, ?, R> collector;
+    private final CompletableFuture<R> future = new CompletableFuture<>();
+
+    CollectingQueryRequest(I eventObj, int responderCount, Collector<? super O, ?, R> collector) {
+        super(eventObj, responderCount);
+        this.collector = collector;
+    }
+
+    CompletableFuture<R> getFuture() {
+        return future;
+    }
+
+    @Override
+    void onResponse(O response) {
+        responses.add(response);
+    }
+
+    @Override
+    void onFailure(EventRouterPublishException failure) {
+        // Already reported to the exception handler.
+    }
+
+    @Override
+    void dropped() {
+        future.completeExceptionally(new RejectedExecutionException("Event queue is full; dropped query: " + getEventObj()));
+    }
+
+    @Override
+    void onAllDone() {
+        try {
+            synchronized (responses) {
+                future.complete(responses.stream().collect(collector));
+            }
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.terheyden.event;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs every task on a brand-new thread from the given factory, with at most {@code maxConcurrency}
+ * tasks running at once. Meant for virtual threads, which are cheap to create and shouldn't be pooled —
+ * the semaphore replaces the pool size as the limit on how many subscribers run at the same time.
+ * <p>
+ * Tasks over the limit still get their thread right away; it just waits for a permit.
+ * Waiting virtual threads are parked and cost next to nothing, so {@code execute()} never blocks.
+ */
+final class ConcurrencyLimitedExecutor implements Executor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    ConcurrencyLimitedExecutor(ThreadFactory threadFactory, int maxConcurrency) {
+
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+
+        this.threadFactory = threadFactory;
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        threadFactory.newThread(() -> runWithPermit(task)).start();
+    }
+
+    private void runWithPermit(Runnable task) {
+
+        permits.acquireUninterruptibly();
+
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+
+    int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * How many tasks are running right now (not counting tasks waiting for a permit).
+     */
+    int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+}
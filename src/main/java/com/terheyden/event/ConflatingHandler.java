@@ -0,0 +1,110 @@
+package com.terheyden.event;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The event handler behind {@link EventRouter#subscribeConflating}: keeps only the latest
+ * undelivered event per key, and delivers them to the subscriber on the router's thread pool.
+ * <p>
+ * An event whose key is already waiting replaces the waiting event in place, so the backlog is
+ * bounded by the number of distinct keys instead of the publish rate. Keys are delivered in the
+ * order they first started waiting, one event at a time, so the subscriber never runs concurrently
+ * with itself.
+ */
+final class ConflatingHandler<T> implements CheckedConsumer<T> {
+
+    private final Function<? super T, ?> keyExtractor;
+    private final CheckedConsumer<T> eventHandler;
+    private final SubscriberExceptionHandler exceptionHandler;
+    private final Executor executor;
+
+    /**
+     * The latest undelivered event for each key.
+     */
+    private final ConcurrentHashMap<Object, T> latestByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Keys with an undelivered event, in the order they started waiting. Each key appears at most once.
+     */
+    private final ConcurrentLinkedQueue<Object> waitingKeys = new ConcurrentLinkedQueue<>();
+
+    /**
+     * True while a drain task is scheduled or running.
+     */
+    private final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+
+    ConflatingHandler(
+        Function<? super T, ?> keyExtractor,
+        CheckedConsumer<T> eventHandler,
+        SubscriberExceptionHandler exceptionHandler,
+        Executor executor) {
+
+        this.keyExtractor = keyExtractor;
+        this.eventHandler = eventHandler;
+        this.exceptionHandler = exceptionHandler;
+        this.executor = executor;
+    }
+
+    @Override
+    public void acceptChecked(T eventObj) {
+
+        Object key = keyExtractor.apply(eventObj);
+
+        // If an event was already waiting, we just replaced it, and its key is already queued.
+        if (latestByKey.put(key, eventObj) == null) {
+            waitingKeys.offer(key);
+        }
+
+        if (isDrainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+
+        int deliveredCount = 0;
+
+        while (true) {
+
+            Object key = waitingKeys.poll();
+
+            if (key == null) {
+                isDrainScheduled.set(false);
+                // A key may have been queued after our poll, while we still looked scheduled.
+                if (waitingKeys.isEmpty() || !isDrainScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+
+            T eventObj = latestByKey.remove(key);
+            if (eventObj != null) {
+                deliver(eventObj);
+            }
+
+            if (++deliveredCount >= ThreadPools.DRAIN_BATCH_SIZE) {
+                executor.execute(this::drain);
+                return;
+            }
+        }
+    }
+
+    private void deliver(T eventObj) {
+        try {
+            eventHandler.accept(eventObj);
+        } catch (Exception e) {
+            exceptionHandler.handleException(e, eventObj);
+        }
+    }
+
+    /**
+     * How many keys have an undelivered event.
+     */
+    int getPendingCount() {
+        return latestByKey.size();
+    }
+}
@@ -0,0 +1,254 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A query with {@link QueryOptions}: it completes when enough responses have arrived, when every
+ * responder is done, or when its deadline passes — whichever comes first. It may also be hedged:
+ * re-sent to responders that haven't answered after a delay, taking whichever copy answers first.
+ * <p>
+ * Once done, responders that haven't started are skipped, and (optionally) running ones are interrupted.
+ * Each responder counts once, no matter how many copies of the query it answers.
+ * Only the first response is recorded in the latency tracker, since that's what hedging waits for.
+ * All state changes happen under this request's lock; it's held only briefly.
+ */
+final class DeadlineQueryRequest<I, O> extends QueryEventRequest<I, O> {
+
+    private final EventSubscription[] responders;
+    private final int wantedResponseCount;
+    private final boolean isInterruptingStragglers;
+    private final QueryLatencyTracker latencyTracker;
+    private final long startNanos = System.nanoTime();
+    private final CompletableFuture<List<O>> future = new CompletableFuture<>();
+
+    private final List<O> responses = new ArrayList<>();
+    private final Set<Long> settledResponderIds = new HashSet<>();
+    private final Set<Thread> runningThreads = new HashSet<>();
+    private final Set<Thread> interruptedThreads = new HashSet<>();
+    private final List<ScheduledFuture<?>> timers = new ArrayList<>(2);
+
+    private volatile boolean isDone;
+
+    /**
+     * @param responders the subscriber snapshot this query is published to; must not be empty
+     */
+    DeadlineQueryRequest(
+        I eventObj,
+        EventSubscription[] responders,
+        QueryOptions options,
+        QueryLatencyTracker latencyTracker) {
+
+        super(eventObj, response -> { });
+        this.responders = responders;
+        this.wantedResponseCount = options.firstResponseCount() > 0
+            ? Math.min(options.firstResponseCount(), responders.length)
+            : responders.length;
+        this.isInterruptingStragglers = options.isInterruptingStragglers();
+        this.latencyTracker = latencyTracker;
+    }
+
+    CompletableFuture<List<O>> getFuture() {
+        return future;
+    }
+
+    /**
+     * Complete the query when its deadline passes, with whatever responses have arrived.
+     */
+    void scheduleTimeout(long timeoutNanos) {
+        addTimer(() -> SharedScheduler.schedule(this::complete, timeoutNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * After the given delay, re-send the query to every responder that hasn't answered yet.
+     */
+    void scheduleHedge(long delayNanos, Executor executor, SubscriberExceptionHandler exceptionHandler) {
+        addTimer(() -> SharedScheduler.schedule(() -> hedge(executor, exceptionHandler), delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    private synchronized void addTimer(Supplier<ScheduledFuture<?>> scheduleTimer) {
+        if (!isDone) {
+            timers.add(scheduleTimer.get());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void hedge(Executor executor, SubscriberExceptionHandler exceptionHandler) {
+
+        List<EventSubscription> stragglers = new ArrayList<>();
+
+        synchronized (this) {
+            if (isDone) {
+                return;
+            }
+
+            for (EventSubscription responder : responders) {
+                if (!settledResponderIds.contains(responder.getId())) {
+                    stragglers.add(responder);
+                }
+            }
+        }
+
+        for (EventSubscription responder : stragglers) {
+            EventQuerySubscription<I, O> sub = (EventQuerySubscription<I, O>) responder;
+            executor.execute(() -> SendStrategies.sendQueryEventResponse(this, sub, exceptionHandler));
+        }
+    }
+
+    @Override
+    boolean start(EventSubscription responder) {
+
+        if (!isInterruptingStragglers) {
+            return !isDone;
+        }
+
+        synchronized (this) {
+            if (isDone) {
+                return false;
+            }
+            runningThreads.add(Thread.currentThread());
+            return true;
+        }
+    }
+
+    @Override
+    void end(EventSubscription responder) {
+
+        if (!isInterruptingStragglers) {
+            return;
+        }
+
+        Thread currentThread = Thread.currentThread();
+        boolean wasInterrupted;
+
+        synchronized (this) {
+            runningThreads.remove(currentThread);
+            wasInterrupted = interruptedThreads.remove(currentThread);
+        }
+
+        // Don't let our interrupt leak into whatever this pool thread runs next.
+        if (wasInterrupted) {
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    boolean isDone() {
+        return isDone;
+    }
+
+    @Override
+    void respond(EventSubscription responder, O response) {
+
+        long latencyNanos = System.nanoTime() - startNanos;
+        boolean isFirstResponse;
+        boolean isSatisfied;
+
+        synchronized (this) {
+            if (isDone || !settledResponderIds.add(responder.getId())) {
+                return;
+            }
+
+            isFirstResponse = responses.isEmpty();
+            responses.add(response);
+            isSatisfied = responses.size() >= wantedResponseCount
+                || settledResponderIds.size() == responders.length;
+        }
+
+        if (isFirstResponse) {
+            latencyTracker.record(latencyNanos);
+        }
+
+        if (isSatisfied) {
+            complete();
+        }
+    }
+
+    @Override
+    void fail(EventSubscription responder, Throwable thrown) {
+        settle(responder);
+    }
+
+    @Override
+    void skip(EventSubscription responder) {
+        settle(responder);
+    }
+
+    private void settle(EventSubscription responder) {
+
+        boolean isEveryoneDone;
+
+        synchronized (this) {
+            if (isDone || !settledResponderIds.add(responder.getId())) {
+                return;
+            }
+
+            isEveryoneDone = settledResponderIds.size() == responders.length;
+        }
+
+        if (isEveryoneDone) {
+            complete();
+        }
+    }
+
+    /**
+     * A full bounded queue dropped the query before it reached the responders, so fail it
+     * instead of leaving it to a timeout it may not have.
+     */
+    @Override
+    void dropped() {
+        finish(new RejectedExecutionException("Event queue is full; dropped query: " + getEventObj()));
+    }
+
+    /**
+     * Complete the query with the responses so far. Only the first call does anything.
+     */
+    void complete() {
+        finish(null);
+    }
+
+    /**
+     * Complete the query with the responses so far, or fail it with the given exception.
+     * Only the first call does anything.
+     */
+    private void finish(@Nullable Throwable failure) {
+
+        List<O> result;
+        List<ScheduledFuture<?>> timersToCancel;
+
+        synchronized (this) {
+            if (isDone) {
+                return;
+            }
+
+            isDone = true;
+            result = new ArrayList<>(responses);
+            timersToCancel = new ArrayList<>(timers);
+
+            for (Thread runningThread : runningThreads) {
+                // The responder that just finished the query is still "running" on this thread.
+                if (runningThread != Thread.currentThread()) {
+                    runningThread.interrupt();
+                    interruptedThreads.add(runningThread);
+                }
+            }
+        }
+
+        timersToCancel.forEach(timer -> timer.cancel(false));
+
+        if (failure == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.terheyden.event;
+
+/**
+ * Called when an event is dropped because a router's bounded event queue is full.
+ *
+ * @see OverflowPolicy
+ */
+@FunctionalInterface
+public interface DroppedEventHandler {
+
+    /**
+     * Handle an event that will never be delivered to subscribers.
+     * This is called on the publishing thread, so it should be fast.
+     *
+     * @param eventObj The event object that was dropped.
+     */
+    void handleDroppedEvent(Object eventObj);
+}
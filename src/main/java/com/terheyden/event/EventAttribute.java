@@ -0,0 +1,43 @@
+package com.terheyden.event;
+
+import java.util.function.Function;
+
+/**
+ * An attribute of an event, used to build subscription filters that the router can index.
+ * Keep each attribute in a constant and reuse it, since the router groups indexed filters
+ * by attribute instance — that way an event's attribute is only extracted once per publish,
+ * no matter how many subscribers filter on it. (Batches from {@code publishAll()} test each
+ * subscriber's filter per event instead.)
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ * static final EventAttribute<Order, String> REGION = EventFilters.attribute(Order::getRegion);
+ *
+ * orderEvents.subscribe(REGION.equalTo("eu"), order -> System.out.println("EU order: " + order));
+ * }
+ * </pre>
+ *
+ * @see EventFilters#attribute(Function)
+ */
+public final class EventAttribute<T, A> {
+
+    private final Function<? super T, ? extends A> extractor;
+
+    EventAttribute(Function<? super T, ? extends A> extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * A filter that matches events whose attribute equals {@code value}.
+     * Routers index these, so matching subscribers are found with a hash lookup
+     * instead of testing every subscriber's filter.
+     */
+    public AttributeFilter<T> equalTo(A value) {
+        return new AttributeFilter<>(this, value);
+    }
+
+    A extract(T eventObj) {
+        return extractor.apply(eventObj);
+    }
+}
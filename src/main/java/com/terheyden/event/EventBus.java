@@ -0,0 +1,43 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+
+/**
+ * A single event bus for events of any type, instead of one {@link EventRouter} per event type.
+ * Subscribers subscribe to a type, and receive every published event that is an instance of it —
+ * so subscribing to a superclass or an interface (like {@link SpecialEvent}) receives all of its subtypes.
+ * <p>
+ * Which subscribers an event class resolves to is cached, so publishing never walks the class hierarchy
+ * except for the first event of each class after a subscription change.
+ * <p>
+ * If an event has no subscribers, a {@link NoSubscribersEvent} is published in its place,
+ * so you can subscribe to those to catch unhandled events.
+ *
+ * @see EventRouters#createEventBus()
+ */
+public interface EventBus extends EventSubscriber {
+
+    /**
+     * When an event of type {@code eventType} (or any subtype) is published, {@code eventHandler} will be called.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * eventBus.subscribe(String.class, str -> System.out.println("Got string: " + str));
+     * eventBus.subscribe(SpecialEvent.class, event -> System.out.println("Got special event: " + event));
+     * }
+     * </pre>
+     *
+     * @return A UUID that can later be used to unsubscribe.
+     */
+    <T> UUID subscribe(Class<T> eventType, CheckedConsumer<? super T> eventHandler);
+
+    /**
+     * Publish the given event to all subscribers of its class, superclasses, and interfaces.
+     * This is a non-blocking call; events are published asynchronously,
+     * unless the bus was built with {@code publishOnCallingThread()}.
+     *
+     * @param eventObj The event to send to all matching subscribers
+     */
+    void publish(Object eventObj);
+}
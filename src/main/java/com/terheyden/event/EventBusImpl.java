@@ -0,0 +1,90 @@
+package com.terheyden.event;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * EventBus class.
+ * Every subscription and every event type shares one thread pool and one send strategy.
+ */
+public class EventBusImpl extends BaseEventRouter<Object> implements EventBus {
+
+    private final EventTypeSubscriberManager typeSubscriberManager = new EventTypeSubscriberManager();
+
+    EventBusImpl(
+        Executor threadPoolExecutor,
+        SendEventStrategy<Object> sendStrategy,
+        PublishDispatcher publishDispatcher) {
+
+        super(threadPoolExecutor, sendStrategy, publishDispatcher);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> UUID subscribe(Class<T> eventType, CheckedConsumer<? super T> eventHandler) {
+
+        // Safe, since the bus only sends this handler instances of eventType.
+        EventRouterSubscription<Object> subscription =
+            new EventRouterSubscription<>((CheckedConsumer<Object>) eventHandler);
+
+        typeSubscriberManager.subscribe(eventType, subscription);
+        return subscription.getSubscriptionId();
+    }
+
+    @Override
+    public void unsubscribe(UUID subscriptionId) {
+        typeSubscriberManager.unsubscribe(subscriptionId);
+    }
+
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        typeSubscriberManager.unsubscribe(subscriptionId);
+    }
+
+    @Override
+    public void publish(Object eventObj) {
+
+        EventSubscription[] subscribers = typeSubscriberManager.getSubscriberSnapshot(eventObj.getClass());
+
+        if (subscribers.length > 0 || eventObj instanceof NoSubscribersEvent) {
+            publishInternal(new EventRequest<>(eventObj), subscribers);
+            return;
+        }
+
+        EventSubscription[] deadEventSubscribers =
+            typeSubscriberManager.getSubscriberSnapshot(NoSubscribersEvent.class);
+
+        if (deadEventSubscribers.length > 0) {
+            publishInternal(
+                new EventRequest<>(new NoSubscribersEvent(eventObj, eventObj.getClass())),
+                deadEventSubscribers);
+        }
+    }
+
+    @Override
+    public ThreadPoolExecutor getThreadPool() {
+        return super.getThreadPool();
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return super.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return super.getDroppedEventCount();
+    }
+
+    @Override
+    public Collection<UUID> getSubscriptions() {
+        return typeSubscriberManager
+            .getSubscribers()
+            .stream()
+            .map(EventSubscription::getSubscriptionId)
+            .collect(Collectors.toList());
+    }
+}
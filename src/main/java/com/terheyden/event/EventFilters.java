@@ -0,0 +1,23 @@
+package com.terheyden.event;
+
+import java.util.function.Function;
+
+/**
+ * Factory methods for subscription filters.
+ *
+ * @see EventRouter#subscribe(java.util.function.Predicate, CheckedConsumer)
+ */
+public final class EventFilters {
+
+    private EventFilters() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * Define an event attribute for indexed equality filters, like {@code attribute(Order::getRegion).equalTo("eu")}.
+     * Keep the attribute in a constant and reuse it for every subscription that filters on it.
+     */
+    public static <T, A> EventAttribute<T, A> attribute(Function<? super T, ? extends A> extractor) {
+        return new EventAttribute<>(extractor);
+    }
+}
@@ -1,6 +1,10 @@
 package com.terheyden.event;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 /**
  * A publish-subscribe event router that sends query events that return a response.
@@ -18,6 +22,14 @@ public interface EventQuery<I, O> extends EventSubscriber {
      */
     UUID subscribe(CheckedFunction<I, O> eventHandler);
 
+    /**
+     * Like {@link #subscribe(CheckedFunction)}, but returns a handle that unsubscribes when it's closed.
+     * Good for short-lived subscriptions, with try-with-resources.
+     */
+    default SubscriptionHandle subscribeHandle(CheckedFunction<I, O> eventHandler) {
+        return new SubscriptionHandle(this, SubscriptionIds.toId(subscribe(eventHandler)));
+    }
+
     /**
      * A specialized form of {@link EventRouter#publish(Object)}. Publish the given event object
      * to all subscribers, and expect a response.
@@ -26,4 +38,58 @@ public interface EventQuery<I, O> extends EventSubscriber {
      * @param responseHandler callback function to call when a response object is received.
      */
     void query(I eventObj, CheckedConsumer<O> responseHandler);
+
+    /**
+     * Publish the given query to all subscribers, and collect their responses.
+     * The future completes once every subscriber has responded or thrown.
+     * Subscribers that throw are reported to the router's exception handler, and left out of the result.
+     * If a full bounded queue drops the query, the future fails with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     * <p>
+     * The future is completed on the router's thread, so chain slow work with the {@code ...Async} methods.
+     *
+     * @param collector collects the responses into the result, e.g. {@code Collectors.toSet()}
+     */
+    <R> CompletableFuture<R> query(I eventObj, Collector<? super O, ?, R> collector);
+
+    /**
+     * Publish the given query to all subscribers, and get all of their responses.
+     * The future completes once every subscriber has responded or thrown.
+     *
+     * @see #query(Object, Collector)
+     */
+    default CompletableFuture<List<O>> queryAll(I eventObj) {
+        return query(eventObj, Collectors.toList());
+    }
+
+    /**
+     * Publish the given query to all subscribers, and get the first response.
+     * If no subscriber responds (they all threw, or there aren't any), the future fails with a
+     * {@link java.util.NoSuchElementException}, with each subscriber's failure attached
+     * as a suppressed {@link EventRouterPublishException}. If a full bounded queue drops the query,
+     * the future fails with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    CompletableFuture<O> queryFirst(I eventObj);
+
+    /**
+     * Publish the given query to all subscribers, and get their responses, with a deadline,
+     * a "first N responses" cutoff, and/or hedging against slow responders — see {@link QueryOptions}.
+     * The future completes with the responses that arrived before the query was done.
+     * Subscribers that haven't started by then are skipped. If a full bounded queue drops the query,
+     * the future fails with a {@link java.util.concurrent.RejectedExecutionException}.
+     * <p>
+     * The future may be completed on the router's thread or the shared timer thread,
+     * so chain any real work with the {@code ...Async} methods.
+     */
+    CompletableFuture<List<O>> query(I eventObj, QueryOptions options);
+
+    /**
+     * Publish a batch of query events as a single request, to the same set of subscribers.
+     * Each subscriber receives the queries in iteration order, and every response
+     * is passed to {@code responseHandler}.
+     *
+     * @param eventObjs The event objects to publish.
+     * @param responseHandler callback function to call when a response object is received.
+     */
+    void publishAll(Iterable<? extends I> eventObjs, CheckedConsumer<O> responseHandler);
 }
@@ -1,8 +1,16 @@
 package com.terheyden.event;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 /**
@@ -12,8 +20,33 @@ import java.util.stream.Collectors;
  */
 public class EventQueryImpl<I, O> extends BaseEventRouter<I> implements EventQuery<I, O> {
 
-    EventQueryImpl(ThreadPoolExecutor threadPoolExecutor, SendEventStrategy<I> sendStrategy) {
-        super(threadPoolExecutor, sendStrategy);
+    private final SubscriberExceptionHandler exceptionHandler;
+
+    /**
+     * Where hedged queries are re-sent to responders.
+     */
+    private final Executor subscriberExecutor;
+
+    private final QueryLatencyTracker latencyTracker = new QueryLatencyTracker();
+
+    /**
+     * Queries in flight, by query object, so equal concurrent queries can share one dispatch.
+     * Null if coalescing is off.
+     */
+    @Nullable private final ConcurrentHashMap<I, QueryFlight<I, O>> flights;
+
+    EventQueryImpl(
+        SubscriberExceptionHandler exceptionHandler,
+        Executor threadPoolExecutor,
+        Executor subscriberExecutor,
+        SendEventStrategy<I> sendStrategy,
+        PublishDispatcher publishDispatcher,
+        boolean isCoalescingQueries) {
+
+        super(threadPoolExecutor, sendStrategy, publishDispatcher);
+        this.exceptionHandler = exceptionHandler;
+        this.subscriberExecutor = subscriberExecutor;
+        this.flights = isCoalescingQueries ? new ConcurrentHashMap<>() : null;
     }
 
     @Override
@@ -28,16 +61,187 @@ public class EventQueryImpl<I, O> extends BaseEventRouter<I> implements EventQue
         getSubscriberManager().unsubscribe(subscriptionId);
     }
 
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        getSubscriberManager().unsubscribe(subscriptionId);
+    }
+
     @Override
     public void query(I eventObj, CheckedConsumer<O> responseHandler) {
+
+        if (isCoalescing(eventObj)) {
+            queryFlight(eventObj, responseHandler);
+            return;
+        }
+
         publishInternal(new QueryEventRequest<>(eventObj, responseHandler));
     }
 
+    @Override
+    public <R> CompletableFuture<R> query(I eventObj, Collector<? super O, ?, R> collector) {
+
+        if (isCoalescing(eventObj)) {
+            return queryFlight(eventObj, null)
+                .getFuture()
+                .thenApply(responses -> responses.stream().collect(collector));
+        }
+
+        EventSubscription[] subscribers = getSubscriberManager().getSubscriberSnapshot();
+        CollectingQueryRequest<I, O, R> request = new CollectingQueryRequest<>(eventObj, subscribers.length, collector);
+        publishQuery(request, subscribers);
+        return request.getFuture();
+    }
+
+    @Override
+    public CompletableFuture<O> queryFirst(I eventObj) {
+
+        if (isCoalescing(eventObj)) {
+            return queryFlight(eventObj, null).getFirstFuture();
+        }
+
+        EventSubscription[] subscribers = getSubscriberManager().getSubscriberSnapshot();
+        FirstResponseQueryRequest<I, O> request = new FirstResponseQueryRequest<>(eventObj, subscribers.length);
+        publishQuery(request, subscribers);
+        return request.getFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<O>> query(I eventObj, QueryOptions options) {
+
+        EventSubscription[] subscribers = getSubscriberManager().getSubscriberSnapshot();
+
+        if (subscribers.length == 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        DeadlineQueryRequest<I, O> request = new DeadlineQueryRequest<>(eventObj, subscribers, options, latencyTracker);
+
+        // Start the clocks before publishing, which may block, or run the responders right here.
+        if (options.timeoutNanos() > 0) {
+            request.scheduleTimeout(options.timeoutNanos());
+        }
+
+        long hedgeDelayNanos = options.hedgePercentile() > 0
+            ? latencyTracker.percentileNanos(options.hedgePercentile())
+            : options.hedgeDelayNanos();
+
+        if (hedgeDelayNanos > 0) {
+            request.scheduleHedge(hedgeDelayNanos, subscriberExecutor, exceptionHandler);
+        }
+
+        publishInternal(request, subscribers);
+        return request.getFuture();
+    }
+
+    /**
+     * Query every subscriber, sharing the dispatch with an equal query that's already in flight
+     * if coalescing is on.
+     *
+     * @param responseHandler called with each response, if not null
+     */
+    QueryFlight<I, O> queryFlight(I eventObj, @Nullable CheckedConsumer<O> responseHandler) {
+
+        if (!isCoalescing(eventObj)) {
+            return startFlight(eventObj, responseHandler);
+        }
+
+        while (true) {
+
+            QueryFlight<I, O> flight = flights.get(eventObj);
+
+            if (flight == null) {
+                flight = startFlight(eventObj, responseHandler, true);
+                if (flight != null) {
+                    return flight;
+                }
+            } else if (flight.join(responseHandler)) {
+                return flight;
+            } else {
+                // It finished as we arrived; it's on its way out of the map.
+                flights.remove(eventObj, flight);
+            }
+        }
+    }
+
+    private QueryFlight<I, O> startFlight(I eventObj, @Nullable CheckedConsumer<O> responseHandler) {
+        return Objects.requireNonNull(startFlight(eventObj, responseHandler, false));
+    }
+
+    /**
+     * @return null if another caller registered a flight for this query first
+     */
+    @Nullable
+    private QueryFlight<I, O> startFlight(
+        I eventObj,
+        @Nullable CheckedConsumer<O> responseHandler,
+        boolean isRegistering) {
+
+        EventSubscription[] subscribers = getSubscriberManager().getSubscriberSnapshot();
+        QueryFlight<I, O> flight = new QueryFlight<>(eventObj, subscribers.length, exceptionHandler);
+        flight.join(responseHandler);
+
+        if (isRegistering) {
+            if (flights.putIfAbsent(eventObj, flight) != null) {
+                return null;
+            }
+            flight.getFuture().whenComplete((responses, err) -> flights.remove(eventObj, flight));
+        }
+
+        publishQuery(flight, subscribers);
+        return flight;
+    }
+
+    /**
+     * Queries without a usable key (null) are never coalesced.
+     */
+    private boolean isCoalescing(@Nullable I eventObj) {
+        return flights != null && eventObj != null;
+    }
+
+    /**
+     * The request counts responses against this exact snapshot, so publish to it instead of taking a new one.
+     */
+    private void publishQuery(AggregatingQueryRequest<I, O> request, EventSubscription[] subscribers) {
+
+        // Nobody to wait for.
+        if (subscribers.length == 0) {
+            request.onAllDone();
+            return;
+        }
+
+        publishInternal(request, subscribers);
+    }
+
+    @Override
+    public void publishAll(Iterable<? extends I> eventObjs, CheckedConsumer<O> responseHandler) {
+
+        List<EventRequest<I>> eventRequests = new ArrayList<>();
+        for (I eventObj : eventObjs) {
+            eventRequests.add(new QueryEventRequest<>(eventObj, responseHandler));
+        }
+
+        publishAllInternal(eventRequests);
+    }
+
+    SubscriberExceptionHandler getExceptionHandler() {
+        return exceptionHandler;
+    }
+
     @Override
     public ThreadPoolExecutor getThreadPool() {
         return super.getThreadPool();
     }
 
+    @Override
+    public Executor getExecutor() {
+        return super.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return super.getDroppedEventCount();
+    }
+
     @Override
     public Collection<UUID> getSubscriptions() {
         return getSubscribers()
@@ -1,7 +1,9 @@
 package com.terheyden.event;
 
-import java.util.Collection;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * If event {@code MyEvent} is published and there are 3 subscribers,
@@ -9,9 +11,9 @@ import java.util.concurrent.ThreadPoolExecutor;
  */
 class EventQuerySendAsyncStrategy<I, O> extends ExceptionHandlingSendEventStrategy<I> {
 
-    private final ThreadPoolExecutor threadPool;
+    private final Executor threadPool;
 
-    EventQuerySendAsyncStrategy(SubscriberExceptionHandler exceptionHandler, ThreadPoolExecutor threadPool) {
+    EventQuerySendAsyncStrategy(SubscriberExceptionHandler exceptionHandler, Executor threadPool) {
         super(exceptionHandler);
         this.threadPool = threadPool;
     }
@@ -20,20 +22,61 @@ class EventQuerySendAsyncStrategy<I, O> extends ExceptionHandlingSendEventStrate
     @SuppressWarnings("unchecked")
     public void sendEventToSubscribers(
         EventRequest<? extends I> eventRequest,
-        Collection<? extends EventSubscription> subscribers) {
+        EventSubscription[] subscribers) {
 
-        subscribers
-            .stream()
-            .map(sub -> (EventQuerySubscription<I, O>) sub)
-            .forEach(sub ->
-            threadPool.execute(() -> sendEventToSubscriber(sub, eventRequest)));
+        for (EventSubscription subscriber : subscribers) {
+            EventQuerySubscription<I, O> sub = (EventQuerySubscription<I, O>) subscriber;
+            submit(sub, () -> sendEventToSubscriber(sub, eventRequest), Collections.singletonList(eventRequest));
+        }
     }
 
-    private void sendEventToSubscriber(EventQuerySubscription<I, O> sub, EventRequest<? extends I> eventRequest) {
+    /**
+     * One task per subscriber for the whole batch, so each subscriber still sees the queries in order.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sendEventsToSubscribers(
+        List<? extends EventRequest<? extends I>> eventRequests,
+        EventSubscription[] subscribers) {
+
+        for (EventSubscription subscriber : subscribers) {
+            EventQuerySubscription<I, O> sub = (EventQuerySubscription<I, O>) subscriber;
+            submit(sub, () -> {
+                for (int i = 0; i < eventRequests.size(); i++) {
+                    sendEventToSubscriber(sub, eventRequests.get(i));
+                }
+            }, eventRequests);
+        }
+    }
+
+    /**
+     * Run one responder's task on the pool. If the pool rejects it, the responder fails each query
+     * without running, so the queries still hear from every responder and their futures complete.
+     */
+    @SuppressWarnings("unchecked")
+    private void submit(
+        EventQuerySubscription<I, O> sub,
+        Runnable task,
+        List<? extends EventRequest<? extends I>> eventRequests) {
+
         try {
-            SendStrategies.sendQueryEventResponse(eventRequest, sub);
-        } catch (Exception e) {
-            handleException(e, eventRequest);
+            threadPool.execute(task);
+        } catch (RejectedExecutionException e) {
+            for (int i = 0; i < eventRequests.size(); i++) {
+
+                QueryEventRequest<I, O> queryRequest = (QueryEventRequest<I, O>) eventRequests.get(i);
+
+                try {
+                    handleException(e, queryRequest);
+                } finally {
+                    queryRequest.fail(sub, e);
+                    queryRequest.skip(sub);
+                }
+            }
         }
     }
+
+    private void sendEventToSubscriber(EventQuerySubscription<I, O> sub, EventRequest<? extends I> eventRequest) {
+        SendStrategies.sendQueryEventResponse(eventRequest, sub, getExceptionHandler());
+    }
 }
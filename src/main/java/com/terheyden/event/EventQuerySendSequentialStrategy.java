@@ -1,7 +1,5 @@
 package com.terheyden.event;
 
-import java.util.Collection;
-
 /**
  * Publishes events to subscribers in order, on the calling thread.
  */
@@ -15,11 +13,13 @@ class EventQuerySendSequentialStrategy<I, O> extends ExceptionHandlingSendEventS
     @SuppressWarnings("unchecked")
     public void sendEventToSubscribers(
         EventRequest<? extends I> eventRequest,
-        Collection<? extends EventSubscription> subscribers) {
+        EventSubscription[] subscribers) {
 
-        subscribers
-            .stream()
-            .map(sub -> (EventQuerySubscription<I, O>) sub)
-            .forEach(sub -> SendStrategies.sendQueryEventResponse(eventRequest, sub));
+        for (EventSubscription subscriber : subscribers) {
+            SendStrategies.sendQueryEventResponse(
+                eventRequest,
+                (EventQuerySubscription<I, O>) subscriber,
+                getExceptionHandler());
+        }
     }
 }
@@ -1,31 +1,15 @@
 package com.terheyden.event;
 
-import java.util.UUID;
-
 /**
  * An {@link EventQueryImpl} subscription.
- * Has a UUID to identify it, and the handler to apply to incoming event objects.
+ * Has an ID to identify it, and the handler to apply to incoming event objects.
  */
-final class EventQuerySubscription<I, O> implements EventSubscription {
+final class EventQuerySubscription<I, O> extends BaseEventSubscription {
 
-    private final UUID subscriptionId;
     private final CheckedFunction<I, O> eventHandler;
 
-    EventQuerySubscription(
-        UUID subscriptionId,
-        CheckedFunction<I, O> eventHandler) {
-
-        this.subscriptionId = subscriptionId;
-        this.eventHandler = eventHandler;
-    }
-
     EventQuerySubscription(CheckedFunction<I, O> eventHandler) {
-        this(UUID.randomUUID(), eventHandler);
-    }
-
-    @Override
-    public UUID getSubscriptionId() {
-        return subscriptionId;
+        this.eventHandler = eventHandler;
     }
 
     public CheckedFunction<I, O> getEventHandler() {
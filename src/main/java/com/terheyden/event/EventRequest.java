@@ -9,14 +9,52 @@ class EventRequest<T> {
 
     private final T eventObj;
 
-    EventRequest(T eventObj) {
+    /**
+     * True if this event's subscribers were found through the {@link FilterIndex},
+     * so the indexed subscribers among them already match it.
+     */
+    private final boolean indexMatched;
+
+    EventRequest(T eventObj, boolean indexMatched) {
         this.eventObj = eventObj;
+        this.indexMatched = indexMatched;
+    }
+
+    EventRequest(T eventObj) {
+        this(eventObj, false);
     }
 
     T getEventObj() {
         return eventObj;
     }
 
+    boolean isIndexMatched() {
+        return indexMatched;
+    }
+
+    /**
+     * A subscriber in the publish snapshot has handled this event, or thrown while handling it.
+     * Plain publishes don't track this; see {@link TrackedEventRequest}.
+     */
+    void subscriberDone(boolean succeeded) {
+        // Not tracked.
+    }
+
+    /**
+     * A subscriber in the publish snapshot didn't receive this event,
+     * because its filter didn't match or it unsubscribed.
+     */
+    void subscriberSkipped() {
+        // Not tracked.
+    }
+
+    /**
+     * This event was dropped before reaching any subscribers, because a bounded queue was full.
+     */
+    void dropped() {
+        // Not tracked.
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", EventRequest.class.getSimpleName() + "[", "]")
@@ -1,6 +1,12 @@
 package com.terheyden.event;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * A classic publish-subscribe event router.
@@ -18,9 +24,123 @@ public interface EventRouter<T> extends EventSubscriber {
      */
     UUID subscribe(CheckedConsumer<T> eventHandler);
 
+    /**
+     * Like {@link #subscribe(CheckedConsumer)}, but returns a handle that unsubscribes when it's closed.
+     * Good for short-lived subscriptions, like a listener per request:
+     * <pre>
+     * {@code
+     * try (SubscriptionHandle handle = eventRouter.subscribeHandle(this::onEvent)) {
+     *     ...
+     * }
+     * }
+     * </pre>
+     */
+    default SubscriptionHandle subscribeHandle(CheckedConsumer<T> eventHandler) {
+        return new SubscriptionHandle(this, SubscriptionIds.toId(subscribe(eventHandler)));
+    }
+
+    /**
+     * Subscribe to only the events that pass {@code filter}. Filters are tested before an event is
+     * sent to the subscriber, so events that don't pass cost no task or allocation for this subscriber.
+     * <p>
+     * Equality filters on an {@link EventAttribute} are indexed: the router finds their subscribers
+     * with a hash lookup, instead of testing every filter. Indexed or not, subscribers are still
+     * called in the order they subscribed.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * static final EventAttribute<Order, String> REGION = EventFilters.attribute(Order::getRegion);
+     *
+     * orderEvents.subscribe(order -> order.getTotal() > 1000, order -> System.out.println("Big order!"));
+     * orderEvents.subscribe(REGION.equalTo("eu"), order -> System.out.println("EU order"));
+     * }
+     * </pre>
+     *
+     * The default tests the filter inside a plain subscription, without the index.
+     *
+     * @param filter only events that pass this filter are sent to {@code eventHandler}
+     * @return A UUID that can later be used to unsubscribe.
+     * @see EventFilters#attribute(Function)
+     */
+    default UUID subscribe(Predicate<? super T> filter, CheckedConsumer<T> eventHandler) {
+        return subscribe(eventObj -> {
+            if (filter.test(eventObj)) {
+                eventHandler.acceptChecked(eventObj);
+            }
+        });
+    }
+
+    /**
+     * Subscribe to events in batches, for subscribers like database writers or metrics sinks
+     * where one call per event is too expensive. Events are collected for this subscriber and
+     * {@code batchHandler} is called with up to {@code maxBatchSize} of them at a time, as soon as
+     * {@code maxBatchSize} events are waiting, or once the oldest one has waited {@code maxDelay}.
+     * <p>
+     * Batches are delivered one at a time, in the order the events were received.
+     * If {@code batchHandler} throws, the router's exception handler is given the whole batch.
+     * Events still waiting when you unsubscribe are delivered when their delay is up.
+     * The default runs batches on {@link #getExecutor()}, and logs the exceptions that {@code batchHandler} throws.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * // Write events to the DB 500 at a time, or at least every 100ms:
+     * eventRouter.subscribeBatch(500, 100, TimeUnit.MILLISECONDS, batch -> db.insertAll(batch));
+     * }
+     * </pre>
+     *
+     * @param maxBatchSize the max number of events per batch
+     * @param maxDelay the max time an event waits before its batch is delivered
+     * @param unit the time unit of {@code maxDelay}
+     * @param batchHandler called with each batch of events
+     * @return A UUID that can later be used to unsubscribe.
+     */
+    default UUID subscribeBatch(int maxBatchSize, long maxDelay, TimeUnit unit, CheckedConsumer<List<T>> batchHandler) {
+        return subscribe(new BatchAccumulator<>(
+            maxBatchSize,
+            maxDelay,
+            unit,
+            batchHandler,
+            EventRouters.DEFAULT_EXCEPTION_HANDLER,
+            getExecutor()));
+    }
+
+    /**
+     * Subscribe with latest-value-wins delivery, for slow subscribers to high-rate snapshot events
+     * (prices, statuses, etc.) that only care about the newest value per key.
+     * If an event arrives while an older event with the same key is still waiting for this subscriber,
+     * the newer one replaces it, so the subscriber's backlog never grows beyond the number of keys.
+     * <p>
+     * {@code eventHandler} is called on the router's thread pool, one event at a time.
+     * "Latest" means the last to reach this subscriber; with the default thread pool dispatch,
+     * events published at nearly the same time from different threads may arrive in either order.
+     * The default runs {@code eventHandler} on {@link #getExecutor()}, and logs the exceptions it throws.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * // Only redraw the latest quote for each symbol:
+     * eventRouter.subscribeConflating(Quote::getSymbol, quote -> screen.redraw(quote));
+     * }
+     * </pre>
+     *
+     * @param keyExtractor gets the conflation key from an event; keys must implement equals / hashCode
+     * @param eventHandler called with the latest event for each key
+     * @return A UUID that can later be used to unsubscribe.
+     */
+    default UUID subscribeConflating(Function<? super T, ?> keyExtractor, CheckedConsumer<T> eventHandler) {
+        return subscribe(new ConflatingHandler<>(
+            keyExtractor,
+            eventHandler,
+            EventRouters.DEFAULT_EXCEPTION_HANDLER,
+            getExecutor()));
+    }
+
     /**
      * Publish the given event to all subscribers of the event object's type.
-     * This is a non-blocking call; events are always published asynchronously.
+     * This is a non-blocking call; events are published asynchronously,
+     * unless the router was built with {@code publishOnCallingThread()}.
      * <p>
      * Example:
      * <pre>
@@ -35,4 +155,72 @@ public interface EventRouter<T> extends EventSubscriber {
      * @param eventObj The event to send to all subscribers
      */
     void publish(T eventObj);
+
+    /**
+     * Publish the given event with the given priority. On routers built with {@code priorityDispatch()},
+     * more urgent events are sent ahead of less urgent ones that are still waiting for a thread.
+     * Other routers ignore the priority and treat this the same as {@link #publish(Object)}.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * eventRouter.publish(new ShutdownEvent(), Priority.HIGH);
+     * }
+     * </pre>
+     *
+     * @param eventObj The event to send to all subscribers
+     * @param priority How urgent the event is
+     * @see Priority
+     */
+    default void publish(T eventObj, Priority priority) {
+        publish(eventObj);
+    }
+
+    /**
+     * Publish the given event, like {@link #publish(Object)}, and find out when every subscriber
+     * is done with it — for acknowledging a message upstream only after it's been handled locally,
+     * or for limiting how many publishes are in flight.
+     * <p>
+     * The returned stage completes once each subscriber in the current snapshot has handled the event,
+     * thrown, or skipped it, with the counts in the {@link PublishResult}. It never completes exceptionally
+     * because a subscriber threw; it only does if the event was dropped by a full bounded queue.
+     * Batching and conflating subscribers count as done once they've accepted the event.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * eventRouter.publishAsync(orderEvent)
+     *     .thenAccept(result -> { if (result.isSuccess()) message.ack(); });
+     * }
+     * </pre>
+     *
+     * @param eventObj The event to send to all subscribers
+     */
+    CompletionStage<PublishResult> publishAsync(T eventObj);
+
+    /**
+     * Publish a batch of events to all subscribers. The whole batch is sent as a single request,
+     * to the same set of subscribers, and each subscriber receives the events in iteration order.
+     * This is much cheaper than calling {@link #publish(Object)} in a loop for bursty producers.
+     *
+     * The default calls {@link #publish(Object)} for each event.
+     *
+     * @param eventObjs The events to send to all subscribers
+     */
+    default void publishAll(Iterable<? extends T> eventObjs) {
+        for (T eventObj : eventObjs) {
+            publish(eventObj);
+        }
+    }
+
+    /**
+     * Publish a batch of events to all subscribers.
+     *
+     * @param eventObjs The events to send to all subscribers
+     * @see #publishAll(Iterable)
+     */
+    @SuppressWarnings("unchecked")
+    default void publishAll(T... eventObjs) {
+        publishAll(Arrays.asList(eventObjs));
+    }
 }
@@ -10,6 +10,11 @@ public final class EventRouterGlobals {
      */
     public static final int DEFAULT_THREADPOOL_SIZE = 100;
 
+    /**
+     * The default max number of subscribers running at once on virtual threads, when not specified.
+     */
+    public static final int DEFAULT_VIRTUAL_THREAD_CONCURRENCY = 10_000;
+
     private EventRouterGlobals() {
         // Private since this class shouldn't be instantiated.
     }
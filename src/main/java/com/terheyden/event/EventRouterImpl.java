@@ -1,8 +1,17 @@
 package com.terheyden.event;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -12,8 +21,21 @@ import java.util.stream.Collectors;
  */
 public class EventRouterImpl<T> extends BaseEventRouter<T> implements EventRouter<T> {
 
-    EventRouterImpl(ThreadPoolExecutor threadPoolExecutor, SendEventStrategy<T> sendStrategy) {
-        super(threadPoolExecutor, sendStrategy);
+    private final SubscriberExceptionHandler exceptionHandler;
+
+    /**
+     * Subscriptions filtered by {@link AttributeFilter}s live here instead of in the subscriber manager.
+     */
+    private final FilterIndex filterIndex = new FilterIndex();
+
+    EventRouterImpl(
+        SubscriberExceptionHandler exceptionHandler,
+        Executor threadPoolExecutor,
+        SendEventStrategy<T> sendStrategy,
+        PublishDispatcher publishDispatcher) {
+
+        super(threadPoolExecutor, sendStrategy, publishDispatcher);
+        this.exceptionHandler = exceptionHandler;
     }
 
     @Override
@@ -23,14 +45,107 @@ public class EventRouterImpl<T> extends BaseEventRouter<T> implements EventRoute
         return subscription.getSubscriptionId();
     }
 
+    @Override
+    public UUID subscribe(Predicate<? super T> filter, CheckedConsumer<T> eventHandler) {
+
+        if (filter instanceof AttributeFilter) {
+            AttributeFilter<? super T> attributeFilter = (AttributeFilter<? super T>) filter;
+            EventRouterSubscription<T> subscription = EventRouterSubscription.indexed(eventHandler, attributeFilter);
+            filterIndex.subscribe(attributeFilter, subscription);
+            return subscription.getSubscriptionId();
+        }
+
+        EventRouterSubscription<T> subscription = new EventRouterSubscription<>(eventHandler, filter);
+        getSubscriberManager().subscribe(subscription);
+        return subscription.getSubscriptionId();
+    }
+
+    @Override
+    public UUID subscribeBatch(
+        int maxBatchSize,
+        long maxDelay,
+        TimeUnit unit,
+        CheckedConsumer<List<T>> batchHandler) {
+
+        return subscribe(new BatchAccumulator<>(
+            maxBatchSize,
+            maxDelay,
+            unit,
+            batchHandler,
+            exceptionHandler,
+            getExecutor()));
+    }
+
+    @Override
+    public UUID subscribeConflating(Function<? super T, ?> keyExtractor, CheckedConsumer<T> eventHandler) {
+        return subscribe(new ConflatingHandler<>(keyExtractor, eventHandler, exceptionHandler, getExecutor()));
+    }
+
     @Override
     public void unsubscribe(UUID subscriptionId) {
-        getSubscriberManager().unsubscribe(subscriptionId);
+        unsubscribe(SubscriptionIds.toId(subscriptionId));
+    }
+
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        // Both are lookups by ID; a subscription is in one or the other.
+        if (!filterIndex.unsubscribe(subscriptionId)) {
+            getSubscriberManager().unsubscribe(subscriptionId);
+        }
     }
 
     @Override
     public void publish(T eventObj) {
-        publishInternal(new EventRequest<>(eventObj));
+        publish(eventObj, Priority.NORMAL);
+    }
+
+    @Override
+    public void publish(T eventObj, Priority priority) {
+
+        EventSubscription[] subscribers = resolveSubscribers(eventObj);
+
+        // Nobody wants it, so skip the request and the thread pool entirely.
+        if (subscribers.length == 0) {
+            return;
+        }
+
+        publishInternal(new EventRequest<>(eventObj, true), subscribers, priority);
+    }
+
+    @Override
+    public CompletionStage<PublishResult> publishAsync(T eventObj) {
+
+        EventSubscription[] subscribers = resolveSubscribers(eventObj);
+
+        if (subscribers.length == 0) {
+            return CompletableFuture.completedFuture(new PublishResult(0, 0, 0, 0));
+        }
+
+        TrackedEventRequest<T> eventRequest = new TrackedEventRequest<>(eventObj, subscribers.length, true);
+        publishInternal(eventRequest, subscribers);
+        return eventRequest.getFuture();
+    }
+
+    /**
+     * Resolved through the filter index, so requests for these subscribers are index-matched.
+     */
+    private EventSubscription[] resolveSubscribers(T eventObj) {
+        return filterIndex.isEmpty()
+            ? getSubscriberManager().getSubscriberSnapshot()
+            : filterIndex.resolve(eventObj, getSubscriberManager().getSubscriberSnapshot(), exceptionHandler);
+    }
+
+    @Override
+    public void publishAll(Iterable<? extends T> eventObjs) {
+
+        List<EventRequest<T>> eventRequests = new ArrayList<>();
+        for (T eventObj : eventObjs) {
+            eventRequests.add(new EventRequest<>(eventObj));
+        }
+
+        // Each event matches different indexed subscribers, so give the batch all of them,
+        // and let the send strategy test each subscriber's filter per event.
+        publishAllInternal(eventRequests, filterIndex.withAllSubscribers(getSubscriberManager().getSubscriberSnapshot()));
     }
 
     @Override
@@ -38,10 +153,19 @@ public class EventRouterImpl<T> extends BaseEventRouter<T> implements EventRoute
         return super.getThreadPool();
     }
 
+    @Override
+    public Executor getExecutor() {
+        return super.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return super.getDroppedEventCount();
+    }
+
     @Override
     public Collection<UUID> getSubscriptions() {
-        return getSubscribers()
-            .stream()
+        return Arrays.stream(filterIndex.withAllSubscribers(getSubscriberManager().getSubscriberSnapshot()))
             .map(EventSubscription::getSubscriptionId)
             .collect(Collectors.toList());
     }
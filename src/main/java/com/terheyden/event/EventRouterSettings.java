@@ -0,0 +1,124 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+
+/**
+ * Settings shared by all of the {@link EventRouters} builders.
+ * The top-level builder hands its settings down to the specialized builders,
+ * so anything set before {@code eventReplyType()} or {@code modifiableEvents()} carries over.
+ */
+final class EventRouterSettings {
+
+    int maxThreadPoolSize = EventRouterGlobals.DEFAULT_THREADPOOL_SIZE;
+
+    @Nullable ThreadPoolExecutor customThreadPool = null;
+
+    /**
+     * If set, the router runs on this work-stealing pool instead of a {@link ThreadPoolExecutor}.
+     */
+    @Nullable ForkJoinPool forkJoinPool = null;
+
+    SubscriberExceptionHandler exceptionHandler = EventRouters.DEFAULT_EXCEPTION_HANDLER;
+
+    /**
+     * If positive, the router's own thread pool gets a bounded queue of this size.
+     */
+    int maxQueueSize = 0;
+
+    OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    DroppedEventHandler droppedEventHandler = EventRouters.DEFAULT_DROPPED_EVENT_HANDLER;
+
+    /**
+     * If positive, subscribers are called on virtual threads, this many at a time.
+     */
+    int virtualThreadConcurrency = 0;
+
+    /**
+     * Creates the router's {@link PublishDispatcher}, given the router's thread pool.
+     * The default hands every publish request to the thread pool.
+     */
+    Function<Executor, PublishDispatcher> publishDispatcherFactory = ThreadPoolPublishDispatcher::new;
+
+    Executor createThreadPool() {
+
+        if (customThreadPool != null) {
+            return customThreadPool;
+        }
+
+        if (forkJoinPool != null) {
+            return forkJoinPool;
+        }
+
+        return maxQueueSize > 0
+            ? ThreadPools.newBoundedThreadPool(maxThreadPoolSize, maxQueueSize, overflowPolicy, droppedEventHandler)
+            : EventRouters.createThreadPool(maxThreadPoolSize);
+    }
+
+    /**
+     * The executor that async send strategies hand individual subscriber calls to.
+     * Normally that's the router's thread pool.
+     */
+    Executor createSubscriberExecutor(Executor threadPool) {
+        return virtualThreadConcurrency > 0
+            ? VirtualThreads.newExecutor(virtualThreadConcurrency)
+            : WorkStealingExecutor.wrap(threadPool);
+    }
+
+    void customThreadPool(ThreadPoolExecutor threadPool) {
+        customThreadPool = threadPool;
+        forkJoinPool = null;
+    }
+
+    void forkJoinPool(ForkJoinPool pool) {
+        forkJoinPool = pool;
+        customThreadPool = null;
+    }
+
+    void virtualThreads(int maxConcurrency) {
+
+        if (!VirtualThreads.isSupported()) {
+            throw new UnsupportedOperationException(
+                "Virtual threads require Java 21+ (running Java " + System.getProperty("java.version") + ")");
+        }
+
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+        }
+
+        virtualThreadConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @throws IllegalStateException if the thread pool has an overflow policy that the dispatcher would ignore
+     */
+    PublishDispatcher createPublishDispatcher(Executor threadPool) {
+
+        PublishDispatcher publishDispatcher = publishDispatcherFactory.apply(WorkStealingExecutor.wrap(threadPool));
+
+        if (!(publishDispatcher instanceof ThreadPoolPublishDispatcher)) {
+            checkNoOverflowPolicy(threadPool, publishDispatcher.getClass().getSimpleName());
+        }
+
+        return publishDispatcher;
+    }
+
+    /**
+     * A bounded thread pool's {@link OverflowPolicy} only applies to the publish tasks that the default
+     * dispatcher submits. Other ways of publishing bypass the pool's queue, or only submit follow-up work
+     * that's never dropped, so the policy would silently do nothing — reject the combination instead.
+     *
+     * @param dispatchName what publishes instead of the default dispatcher, for the exception message
+     * @throws IllegalStateException if the thread pool has an overflow policy
+     */
+    static void checkNoOverflowPolicy(Executor threadPool, String dispatchName) {
+        if (ThreadPools.hasOverflowPolicy(threadPool)) {
+            throw new IllegalStateException(
+                "A bounded queue's overflow policy only applies to the default publish dispatcher, not " + dispatchName);
+        }
+    }
+}
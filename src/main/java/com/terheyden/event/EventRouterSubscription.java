@@ -1,34 +1,86 @@
 package com.terheyden.event;
 
-import java.util.UUID;
+import javax.annotation.Nullable;
+import java.util.function.Predicate;
 
 /**
  * A standard {@link EventRouterImpl} subscription.
- * Has a UUID to identify it, and the handler to apply to incoming event objects.
+ * Has an ID to identify it, and the handler to apply to incoming event objects.
  */
-final class EventRouterSubscription<T> implements EventSubscription {
+final class EventRouterSubscription<T> extends BaseEventSubscription {
 
-    private final UUID subscriptionId;
     private final CheckedConsumer<T> eventHandler;
 
-    EventRouterSubscription(
-        UUID subscriptionId,
-        CheckedConsumer<T> eventHandler) {
+    /**
+     * Only events that pass this filter are sent to the handler. Null means every event.
+     */
+    @Nullable private final Predicate<? super T> filter;
+
+    /**
+     * True if this subscription is kept in a {@link FilterIndex}, instead of the subscriber snapshot.
+     */
+    private final boolean indexed;
+
+    /**
+     * Only used by {@link MailboxSendStrategy}, so it's created on first use.
+     */
+    @Nullable private volatile SubscriberMailbox<EventRequest<? extends T>> mailbox;
+
+    private EventRouterSubscription(
+        CheckedConsumer<T> eventHandler,
+        @Nullable Predicate<? super T> filter,
+        boolean indexed) {
 
-        this.subscriptionId = subscriptionId;
         this.eventHandler = eventHandler;
+        this.filter = filter;
+        this.indexed = indexed;
+    }
+
+    EventRouterSubscription(CheckedConsumer<T> eventHandler, @Nullable Predicate<? super T> filter) {
+        this(eventHandler, filter, false);
     }
 
     EventRouterSubscription(CheckedConsumer<T> eventHandler) {
-        this(UUID.randomUUID(), eventHandler);
+        this(eventHandler, null, false);
     }
 
-    @Override
-    public UUID getSubscriptionId() {
-        return subscriptionId;
+    static <T> EventRouterSubscription<T> indexed(CheckedConsumer<T> eventHandler, AttributeFilter<? super T> filter) {
+        return new EventRouterSubscription<>(eventHandler, filter, true);
     }
 
     public CheckedConsumer<T> getEventHandler() {
         return eventHandler;
     }
+
+    /**
+     * True if this subscriber wants the given event, and hasn't unsubscribed. Send strategies check this
+     * before doing any work for the subscriber, like submitting a task.
+     * An indexed subscriber that the index already matched to the event isn't tested again.
+     */
+    boolean accepts(EventRequest<? extends T> eventRequest) {
+        return !isCancelled()
+            && (filter == null
+            || indexed && eventRequest.isIndexMatched()
+            || filter.test(eventRequest.getEventObj()));
+    }
+
+    /**
+     * This subscription's mailbox, used by {@link MailboxSendStrategy}.
+     */
+    SubscriberMailbox<EventRequest<? extends T>> getMailbox() {
+
+        SubscriberMailbox<EventRequest<? extends T>> current = mailbox;
+
+        if (current == null) {
+            synchronized (this) {
+                current = mailbox;
+                if (current == null) {
+                    current = new SubscriberMailbox<>();
+                    mailbox = current;
+                }
+            }
+        }
+
+        return current;
+    }
 }
@@ -1,7 +1,14 @@
 package com.terheyden.event;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -16,10 +23,36 @@ public final class EventRouters {
     static final SubscriberExceptionHandler DEFAULT_EXCEPTION_HANDLER = (err, eventObj) ->
         LOG.error("Subscriber threw exception while handling event: {}", eventObj, err);
 
+    static final DroppedEventHandler DEFAULT_DROPPED_EVENT_HANDLER = eventObj ->
+        LOG.warn("Event queue is full; dropped event: {}", eventObj);
+
+    /**
+     * The default number of ring buffer worker threads, when not specified.
+     */
+    static final int DEFAULT_RING_BUFFER_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The default number of partitioned dispatch lanes, when not specified.
+     */
+    static final int DEFAULT_PARTITION_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The default queue size of each {@link StagedEventRouter} stage, when not specified.
+     */
+    static final int DEFAULT_STAGE_QUEUE_SIZE = 1024;
+
     private EventRouters() {
         // Private since this class shouldn't be instantiated.
     }
 
+    /**
+     * Create a new event bus builder. An event bus accepts events of any type, and sends each one
+     * to the subscribers of its class, superclasses, and interfaces.
+     */
+    public static EventBusBuilder createEventBus() {
+        return new EventBusBuilder();
+    }
+
     /**
      * Create a new event router builder that sends events of the given class type.
      * @param eventType type of event objects to send
@@ -34,15 +67,21 @@ public final class EventRouters {
 
     public static class EventRouterBuilder<T> {
 
-        private int maxThreadPoolSize = EventRouterGlobals.DEFAULT_THREADPOOL_SIZE;
-        @Nullable private ThreadPoolExecutor customThreadPool = null;
-        private SubscriberExceptionHandler exceptionHandler = DEFAULT_EXCEPTION_HANDLER;
+        private final EventRouterSettings settings = new EventRouterSettings();
 
         /**
+         * Creates the send strategy, given the exception handler and the executor for subscriber calls.
          * In some scenarios, like if there are many long-running subscribers,
          * it may be more performant to send events to subscribers asynchronously.
          */
-        private boolean isMaxAsync = false;
+        private BiFunction<SubscriberExceptionHandler, Executor, SendEventStrategy<T>> sendStrategyFactory =
+            (exceptionHandler, threadPool) -> new SequentialSendStrategy<>(exceptionHandler);
+
+        /**
+         * Mailbox mode picks both the send strategy and the publish dispatcher, so it's kept as its own
+         * setting and resolved in {@link #build()}, instead of overwriting the other two settings.
+         */
+        private boolean isPerSubscriberMailboxes = false;
 
         EventRouterBuilder() {
             // Package private.
@@ -53,7 +92,7 @@ public final class EventRouters {
          * The default is {@link EventRouterGlobals#DEFAULT_THREADPOOL_SIZE}.
          */
         public EventRouterBuilder<T> maxThreadPoolSize(int maxThreadPoolSize) {
-            this.maxThreadPoolSize = maxThreadPoolSize;
+            settings.maxThreadPoolSize = maxThreadPoolSize;
             return this;
         }
 
@@ -62,9 +101,34 @@ public final class EventRouters {
          * the pool size by specifying {@link #maxThreadPoolSize(int)}. If you want to use your own
          * completely custom thread pool, you can specify it here. This is also a good setting to
          * use if you wish to share a single thread pool between many event routers.
+         * Setting this disables {@link #customForkJoinPool(ForkJoinPool)}.
          */
         public EventRouterBuilder<T> customThreadPool(ThreadPoolExecutor customThreadPool) {
-            this.customThreadPool = customThreadPool;
+            settings.customThreadPool(customThreadPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for CPU-bound subscribers on many-core machines.
+         * Run this router on a work-stealing {@link ForkJoinPool}
+         * with one worker per CPU, instead of a thread pool with a single shared queue.
+         * See {@link #customForkJoinPool(ForkJoinPool)}.
+         */
+        public EventRouterBuilder<T> workStealingPool() {
+            return customForkJoinPool(ThreadPools.newWorkStealingPool(Runtime.getRuntime().availableProcessors()));
+        }
+
+        /**
+         * Run this router on the given {@link ForkJoinPool}, instead of a thread pool.
+         * Each worker has its own task deque, and tasks created by a worker — like the per-subscriber
+         * tasks fanned out by {@code maxAsync()} — go on that worker's deque, where idle workers can
+         * steal them, instead of all workers contending on one shared queue.
+         * {@link ThreadPools#newWorkStealingPool(int)} creates a suitable pool.
+         * Setting this disables {@link #customThreadPool(ThreadPoolExecutor)}
+         * and {@link #maxQueueSize(int, OverflowPolicy)}.
+         */
+        public EventRouterBuilder<T> customForkJoinPool(ForkJoinPool forkJoinPool) {
+            settings.forkJoinPool(forkJoinPool);
             return this;
         }
 
@@ -83,31 +147,245 @@ public final class EventRouters {
          * @param replyType the type of reply expected from the event
          */
         public <O> EventQueryBuilder<T, O> eventReplyType(Class<O> replyType) {
-            return new EventQueryBuilder<>(maxThreadPoolSize, customThreadPool);
+            return new EventQueryBuilder<>(settings);
+        }
+
+        /**
+         * Indicates that events are published to a key, like a customer ID or topic name,
+         * and only subscribers of that key receive them. Looking up a key's subscribers is a
+         * single hash lookup, so this is far cheaper than one router per key, or subscribers
+         * that filter out other keys' events.
+         * <pre>
+         * {@code
+         * KeyedEventRouter<UUID, Order> orderEvents = EventRouters
+         *     .createWithEventType(Order.class)
+         *     .keyType(UUID.class)
+         *     .build();
+         * }
+         * </pre>
+         *
+         * @param keyType the type of key events are published to
+         */
+        public <K> KeyedEventRouterBuilder<K, T> keyType(Class<K> keyType) {
+            return new KeyedEventRouterBuilder<>(settings);
+        }
+
+        /**
+         * Indicates that events are published to hierarchical topics, like {@code orders/eu/paid},
+         * and subscribers subscribe to MQTT-style topic filters, like {@code orders/eu/+} or {@code orders/#}.
+         * <pre>
+         * {@code
+         * TopicEventRouter<Order> orderEvents = EventRouters
+         *     .createWithEventType(Order.class)
+         *     .topics()
+         *     .build();
+         * }
+         * </pre>
+         *
+         * @see TopicEventRouter
+         */
+        public TopicEventRouterBuilder<T> topics() {
+            return new TopicEventRouterBuilder<>(settings);
         }
 
         public ModifiableEventRouterBuilder<T> modifiableEvents() {
-            return new ModifiableEventRouterBuilder<>(maxThreadPoolSize, customThreadPool);
+            return new ModifiableEventRouterBuilder<>(settings);
+        }
+
+        /**
+         * Build a modifiable-event router split into stages, where each stage has
+         * its own executor, bounded queue, and concurrency level. Add the stages in order with
+         * {@link StagedEventRouterBuilder#stage(String)}.
+         *
+         * @see StagedEventRouter
+         */
+        public StagedEventRouterBuilder<T> stagedPipeline() {
+            return new StagedEventRouterBuilder<>(settings);
         }
 
         /**
          * This is an advanced setting: the default thread configuration is optimized for most use cases.
          * Use this setting if you expect to have many long-running subscribers and very few events.
-         * Setting this disables {@link #publishInOrder()}.
+         * Subscribers may receive events out of order, on many threads at once.
+         * Setting this disables {@link #publishInOrder()} and {@link #perSubscriberMailboxes()}.
          */
         public EventRouterBuilder<T> maxAsync() {
-            isMaxAsync = true;
+            sendStrategyFactory = ThreadPoolSendStrategy::new;
+            isPerSubscriberMailboxes = false;
             return this;
         }
 
+        /**
+         * This is an advanced setting for IO-bound subscribers, like ones that wait on HTTP or JDBC calls.
+         * Each subscriber call runs on its own virtual thread, instead of the thread pool,
+         * with at most {@code maxConcurrency} subscribers running at once across this router.
+         * This scales to many thousands of concurrent blocking subscribers without tuning pool sizes.
+         * The thread pool is still used to dispatch published events.
+         * Setting this also sets {@link #maxAsync()}.
+         * <p>
+         * Requires Java 21+; see {@link ThreadPools#isVirtualThreadSupported()}.
+         *
+         * @param maxConcurrency the max number of subscribers running at once
+         * @throws UnsupportedOperationException on Java versions before 21
+         */
+        public EventRouterBuilder<T> virtualThreads(int maxConcurrency) {
+            settings.virtualThreads(maxConcurrency);
+            return maxAsync();
+        }
+
+        /**
+         * Run each subscriber call on its own virtual thread, with at most
+         * {@link EventRouterGlobals#DEFAULT_VIRTUAL_THREAD_CONCURRENCY} running at once.
+         *
+         * @see #virtualThreads(int)
+         */
+        public EventRouterBuilder<T> virtualThreads() {
+            return virtualThreads(EventRouterGlobals.DEFAULT_VIRTUAL_THREAD_CONCURRENCY);
+        }
+
         /**
          * If true, events will be delivered to subscribers
          * in the order that they subscribed to the event.
          * The default is true, since in most cases this is also the most performant setting.
-         * Setting this disables {@link #maxAsync()}.
+         * Setting this disables {@link #maxAsync()} and {@link #perSubscriberMailboxes()}.
          */
         public EventRouterBuilder<T> publishInOrder() {
-            isMaxAsync = false;
+            sendStrategyFactory = (exceptionHandler, threadPool) -> new SequentialSendStrategy<>(exceptionHandler);
+            isPerSubscriberMailboxes = false;
+            return this;
+        }
+
+        /**
+         * This is an advanced setting, in between {@link #publishInOrder()} and {@link #maxAsync()}.
+         * Each subscriber gets its own lock-free mailbox, and is scheduled on the thread pool
+         * to drain it whenever it has mail. Each subscriber receives events in publish order,
+         * on one thread at a time (so stateful subscribers are safe), while different subscribers
+         * run in parallel and a slow subscriber doesn't hold up the others.
+         * <p>
+         * Posting to the mailboxes is cheap and is the asynchronous hop, so events are always posted
+         * on the publishing thread, as with {@link #publishOnCallingThread()}; that's what keeps each
+         * publisher's events in order. This can't be combined with {@link #ringBufferDispatcher(int, int)},
+         * {@link #priorityDispatch()}, or {@link #partitionedDispatch(Function, int)}.
+         * Setting this disables {@link #publishInOrder()} and {@link #maxAsync()}, and setting either of
+         * those afterward disables this.
+         */
+        public EventRouterBuilder<T> perSubscriberMailboxes() {
+            isPerSubscriberMailboxes = true;
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for low-latency routers with very fast subscribers.
+         * Events are handed to the send strategy directly on the publishing thread,
+         * skipping the thread pool hop (a task allocation, a queue lock, and a thread wake-up).
+         * This makes {@code publish()} a blocking call that returns once the event has been sent,
+         * so only use it when your subscribers take less time than a context switch.
+         * Setting this disables {@link #ringBufferDispatcher(int, int)}, {@link #priorityDispatch()},
+         * and {@link #partitionedDispatch(Function, int)}.
+         */
+        public EventRouterBuilder<T> publishOnCallingThread() {
+            settings.publishDispatcherFactory = threadPool -> CallingThreadPublishDispatcher.INSTANCE;
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for routers with many concurrent publishers.
+         * Instead of handing each published event to the thread pool's queue, events are written into
+         * a preallocated, lock-free ring buffer and drained by up to {@code workerCount} dedicated daemon threads.
+         * Workers are started as needed and exit after {@link ThreadPools#KEEP_ALIVE_SECS} idle seconds.
+         * This removes the queue lock that concurrent publishers contend on, but each publish still allocates
+         * its request, and with few publishers or few cores it's often no faster than the default — measure first.
+         * The ring is bounded, so publishers will wait when it's full.
+         * The thread pool is still used by {@link #maxAsync()}.
+         * Setting this disables {@link #publishOnCallingThread()}, {@link #priorityDispatch()},
+         * and {@link #partitionedDispatch(Function, int)}.
+         *
+         * @param bufferSize the number of ring buffer slots; rounded up to a power of two
+         * @param workerCount the most threads that drain the ring buffer
+         */
+        public EventRouterBuilder<T> ringBufferDispatcher(int bufferSize, int workerCount) {
+            settings.publishDispatcherFactory = threadPool -> new RingBufferPublishDispatcher(bufferSize, workerCount);
+            return this;
+        }
+
+        /**
+         * Use a ring buffer dispatcher with one worker thread per CPU.
+         *
+         * @see #ringBufferDispatcher(int, int)
+         */
+        public EventRouterBuilder<T> ringBufferDispatcher(int bufferSize) {
+            return ringBufferDispatcher(bufferSize, DEFAULT_RING_BUFFER_WORKERS);
+        }
+
+        /**
+         * This is an advanced setting for routers that mix urgent events with bulk traffic.
+         * Events published with {@link EventRouter#publish(Object, Priority)} wait in a separate
+         * queue per {@link Priority}, instead of the thread pool's single FIFO queue, and waiting
+         * events are picked by weighted round-robin — so urgent events skip ahead of bulk traffic,
+         * but bulk traffic still gets its share and is never starved.
+         * Setting this disables {@link #publishOnCallingThread()}, {@link #ringBufferDispatcher(int, int)},
+         * and {@link #partitionedDispatch(Function, int)}.
+         */
+        public EventRouterBuilder<T> priorityDispatch() {
+            settings.publishDispatcherFactory = PriorityLanePublishDispatcher::new;
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for scaling ordered processing across cores.
+         * Events are split into {@code partitionCount} lanes by the key that {@code keyExtractor}
+         * gets from each event (an order ID, for example). Events with the same key are always
+         * sent in publish order, one at a time, while different lanes run in parallel on the thread pool.
+         * <p>
+         * Keep the default {@link #publishInOrder()} send strategy: {@link #maxAsync()} would
+         * send each lane's events to subscribers on many threads at once, losing the per-key order.
+         * Setting this disables {@link #publishOnCallingThread()}, {@link #ringBufferDispatcher(int, int)},
+         * and {@link #priorityDispatch()}.
+         *
+         * @param keyExtractor gets the key from each event; exceptions it throws go to the publisher
+         * @param partitionCount the number of lanes; the most that can run in parallel
+         */
+        public EventRouterBuilder<T> partitionedDispatch(Function<? super T, ?> keyExtractor, int partitionCount) {
+            settings.publishDispatcherFactory = threadPool ->
+                new PartitionedPublishDispatcher<>(threadPool, keyExtractor, partitionCount);
+            return this;
+        }
+
+        /**
+         * Use a partitioned dispatcher with one lane per CPU.
+         *
+         * @see #partitionedDispatch(Function, int)
+         */
+        public EventRouterBuilder<T> partitionedDispatch(Function<? super T, ?> keyExtractor) {
+            return partitionedDispatch(keyExtractor, DEFAULT_PARTITION_COUNT);
+        }
+
+        /**
+         * Give this router's thread pool a bounded queue, so a slow subscriber can't make it grow
+         * until the JVM runs out of memory. When the queue is full, newly published events are
+         * handled according to {@code overflowPolicy}. The default is an unbounded queue.
+         * Ignored if you specify a {@link #customThreadPool(ThreadPoolExecutor)} — use
+         * {@link ThreadPools#newBoundedThreadPool(int, int, OverflowPolicy, DroppedEventHandler)} to make one.
+         * The policy only applies to the default publish dispatcher, so building fails if this is combined
+         * with publishing on the calling thread, per-subscriber mailboxes, or a ring buffer, priority,
+         * or partitioned dispatcher.
+         *
+         * @param maxQueueSize the max number of published events waiting to be sent
+         * @param overflowPolicy what to do with new events when the queue is full
+         */
+        public EventRouterBuilder<T> maxQueueSize(int maxQueueSize, OverflowPolicy overflowPolicy) {
+            settings.maxQueueSize = maxQueueSize;
+            settings.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped by the {@link OverflowPolicy} of a bounded queue.
+         * The default is to log the event at WARN level.
+         * The number of dropped events is also available from {@code getDroppedEventCount()}.
+         */
+        public EventRouterBuilder<T> droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
             return this;
         }
 
@@ -116,21 +394,43 @@ public final class EventRouters {
          * while handling an event. The default is to log the exception at ERROR level.
          */
         public EventRouterBuilder<T> exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
-            this.exceptionHandler = exceptionHandler;
+            settings.exceptionHandler = exceptionHandler;
             return this;
         }
 
+        /**
+         * @throws IllegalStateException if {@link #perSubscriberMailboxes()} is combined with
+         * a ring buffer, priority, or partitioned dispatcher, or a bounded queue is combined with
+         * anything but the default publish dispatcher
+         */
         public EventRouter<T> build() {
 
-            ThreadPoolExecutor threadPool = customThreadPool == null
-                ? createThreadPool(maxThreadPoolSize)
-                : customThreadPool;
+            Executor threadPool = settings.createThreadPool();
+            Executor subscriberExecutor = settings.createSubscriberExecutor(threadPool);
+            PublishDispatcher publishDispatcher = settings.createPublishDispatcher(threadPool);
 
-            SendEventStrategy<T> sendStrategy = isMaxAsync
-                ? new ThreadPoolSendStrategy<>(exceptionHandler, threadPool)
-                : new SequentialSendStrategy<>(exceptionHandler);
+            if (!isPerSubscriberMailboxes) {
+                return new EventRouterImpl<>(
+                    settings.exceptionHandler,
+                    threadPool,
+                    sendStrategyFactory.apply(settings.exceptionHandler, subscriberExecutor),
+                    publishDispatcher);
+            }
+
+            if (!(publishDispatcher instanceof ThreadPoolPublishDispatcher)
+                && !(publishDispatcher instanceof CallingThreadPublishDispatcher)) {
+                throw new IllegalStateException(
+                    "perSubscriberMailboxes() publishes on the calling thread, and can't be combined with "
+                        + publishDispatcher.getClass().getSimpleName());
+            }
 
-            return new EventRouterImpl<>(threadPool, sendStrategy);
+            EventRouterSettings.checkNoOverflowPolicy(threadPool, "perSubscriberMailboxes()");
+
+            return new EventRouterImpl<>(
+                settings.exceptionHandler,
+                threadPool,
+                new MailboxSendStrategy<>(settings.exceptionHandler, subscriberExecutor),
+                CallingThreadPublishDispatcher.INSTANCE);
         }
     }
 
@@ -140,8 +440,7 @@ public final class EventRouters {
      */
     public static class EventQueryBuilder<I, O> {
 
-        private int maxThreadPoolSize;
-        @Nullable private ThreadPoolExecutor customThreadPool;
+        private final EventRouterSettings settings;
 
         /**
          * In some scenarios, like if there are many long-running subscribers,
@@ -149,11 +448,10 @@ public final class EventRouters {
          */
         private boolean isMaxAsync = false;
 
-        private SubscriberExceptionHandler exceptionHandler = DEFAULT_EXCEPTION_HANDLER;
+        private boolean isCoalescingQueries = false;
 
-        EventQueryBuilder(int maxThreadPoolSize, @Nullable ThreadPoolExecutor customThreadPool) {
-            this.maxThreadPoolSize = maxThreadPoolSize;
-            this.customThreadPool = customThreadPool;
+        EventQueryBuilder(EventRouterSettings settings) {
+            this.settings = settings;
         }
 
         /**
@@ -161,7 +459,7 @@ public final class EventRouters {
          * The default is {@link EventRouterGlobals#DEFAULT_THREADPOOL_SIZE}.
          */
         public EventQueryBuilder<I, O> maxThreadPoolSize(int maxThreadPoolSize) {
-            this.maxThreadPoolSize = maxThreadPoolSize;
+            settings.maxThreadPoolSize = maxThreadPoolSize;
             return this;
         }
 
@@ -170,9 +468,34 @@ public final class EventRouters {
          * the pool size by specifying {@link #maxThreadPoolSize(int)}. If you want to use your own
          * completely custom thread pool, you can specify it here. This is also a good setting to
          * use if you wish to share a single thread pool between many event routers.
+         * Setting this disables {@link #customForkJoinPool(ForkJoinPool)}.
          */
         public EventQueryBuilder<I, O> customThreadPool(ThreadPoolExecutor customThreadPool) {
-            this.customThreadPool = customThreadPool;
+            settings.customThreadPool(customThreadPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for CPU-bound subscribers on many-core machines.
+         * Run this router on a work-stealing {@link ForkJoinPool}
+         * with one worker per CPU, instead of a thread pool with a single shared queue.
+         * See {@link #customForkJoinPool(ForkJoinPool)}.
+         */
+        public EventQueryBuilder<I, O> workStealingPool() {
+            return customForkJoinPool(ThreadPools.newWorkStealingPool(Runtime.getRuntime().availableProcessors()));
+        }
+
+        /**
+         * Run this router on the given {@link ForkJoinPool}, instead of a thread pool.
+         * Each worker has its own task deque, and tasks created by a worker — like the per-subscriber
+         * tasks fanned out by {@code maxAsync()} — go on that worker's deque, where idle workers can
+         * steal them, instead of all workers contending on one shared queue.
+         * {@link ThreadPools#newWorkStealingPool(int)} creates a suitable pool.
+         * Setting this disables {@link #customThreadPool(ThreadPoolExecutor)}
+         * and {@link #maxQueueSize(int, OverflowPolicy)}.
+         */
+        public EventQueryBuilder<I, O> customForkJoinPool(ForkJoinPool forkJoinPool) {
+            settings.forkJoinPool(forkJoinPool);
             return this;
         }
 
@@ -186,6 +509,34 @@ public final class EventRouters {
             return this;
         }
 
+        /**
+         * This is an advanced setting for IO-bound subscribers, like ones that wait on HTTP or JDBC calls.
+         * Each subscriber call runs on its own virtual thread, instead of the thread pool,
+         * with at most {@code maxConcurrency} subscribers running at once across this router.
+         * This scales to many thousands of concurrent blocking subscribers without tuning pool sizes.
+         * The thread pool is still used to dispatch published events.
+         * Setting this also sets {@link #maxAsync()}.
+         * <p>
+         * Requires Java 21+; see {@link ThreadPools#isVirtualThreadSupported()}.
+         *
+         * @param maxConcurrency the max number of subscribers running at once
+         * @throws UnsupportedOperationException on Java versions before 21
+         */
+        public EventQueryBuilder<I, O> virtualThreads(int maxConcurrency) {
+            settings.virtualThreads(maxConcurrency);
+            return maxAsync();
+        }
+
+        /**
+         * Run each subscriber call on its own virtual thread, with at most
+         * {@link EventRouterGlobals#DEFAULT_VIRTUAL_THREAD_CONCURRENCY} running at once.
+         *
+         * @see #virtualThreads(int)
+         */
+        public EventQueryBuilder<I, O> virtualThreads() {
+            return virtualThreads(EventRouterGlobals.DEFAULT_VIRTUAL_THREAD_CONCURRENCY);
+        }
+
         /**
          * If true, events will be delivered to subscribers
          * in the order that they subscribed to the event.
@@ -197,26 +548,170 @@ public final class EventRouters {
             return this;
         }
 
+        /**
+         * This is an advanced setting for low-latency routers with very fast subscribers.
+         * Events are handed to the send strategy directly on the publishing thread,
+         * skipping the thread pool hop (a task allocation, a queue lock, and a thread wake-up).
+         * This makes {@code query()} a blocking call that returns once the event has been sent,
+         * so only use it when your subscribers take less time than a context switch.
+         * Setting this disables {@link #ringBufferDispatcher(int, int)}.
+         */
+        public EventQueryBuilder<I, O> publishOnCallingThread() {
+            settings.publishDispatcherFactory = threadPool -> CallingThreadPublishDispatcher.INSTANCE;
+            return this;
+        }
+
+        /**
+         * Use a lock-free ring buffer and dedicated worker threads to dispatch events,
+         * instead of the thread pool's queue.
+         * Setting this disables {@link #publishOnCallingThread()}.
+         *
+         * @param bufferSize the number of ring buffer slots; rounded up to a power of two
+         * @param workerCount the most threads that drain the ring buffer
+         * @see EventRouterBuilder#ringBufferDispatcher(int, int)
+         */
+        public EventQueryBuilder<I, O> ringBufferDispatcher(int bufferSize, int workerCount) {
+            settings.publishDispatcherFactory = threadPool -> new RingBufferPublishDispatcher(bufferSize, workerCount);
+            return this;
+        }
+
+        /**
+         * Use a ring buffer dispatcher with one worker thread per CPU.
+         *
+         * @see #ringBufferDispatcher(int, int)
+         */
+        public EventQueryBuilder<I, O> ringBufferDispatcher(int bufferSize) {
+            return ringBufferDispatcher(bufferSize, DEFAULT_RING_BUFFER_WORKERS);
+        }
+
+        /**
+         * Give this router's thread pool a bounded queue, so a slow subscriber can't make it grow
+         * until the JVM runs out of memory. When the queue is full, newly published events are
+         * handled according to {@code overflowPolicy}. The default is an unbounded queue.
+         * Ignored if you specify a {@link #customThreadPool(ThreadPoolExecutor)} — use
+         * {@link ThreadPools#newBoundedThreadPool(int, int, OverflowPolicy, DroppedEventHandler)} to make one.
+         * The policy only applies to the default publish dispatcher, so building fails if this is combined
+         * with publishing on the calling thread, per-subscriber mailboxes, or a ring buffer, priority,
+         * or partitioned dispatcher.
+         *
+         * @param maxQueueSize the max number of published events waiting to be sent
+         * @param overflowPolicy what to do with new events when the queue is full
+         */
+        public EventQueryBuilder<I, O> maxQueueSize(int maxQueueSize, OverflowPolicy overflowPolicy) {
+            settings.maxQueueSize = maxQueueSize;
+            settings.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped by the {@link OverflowPolicy} of a bounded queue.
+         * The default is to log the event at WARN level.
+         * The number of dropped events is also available from {@code getDroppedEventCount()}.
+         */
+        public EventQueryBuilder<I, O> droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
+            return this;
+        }
+
         /**
          * Set a custom exception handler for when an individual subscriber throws an exception
          * while handling an event. The default is to log the exception at ERROR level.
          */
         public EventQueryBuilder<I, O> exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
-            this.exceptionHandler = exceptionHandler;
+            settings.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        /**
+         * Share one dispatch between equal queries that are in flight at the same time (single-flight),
+         * so a burst of identical queries, like a cache stampede, only reaches each subscriber once.
+         * Every caller still gets every response — callbacks that join late are caught up first.
+         * Queries are compared with {@code equals()}; null queries and
+         * {@link EventQuery#query(Object, QueryOptions)} queries are never shared.
+         * Subscribers that throw are reported to the exception handler once per dispatch, not per caller.
+         */
+        public EventQueryBuilder<I, O> coalesceQueries() {
+            isCoalescingQueries = true;
             return this;
         }
 
+        /**
+         * Cache each query's responses for {@code ttl}, keeping at most {@code maxEntries} results and
+         * evicting the least recently used. Cached queries are answered without reaching subscribers,
+         * which suits idempotent lookups like config or permissions.
+         *
+         * @see CachingEventQuery
+         */
+        public CachingEventQueryBuilder<I, O> cache(long ttl, TimeUnit unit, int maxEntries) {
+            return new CachingEventQueryBuilder<>(this, unit.toNanos(ttl), maxEntries);
+        }
+
         public EventQuery<I, O> build() {
+            return createEventQuery();
+        }
 
-            ThreadPoolExecutor threadPool = customThreadPool == null
-                ? createThreadPool(maxThreadPoolSize)
-                : customThreadPool;
+        EventQueryImpl<I, O> createEventQuery() {
+
+            Executor threadPool = settings.createThreadPool();
+
+            Executor subscriberExecutor = settings.createSubscriberExecutor(threadPool);
 
             SendEventStrategy<I> sendStrategy = isMaxAsync
-                ? new EventQuerySendAsyncStrategy<>(exceptionHandler, threadPool)
-                : new EventQuerySendSequentialStrategy<>(exceptionHandler);
+                ? new EventQuerySendAsyncStrategy<>(settings.exceptionHandler, subscriberExecutor)
+                : new EventQuerySendSequentialStrategy<>(settings.exceptionHandler);
+
+            return new EventQueryImpl<>(
+                settings.exceptionHandler,
+                threadPool,
+                subscriberExecutor,
+                sendStrategy,
+                settings.createPublishDispatcher(threadPool),
+                isCoalescingQueries);
+        }
+    }
+
+    /**
+     * Builder for event queries with a result cache.
+     * Created by specifying {@link EventQueryBuilder#cache(long, TimeUnit, int)}.
+     */
+    public static class CachingEventQueryBuilder<I, O> {
+
+        private final EventQueryBuilder<I, O> queryBuilder;
+        private final long ttlNanos;
+        private final int maxEntries;
+
+        @Nullable private EventRouter<I> invalidationRouter;
+
+        CachingEventQueryBuilder(EventQueryBuilder<I, O> queryBuilder, long ttlNanos, int maxEntries) {
+            this.queryBuilder = queryBuilder;
+            this.ttlNanos = ttlNanos;
+            this.maxEntries = maxEntries;
+        }
+
+        /**
+         * Invalidate the cached responses to each query object published to this router.
+         * The default is a new router, available from {@link CachingEventQuery#getInvalidationRouter()}.
+         */
+        public CachingEventQueryBuilder<I, O> invalidatedBy(EventRouter<I> invalidationRouter) {
+            this.invalidationRouter = invalidationRouter;
+            return this;
+        }
+
+        public CachingEventQuery<I, O> build() {
+
+            QueryResultCache<I, List<O>> cache = new QueryResultCache<>(ttlNanos, maxEntries);
+            EventQueryImpl<I, O> eventQuery = queryBuilder.createEventQuery();
+
+            // Invalidation is cheap, so do it right on the publishing thread.
+            EventRouter<I> router = invalidationRouter != null
+                ? invalidationRouter
+                : new EventRouterImpl<>(
+                    eventQuery.getExceptionHandler(),
+                    eventQuery.getExecutor(),
+                    new SequentialSendStrategy<>(eventQuery.getExceptionHandler()),
+                    CallingThreadPublishDispatcher.INSTANCE);
 
-            return new EventQueryImpl<>(threadPool, sendStrategy);
+            return new CachingEventQueryImpl<>(eventQuery, cache, router);
         }
     }
 
@@ -226,13 +721,10 @@ public final class EventRouters {
      */
     public static class ModifiableEventRouterBuilder<T> {
 
-        private int maxThreadPoolSize;
-        @Nullable private ThreadPoolExecutor customThreadPool;
-        private SubscriberExceptionHandler exceptionHandler = DEFAULT_EXCEPTION_HANDLER;
+        private final EventRouterSettings settings;
 
-        ModifiableEventRouterBuilder(int maxThreadPoolSize, @Nullable ThreadPoolExecutor customThreadPool) {
-            this.maxThreadPoolSize = maxThreadPoolSize;
-            this.customThreadPool = customThreadPool;
+        ModifiableEventRouterBuilder(EventRouterSettings settings) {
+            this.settings = settings;
         }
 
         /**
@@ -240,7 +732,7 @@ public final class EventRouters {
          * The default is {@link EventRouterGlobals#DEFAULT_THREADPOOL_SIZE}.
          */
         public ModifiableEventRouterBuilder<T> maxThreadPoolSize(int maxThreadPoolSize) {
-            this.maxThreadPoolSize = maxThreadPoolSize;
+            settings.maxThreadPoolSize = maxThreadPoolSize;
             return this;
         }
 
@@ -249,9 +741,99 @@ public final class EventRouters {
          * the pool size by specifying {@link #maxThreadPoolSize(int)}. If you want to use your own
          * completely custom thread pool, you can specify it here. This is also a good setting to
          * use if you wish to share a single thread pool between many event routers.
+         * Setting this disables {@link #customForkJoinPool(ForkJoinPool)}.
          */
         public ModifiableEventRouterBuilder<T> customThreadPool(ThreadPoolExecutor customThreadPool) {
-            this.customThreadPool = customThreadPool;
+            settings.customThreadPool(customThreadPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for CPU-bound subscribers on many-core machines.
+         * Run this router on a work-stealing {@link ForkJoinPool}
+         * with one worker per CPU, instead of a thread pool with a single shared queue.
+         * See {@link #customForkJoinPool(ForkJoinPool)}.
+         */
+        public ModifiableEventRouterBuilder<T> workStealingPool() {
+            return customForkJoinPool(ThreadPools.newWorkStealingPool(Runtime.getRuntime().availableProcessors()));
+        }
+
+        /**
+         * Run this router on the given {@link ForkJoinPool}, instead of a thread pool.
+         * Each worker has its own task deque, and tasks created by a worker — like the per-subscriber
+         * tasks fanned out by {@code maxAsync()} — go on that worker's deque, where idle workers can
+         * steal them, instead of all workers contending on one shared queue.
+         * {@link ThreadPools#newWorkStealingPool(int)} creates a suitable pool.
+         * Setting this disables {@link #customThreadPool(ThreadPoolExecutor)}
+         * and {@link #maxQueueSize(int, OverflowPolicy)}.
+         */
+        public ModifiableEventRouterBuilder<T> customForkJoinPool(ForkJoinPool forkJoinPool) {
+            settings.forkJoinPool(forkJoinPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting for low-latency routers with very fast subscribers.
+         * Events are handed to the send strategy directly on the publishing thread,
+         * skipping the thread pool hop (a task allocation, a queue lock, and a thread wake-up).
+         * This makes {@code publish()} a blocking call that returns once the event has been sent,
+         * so only use it when your subscribers take less time than a context switch.
+         * Setting this disables {@link #ringBufferDispatcher(int, int)}.
+         */
+        public ModifiableEventRouterBuilder<T> publishOnCallingThread() {
+            settings.publishDispatcherFactory = threadPool -> CallingThreadPublishDispatcher.INSTANCE;
+            return this;
+        }
+
+        /**
+         * Use a lock-free ring buffer and dedicated worker threads to dispatch events,
+         * instead of the thread pool's queue.
+         * Setting this disables {@link #publishOnCallingThread()}.
+         *
+         * @param bufferSize the number of ring buffer slots; rounded up to a power of two
+         * @param workerCount the most threads that drain the ring buffer
+         * @see EventRouterBuilder#ringBufferDispatcher(int, int)
+         */
+        public ModifiableEventRouterBuilder<T> ringBufferDispatcher(int bufferSize, int workerCount) {
+            settings.publishDispatcherFactory = threadPool -> new RingBufferPublishDispatcher(bufferSize, workerCount);
+            return this;
+        }
+
+        /**
+         * Use a ring buffer dispatcher with one worker thread per CPU.
+         *
+         * @see #ringBufferDispatcher(int, int)
+         */
+        public ModifiableEventRouterBuilder<T> ringBufferDispatcher(int bufferSize) {
+            return ringBufferDispatcher(bufferSize, DEFAULT_RING_BUFFER_WORKERS);
+        }
+
+        /**
+         * Give this router's thread pool a bounded queue, so a slow subscriber can't make it grow
+         * until the JVM runs out of memory. When the queue is full, newly published events are
+         * handled according to {@code overflowPolicy}. The default is an unbounded queue.
+         * Ignored if you specify a {@link #customThreadPool(ThreadPoolExecutor)} — use
+         * {@link ThreadPools#newBoundedThreadPool(int, int, OverflowPolicy, DroppedEventHandler)} to make one.
+         * The policy only applies to the default publish dispatcher, so building fails if this is combined
+         * with publishing on the calling thread, per-subscriber mailboxes, or a ring buffer, priority,
+         * or partitioned dispatcher.
+         *
+         * @param maxQueueSize the max number of published events waiting to be sent
+         * @param overflowPolicy what to do with new events when the queue is full
+         */
+        public ModifiableEventRouterBuilder<T> maxQueueSize(int maxQueueSize, OverflowPolicy overflowPolicy) {
+            settings.maxQueueSize = maxQueueSize;
+            settings.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped by the {@link OverflowPolicy} of a bounded queue.
+         * The default is to log the event at WARN level.
+         * The number of dropped events is also available from {@code getDroppedEventCount()}.
+         */
+        public ModifiableEventRouterBuilder<T> droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
             return this;
         }
 
@@ -260,17 +842,541 @@ public final class EventRouters {
          * while handling an event. The default is to log the exception at ERROR level.
          */
         public ModifiableEventRouterBuilder<T> exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
-            this.exceptionHandler = exceptionHandler;
+            settings.exceptionHandler = exceptionHandler;
             return this;
         }
 
         public ModifiableEventRouter<T> build() {
 
-            ThreadPoolExecutor threadPool = customThreadPool == null
-                ? createThreadPool(maxThreadPoolSize)
-                : customThreadPool;
+            Executor threadPool = settings.createThreadPool();
+
+            return new ModifiableEventRouterImpl<>(
+                settings.exceptionHandler,
+                threadPool,
+                settings.createPublishDispatcher(threadPool));
+        }
+    }
+
+    /**
+     * Build a {@link StagedEventRouter}. Call {@link #stage(String)} once per stage, in order;
+     * the stage settings that follow it ({@link #concurrency(int)}, {@link #queueSize(int)}, etc.)
+     * apply to that stage.
+     * <p>
+     * The router's thread pool settings don't apply here: by default, each stage gets its own
+     * thread pool, with one thread per unit of concurrency.
+     */
+    public static class StagedEventRouterBuilder<T> {
+
+        private final EventRouterSettings settings;
+        private final List<StageSpec> stageSpecs = new ArrayList<>();
+
+        StagedEventRouterBuilder(EventRouterSettings settings) {
+            this.settings = settings;
+        }
+
+        /**
+         * Add a new stage after the existing ones. Stage names must be unique.
+         * The stage starts with a concurrency of 1, a queue of {@value EventRouters#DEFAULT_STAGE_QUEUE_SIZE}
+         * events, and the router's overflow policy ({@link OverflowPolicy#BLOCK} unless changed).
+         */
+        public StagedEventRouterBuilder<T> stage(String stageName) {
+
+            for (StageSpec stageSpec : stageSpecs) {
+                if (stageSpec.name.equals(stageName)) {
+                    throw new IllegalArgumentException("Duplicate stage name: " + stageName);
+                }
+            }
+
+            stageSpecs.add(new StageSpec(stageName, settings.overflowPolicy));
+            return this;
+        }
+
+        /**
+         * The most events the current stage processes at once. Use about one per CPU
+         * for CPU-bound stages, and more for stages that wait on IO.
+         */
+        public StagedEventRouterBuilder<T> concurrency(int concurrency) {
+            currentStage().concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * The most events that can wait in the current stage's queue.
+         */
+        public StagedEventRouterBuilder<T> queueSize(int queueSize) {
+            currentStage().queueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * What to do when the current stage's queue is full. Publishers are handled as described by
+         * {@link OverflowPolicy}, but a stage handing events to the next one is never blocked or thrown to:
+         * with {@link OverflowPolicy#BLOCK} or {@link OverflowPolicy#CALLER_RUNS}, it holds the event and
+         * pauses until the full stage makes room, and with the other policies, an event is dropped.
+         */
+        public StagedEventRouterBuilder<T> overflowPolicy(OverflowPolicy overflowPolicy) {
+            currentStage().overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Run the current stage on the given executor, instead of its own thread pool.
+         * The stage still runs at most {@link #concurrency(int)} events at once,
+         * so several stages can share one executor without starving each other.
+         */
+        public StagedEventRouterBuilder<T> executor(Executor executor) {
+            currentStage().executor = executor;
+            return this;
+        }
+
+        /**
+         * Set a custom exception handler for when an individual subscriber throws an exception
+         * while handling an event. The default is to log the exception at ERROR level.
+         */
+        public StagedEventRouterBuilder<T> exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
+            settings.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped because a stage's queue was full.
+         * The default is to log the event at WARN level.
+         */
+        public StagedEventRouterBuilder<T> droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
+            return this;
+        }
+
+        private StageSpec currentStage() {
+
+            if (stageSpecs.isEmpty()) {
+                throw new IllegalStateException("Add a stage with stage(name) first");
+            }
+
+            return stageSpecs.get(stageSpecs.size() - 1);
+        }
+
+        public StagedEventRouter<T> build() {
+
+            if (stageSpecs.isEmpty()) {
+                throw new IllegalStateException("A staged pipeline needs at least one stage");
+            }
+
+            // Build back to front, so each stage can be given its next stage.
+            List<PipelineStage<T>> stages = new ArrayList<>();
+            @Nullable PipelineStage<T> nextStage = null;
+
+            for (int i = stageSpecs.size() - 1; i >= 0; i--) {
+
+                StageSpec stageSpec = stageSpecs.get(i);
+
+                nextStage = new PipelineStage<>(
+                    stageSpec.name,
+                    stageSpec.executor != null ? stageSpec.executor : createThreadPool(stageSpec.concurrency),
+                    stageSpec.concurrency,
+                    stageSpec.queueSize,
+                    stageSpec.overflowPolicy,
+                    settings.exceptionHandler,
+                    settings.droppedEventHandler,
+                    nextStage);
+
+                stages.add(0, nextStage);
+            }
+
+            return new StagedEventRouterImpl<>(stages);
+        }
+
+        /**
+         * The settings for one stage, until it's built.
+         */
+        private static final class StageSpec {
+
+            private final String name;
+            private int concurrency = 1;
+            private int queueSize = DEFAULT_STAGE_QUEUE_SIZE;
+            private OverflowPolicy overflowPolicy;
+            @Nullable private Executor executor;
+
+            StageSpec(String name, OverflowPolicy overflowPolicy) {
+                this.name = name;
+                this.overflowPolicy = overflowPolicy;
+            }
+        }
+    }
+
+    /**
+     * Builder for event routers that publish events to keys.
+     * Created by specifying {@link EventRouterBuilder#keyType(Class)}.
+     */
+    public static class KeyedEventRouterBuilder<K, T> {
+
+        private final EventRouterSettings settings;
+
+        private boolean isMaxAsync = false;
+
+        KeyedEventRouterBuilder(EventRouterSettings settings) {
+            this.settings = settings;
+        }
+
+        /**
+         * The max thread pool size used by this router's thread pool.
+         * The default is {@link EventRouterGlobals#DEFAULT_THREADPOOL_SIZE}.
+         */
+        public KeyedEventRouterBuilder<K, T> maxThreadPoolSize(int maxThreadPoolSize) {
+            settings.maxThreadPoolSize = maxThreadPoolSize;
+            return this;
+        }
+
+        /**
+         * By default, a {@link ThreadPools#newDynamicThreadPool(int)} is used. You can configure
+         * the pool size by specifying {@link #maxThreadPoolSize(int)}. If you want to use your own
+         * completely custom thread pool, you can specify it here.
+         * Setting this disables {@link #customForkJoinPool(ForkJoinPool)}.
+         */
+        public KeyedEventRouterBuilder<K, T> customThreadPool(ThreadPoolExecutor customThreadPool) {
+            settings.customThreadPool(customThreadPool);
+            return this;
+        }
+
+        /**
+         * Run this router on the given {@link ForkJoinPool}, instead of a thread pool.
+         * Setting this disables {@link #customThreadPool(ThreadPoolExecutor)}
+         * and {@link #maxQueueSize(int, OverflowPolicy)}.
+         *
+         * @see EventRouterBuilder#customForkJoinPool(ForkJoinPool)
+         */
+        public KeyedEventRouterBuilder<K, T> customForkJoinPool(ForkJoinPool forkJoinPool) {
+            settings.forkJoinPool(forkJoinPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting: the default thread configuration is optimized for most use cases.
+         * Use this setting if you expect to have many long-running subscribers per key.
+         * Setting this disables {@link #publishInOrder()}.
+         */
+        public KeyedEventRouterBuilder<K, T> maxAsync() {
+            isMaxAsync = true;
+            return this;
+        }
+
+        /**
+         * If true, events will be delivered to a key's subscribers
+         * in the order that they subscribed to the key.
+         * The default is true.
+         * Setting this disables {@link #maxAsync()}.
+         */
+        public KeyedEventRouterBuilder<K, T> publishInOrder() {
+            isMaxAsync = false;
+            return this;
+        }
+
+        /**
+         * Send events directly on the publishing thread, skipping the thread pool hop.
+         *
+         * @see EventRouterBuilder#publishOnCallingThread()
+         */
+        public KeyedEventRouterBuilder<K, T> publishOnCallingThread() {
+            settings.publishDispatcherFactory = threadPool -> CallingThreadPublishDispatcher.INSTANCE;
+            return this;
+        }
+
+        /**
+         * Give this router's thread pool a bounded queue; see
+         * {@link EventRouterBuilder#maxQueueSize(int, OverflowPolicy)}.
+         */
+        public KeyedEventRouterBuilder<K, T> maxQueueSize(int maxQueueSize, OverflowPolicy overflowPolicy) {
+            settings.maxQueueSize = maxQueueSize;
+            settings.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped by the {@link OverflowPolicy} of a bounded queue.
+         * The default is to log the event at WARN level.
+         */
+        public KeyedEventRouterBuilder<K, T> droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
+            return this;
+        }
+
+        /**
+         * Set a custom exception handler for when an individual subscriber throws an exception
+         * while handling an event. The default is to log the exception at ERROR level.
+         */
+        public KeyedEventRouterBuilder<K, T> exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
+            settings.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        public KeyedEventRouter<K, T> build() {
+
+            Executor threadPool = settings.createThreadPool();
+
+            SendEventStrategy<T> sendStrategy = isMaxAsync
+                ? new ThreadPoolSendStrategy<>(
+                    settings.exceptionHandler,
+                    settings.createSubscriberExecutor(threadPool))
+                : new SequentialSendStrategy<>(settings.exceptionHandler);
+
+            return new KeyedEventRouterImpl<>(threadPool, sendStrategy, settings.createPublishDispatcher(threadPool));
+        }
+    }
+
+    /**
+     * Builder for event routers that publish events to hierarchical topics.
+     * Created by specifying {@link EventRouterBuilder#topics()}.
+     */
+    public static class TopicEventRouterBuilder<T> {
+
+        private final EventRouterSettings settings;
+
+        private boolean isMaxAsync = false;
+
+        TopicEventRouterBuilder(EventRouterSettings settings) {
+            this.settings = settings;
+        }
+
+        /**
+         * The max thread pool size used by this router's thread pool.
+         * The default is {@link EventRouterGlobals#DEFAULT_THREADPOOL_SIZE}.
+         */
+        public TopicEventRouterBuilder<T> maxThreadPoolSize(int maxThreadPoolSize) {
+            settings.maxThreadPoolSize = maxThreadPoolSize;
+            return this;
+        }
+
+        /**
+         * By default, a {@link ThreadPools#newDynamicThreadPool(int)} is used. You can configure
+         * the pool size by specifying {@link #maxThreadPoolSize(int)}. If you want to use your own
+         * completely custom thread pool, you can specify it here.
+         * Setting this disables {@link #customForkJoinPool(ForkJoinPool)}.
+         */
+        public TopicEventRouterBuilder<T> customThreadPool(ThreadPoolExecutor customThreadPool) {
+            settings.customThreadPool(customThreadPool);
+            return this;
+        }
+
+        /**
+         * Run this router on the given {@link ForkJoinPool}, instead of a thread pool.
+         * Setting this disables {@link #customThreadPool(ThreadPoolExecutor)}
+         * and {@link #maxQueueSize(int, OverflowPolicy)}.
+         *
+         * @see EventRouterBuilder#customForkJoinPool(ForkJoinPool)
+         */
+        public TopicEventRouterBuilder<T> customForkJoinPool(ForkJoinPool forkJoinPool) {
+            settings.forkJoinPool(forkJoinPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting: the default thread configuration is optimized for most use cases.
+         * Use this setting if you expect to have many long-running subscribers per topic.
+         * Setting this disables {@link #publishInOrder()}.
+         */
+        public TopicEventRouterBuilder<T> maxAsync() {
+            isMaxAsync = true;
+            return this;
+        }
+
+        /**
+         * If true, each event will be delivered to its topic's subscribers one at a time.
+         * The default is true.
+         * Setting this disables {@link #maxAsync()}.
+         */
+        public TopicEventRouterBuilder<T> publishInOrder() {
+            isMaxAsync = false;
+            return this;
+        }
+
+        /**
+         * Send events directly on the publishing thread, skipping the thread pool hop.
+         *
+         * @see EventRouterBuilder#publishOnCallingThread()
+         */
+        public TopicEventRouterBuilder<T> publishOnCallingThread() {
+            settings.publishDispatcherFactory = threadPool -> CallingThreadPublishDispatcher.INSTANCE;
+            return this;
+        }
+
+        /**
+         * Give this router's thread pool a bounded queue; see
+         * {@link EventRouterBuilder#maxQueueSize(int, OverflowPolicy)}.
+         */
+        public TopicEventRouterBuilder<T> maxQueueSize(int maxQueueSize, OverflowPolicy overflowPolicy) {
+            settings.maxQueueSize = maxQueueSize;
+            settings.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped by the {@link OverflowPolicy} of a bounded queue.
+         * The default is to log the event at WARN level.
+         */
+        public TopicEventRouterBuilder<T> droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
+            return this;
+        }
+
+        /**
+         * Set a custom exception handler for when an individual subscriber throws an exception
+         * while handling an event. The default is to log the exception at ERROR level.
+         */
+        public TopicEventRouterBuilder<T> exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
+            settings.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        public TopicEventRouter<T> build() {
+
+            Executor threadPool = settings.createThreadPool();
+
+            SendEventStrategy<T> sendStrategy = isMaxAsync
+                ? new ThreadPoolSendStrategy<>(
+                    settings.exceptionHandler,
+                    settings.createSubscriberExecutor(threadPool))
+                : new SequentialSendStrategy<>(settings.exceptionHandler);
+
+            return new TopicEventRouterImpl<>(threadPool, sendStrategy, settings.createPublishDispatcher(threadPool));
+        }
+    }
+
+    /**
+     * Builder for an {@link EventBus}, which routes events of any type.
+     * Created by {@link EventRouters#createEventBus()}.
+     */
+    public static class EventBusBuilder {
+
+        private final EventRouterSettings settings = new EventRouterSettings();
+
+        private boolean isMaxAsync = false;
+
+        EventBusBuilder() {
+            // Package private.
+        }
+
+        /**
+         * The max thread pool size used by this bus's thread pool.
+         * The default is {@link EventRouterGlobals#DEFAULT_THREADPOOL_SIZE}.
+         */
+        public EventBusBuilder maxThreadPoolSize(int maxThreadPoolSize) {
+            settings.maxThreadPoolSize = maxThreadPoolSize;
+            return this;
+        }
+
+        /**
+         * By default, a {@link ThreadPools#newDynamicThreadPool(int)} is used. You can configure
+         * the pool size by specifying {@link #maxThreadPoolSize(int)}. If you want to use your own
+         * completely custom thread pool, you can specify it here.
+         * Setting this disables {@link #customForkJoinPool(ForkJoinPool)}.
+         */
+        public EventBusBuilder customThreadPool(ThreadPoolExecutor customThreadPool) {
+            settings.customThreadPool(customThreadPool);
+            return this;
+        }
+
+        /**
+         * Run this bus on a work-stealing {@link ForkJoinPool} with one worker per CPU.
+         *
+         * @see EventRouterBuilder#workStealingPool()
+         */
+        public EventBusBuilder workStealingPool() {
+            return customForkJoinPool(ThreadPools.newWorkStealingPool(Runtime.getRuntime().availableProcessors()));
+        }
+
+        /**
+         * Run this bus on the given {@link ForkJoinPool}, instead of a thread pool.
+         * Setting this disables {@link #customThreadPool(ThreadPoolExecutor)}
+         * and {@link #maxQueueSize(int, OverflowPolicy)}.
+         *
+         * @see EventRouterBuilder#customForkJoinPool(ForkJoinPool)
+         */
+        public EventBusBuilder customForkJoinPool(ForkJoinPool forkJoinPool) {
+            settings.forkJoinPool(forkJoinPool);
+            return this;
+        }
+
+        /**
+         * This is an advanced setting: the default thread configuration is optimized for most use cases.
+         * Use this setting if you expect to have many long-running subscribers and very few events.
+         * Setting this disables {@link #publishInOrder()}.
+         */
+        public EventBusBuilder maxAsync() {
+            isMaxAsync = true;
+            return this;
+        }
+
+        /**
+         * If true, events will be delivered to subscribers of the event's class first,
+         * then subscribers of its superclasses, then its interfaces, and in the order they subscribed.
+         * The default is true.
+         * Setting this disables {@link #maxAsync()}.
+         */
+        public EventBusBuilder publishInOrder() {
+            isMaxAsync = false;
+            return this;
+        }
+
+        /**
+         * Send events directly on the publishing thread, skipping the thread pool hop.
+         *
+         * @see EventRouterBuilder#publishOnCallingThread()
+         */
+        public EventBusBuilder publishOnCallingThread() {
+            settings.publishDispatcherFactory = threadPool -> CallingThreadPublishDispatcher.INSTANCE;
+            return this;
+        }
+
+        /**
+         * Use a lock-free ring buffer and dedicated worker threads to dispatch events,
+         * instead of the thread pool's queue.
+         *
+         * @see EventRouterBuilder#ringBufferDispatcher(int, int)
+         */
+        public EventBusBuilder ringBufferDispatcher(int bufferSize, int workerCount) {
+            settings.publishDispatcherFactory = threadPool -> new RingBufferPublishDispatcher(bufferSize, workerCount);
+            return this;
+        }
+
+        /**
+         * Give this bus's thread pool a bounded queue; see
+         * {@link EventRouterBuilder#maxQueueSize(int, OverflowPolicy)}.
+         */
+        public EventBusBuilder maxQueueSize(int maxQueueSize, OverflowPolicy overflowPolicy) {
+            settings.maxQueueSize = maxQueueSize;
+            settings.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set a custom handler for events dropped by the {@link OverflowPolicy} of a bounded queue.
+         * The default is to log the event at WARN level.
+         */
+        public EventBusBuilder droppedEventHandler(DroppedEventHandler droppedEventHandler) {
+            settings.droppedEventHandler = droppedEventHandler;
+            return this;
+        }
+
+        /**
+         * Set a custom exception handler for when an individual subscriber throws an exception
+         * while handling an event. The default is to log the exception at ERROR level.
+         */
+        public EventBusBuilder exceptionHandler(SubscriberExceptionHandler exceptionHandler) {
+            settings.exceptionHandler = exceptionHandler;
+            return this;
+        }
+
+        public EventBus build() {
+
+            Executor threadPool = settings.createThreadPool();
+
+            SendEventStrategy<Object> sendStrategy = isMaxAsync
+                ? new ThreadPoolSendStrategy<>(
+                    settings.exceptionHandler,
+                    settings.createSubscriberExecutor(threadPool))
+                : new SequentialSendStrategy<>(settings.exceptionHandler);
 
-            return new ModifiableEventRouterImpl<>(exceptionHandler, threadPool);
+            return new EventBusImpl(threadPool, sendStrategy, settings.createPublishDispatcher(threadPool));
         }
     }
 }
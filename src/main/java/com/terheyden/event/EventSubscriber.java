@@ -2,6 +2,7 @@ package com.terheyden.event;
 
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -21,6 +22,15 @@ public interface EventSubscriber {
      */
     void unsubscribe(UUID subscriptionId);
 
+    /**
+     * Unsubscribe a previously-subscribed handler by its ID.
+     *
+     * @param subscriptionId The ID from {@link SubscriptionHandle#getId()}.
+     */
+    default void unsubscribe(long subscriptionId) {
+        unsubscribe(SubscriptionIds.toUuid(subscriptionId));
+    }
+
     /**
      * Get a read-only list of all event subscriptions.
      */
@@ -29,6 +39,29 @@ public interface EventSubscriber {
     /**
      * Get the thread pool used by this event router and its components.
      * For reporting only; don't use this to schedule events.
+     *
+     * @throws IllegalStateException if this router runs on a {@link java.util.concurrent.ForkJoinPool};
+     *     use {@link #getExecutor()} for either kind
      */
     ThreadPoolExecutor getThreadPool();
+
+    /**
+     * Get the thread pool used by this event router and its components — either a
+     * {@link ThreadPoolExecutor} or a {@link java.util.concurrent.ForkJoinPool}.
+     * For reporting only; don't use this to schedule events.
+     * The default returns {@link #getThreadPool()}.
+     */
+    default Executor getExecutor() {
+        return getThreadPool();
+    }
+
+    /**
+     * How many published events have been dropped because this router's bounded queue was full.
+     * Always 0 for routers with an unbounded queue, and for implementations that don't track it.
+     *
+     * @see OverflowPolicy
+     */
+    default long getDroppedEventCount() {
+        return 0L;
+    }
 }
@@ -1,48 +1,137 @@
 package com.terheyden.event;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Queue;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Manages event subscriptions.
+ * <p>
+ * Subscriptions are stored as a copy-on-write array. Publishing is far more common than
+ * subscribing or unsubscribing, so every publish gets a stable snapshot with a single volatile read,
+ * and every subscribe pays for copying the array.
+ * <p>
+ * Unsubscribing is O(1): the subscription is found by ID in an index and marked as cancelled,
+ * and send strategies skip cancelled subscriptions. Cancelled subscriptions are compacted out
+ * of the array on the next subscribe, or once they make up half of it,
+ * so routers with lots of short-lived subscriptions don't copy the array on every unsubscribe.
  */
 class EventSubscriberManager {
 
+    private static final EventSubscription[] NO_SUBSCRIBERS = new EventSubscription[0];
+
+    /**
+     * All subscriptions, in the order they subscribed. May include cancelled subscriptions.
+     * This array is never modified once published — it's replaced wholesale on every change,
+     * so a snapshot handed to a publish request will never change underneath it.
+     */
+    private volatile EventSubscription[] subscribers = NO_SUBSCRIBERS;
+
+    /**
+     * Active subscriptions by ID, so unsubscribing doesn't scan the array. Guarded by {@link #writeLock}.
+     */
+    private final Map<Long, BaseEventSubscription> subscriptionsById = new HashMap<>();
+
+    /**
+     * How many cancelled subscriptions are still in {@link #subscribers}. Guarded by {@link #writeLock}.
+     */
+    private int cancelledCount;
+
     /**
-     * Map of {@code [ event : [ sub1, sub2, ... ] ]}.
-     * Events can be a {@code Class<?>} for long-running events
-     * or a UUID for short-lived, publishAndReturn events.
-     * (Or really any object that can be used as a key in a map.)
+     * Serializes writers, so concurrent subscribes / unsubscribes don't lose each other's changes.
      */
-    private final Queue<EventSubscription> subscribers = new ConcurrentLinkedQueue<>();
-    private final Collection<EventSubscription> subscribersReadOnly = Collections.unmodifiableCollection(subscribers);
+    private final Object writeLock = new Object();
 
-    void subscribe(EventSubscription subscription) {
-        subscribers.add(subscription);
+    void subscribe(BaseEventSubscription subscription) {
+        synchronized (writeLock) {
+
+            // We're copying anyway, so drop any cancelled subscriptions while we're at it.
+            EventSubscription[] current = cancelledCount > 0 ? activeSubscribers() : subscribers;
+            EventSubscription[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = subscription;
+
+            subscriptionsById.put(subscription.getId(), subscription);
+            cancelledCount = 0;
+            subscribers = updated;
+        }
     }
 
     /**
      * Remove a subscription by its UUID.
      */
     void unsubscribe(UUID subscriptionId) {
-        // This could be more performant.
-        // Removes should be pretty uncommon,
-        // and the number of events shouldn't be terribly high.
-        // Concurrent, so we don't need to synchronize.
-        subscribers
-            .stream()
-            .filter(sub -> sub.getSubscriptionId().equals(subscriptionId))
-            .forEach(subscribers::remove);
+        unsubscribe(SubscriptionIds.toId(subscriptionId));
     }
 
-    public Collection<EventSubscription> getSubscribers() {
-        return subscribersReadOnly;
+    /**
+     * Remove a subscription by its ID.
+     */
+    void unsubscribe(long subscriptionId) {
+        synchronized (writeLock) {
+
+            BaseEventSubscription subscription = subscriptionsById.remove(subscriptionId);
+            if (subscription == null) {
+                return;
+            }
+
+            subscription.cancel();
+            cancelledCount++;
+
+            if (cancelledCount * 2 >= subscribers.length) {
+                EventSubscription[] active = activeSubscribers();
+                cancelledCount = 0;
+                subscribers = active.length == 0 ? NO_SUBSCRIBERS : active;
+            }
+        }
+    }
+
+    /**
+     * A copy of the given copy-on-write array without the subscription with the given ID,
+     * or the same array if it isn't there.
+     */
+    static EventSubscription[] without(EventSubscription[] subscribers, long subscriptionId) {
+
+        for (int i = 0; i < subscribers.length; i++) {
+            if (subscribers[i].getId() == subscriptionId) {
+                EventSubscription[] remaining = new EventSubscription[subscribers.length - 1];
+                System.arraycopy(subscribers, 0, remaining, 0, i);
+                System.arraycopy(subscribers, i + 1, remaining, i, remaining.length - i);
+                return remaining;
+            }
+        }
+
+        return subscribers;
+    }
+
+    private EventSubscription[] activeSubscribers() {
+        return Arrays.stream(subscribers)
+            .filter(sub -> !((BaseEventSubscription) sub).isCancelled())
+            .toArray(EventSubscription[]::new);
     }
 
-    Queue<EventSubscription> getSubscribersInternal() {
+    /**
+     * The current subscriber snapshot, for publishing. May include cancelled subscriptions.
+     * The returned array is shared — never modify it.
+     */
+    EventSubscription[] getSubscriberSnapshot() {
         return subscribers;
     }
+
+    /**
+     * True if there are no active subscriptions. Once the last one is unsubscribed,
+     * the cancelled ones make up the whole array, so it's always compacted down to empty.
+     */
+    boolean isEmpty() {
+        return subscribers.length == 0;
+    }
+
+    /**
+     * A read-only view of the current (active) subscribers, for testing / reporting.
+     */
+    public Collection<EventSubscription> getSubscribers() {
+        return Collections.unmodifiableList(Arrays.asList(activeSubscribers()));
+    }
 }
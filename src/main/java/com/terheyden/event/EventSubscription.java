@@ -7,5 +7,13 @@ import java.util.UUID;
  */
 public interface EventSubscription {
 
+    /**
+     * This subscription's ID. Cheaper than {@link #getSubscriptionId()}, which wraps it in a UUID.
+     * The default unwraps it from {@link #getSubscriptionId()}.
+     */
+    default long getId() {
+        return SubscriptionIds.toId(getSubscriptionId());
+    }
+
     UUID getSubscriptionId();
 }
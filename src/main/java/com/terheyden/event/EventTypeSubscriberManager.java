@@ -0,0 +1,198 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Manages {@link EventBus} subscriptions, which are per event type, and resolves which
+ * subscriptions an event object should go to: subscribers of its class, its superclasses,
+ * and all of their interfaces.
+ * <p>
+ * Resolving walks the type hierarchy, so the result is cached per concrete class in a {@link ClassValue},
+ * along with the registry version it was resolved against. Publishing is a {@code ClassValue} lookup
+ * and a version check; only the first publish of a class after a subscription change re-resolves it.
+ */
+class EventTypeSubscriberManager {
+
+    private static final EventSubscription[] NO_SUBSCRIBERS = new EventSubscription[0];
+
+    /**
+     * Subscriptions per subscribed type. Copy-on-write: replaced wholesale on every change,
+     * and the arrays inside are never modified once published.
+     */
+    private volatile Map<Class<?>, EventSubscription[]> subscribersByType = Collections.emptyMap();
+
+    /**
+     * Which type each subscription is for, so unsubscribing doesn't search every type.
+     * Guarded by {@link #writeLock}.
+     */
+    private final Map<Long, Class<?>> typesBySubscriptionId = new HashMap<>();
+
+    /**
+     * Bumped after every subscription change, so cached resolutions know they're stale.
+     */
+    private volatile long version = 0;
+
+    private final Object writeLock = new Object();
+
+    private final ClassValue<ResolvedSubscribers> resolvedByClass = new ClassValue<ResolvedSubscribers>() {
+        @Override
+        protected ResolvedSubscribers computeValue(Class<?> eventClass) {
+            return new ResolvedSubscribers(typeHierarchy(eventClass));
+        }
+    };
+
+    void subscribe(Class<?> eventType, EventSubscription subscription) {
+        synchronized (writeLock) {
+
+            Map<Class<?>, EventSubscription[]> updated = new HashMap<>(subscribersByType);
+            EventSubscription[] current = updated.getOrDefault(eventType, NO_SUBSCRIBERS);
+            EventSubscription[] withNew = Arrays.copyOf(current, current.length + 1);
+            withNew[current.length] = subscription;
+            updated.put(eventType, withNew);
+
+            typesBySubscriptionId.put(subscription.getId(), eventType);
+            subscribersByType = updated;
+            version++;
+        }
+    }
+
+    void unsubscribe(UUID subscriptionId) {
+        unsubscribe(SubscriptionIds.toId(subscriptionId));
+    }
+
+    void unsubscribe(long subscriptionId) {
+        synchronized (writeLock) {
+
+            Class<?> eventType = typesBySubscriptionId.remove(subscriptionId);
+            if (eventType == null) {
+                return;
+            }
+
+            Map<Class<?>, EventSubscription[]> updated = new HashMap<>(subscribersByType);
+            EventSubscription[] remaining = EventSubscriberManager.without(updated.get(eventType), subscriptionId);
+
+            if (remaining.length == 0) {
+                updated.remove(eventType);
+            } else {
+                updated.put(eventType, remaining);
+            }
+
+            subscribersByType = updated;
+            version++;
+        }
+    }
+
+
+    /**
+     * Everyone who should receive an event of the given concrete class: subscribers to the class itself
+     * first, then its superclasses, then its interfaces. The returned array is shared — never modify it.
+     */
+    EventSubscription[] getSubscriberSnapshot(Class<?> eventClass) {
+
+        ResolvedSubscribers resolved = resolvedByClass.get(eventClass);
+        ResolvedSubscribers.Snapshot snapshot = resolved.snapshot;
+        long currentVersion = version;
+
+        if (snapshot.version == currentVersion) {
+            return snapshot.subscribers;
+        }
+
+        // Read the version before the registry, so a change made while we resolve is caught next time.
+        Map<Class<?>, EventSubscription[]> registry = subscribersByType;
+        List<EventSubscription> subscribers = new ArrayList<>();
+
+        for (Class<?> type : resolved.types) {
+            EventSubscription[] typeSubscribers = registry.get(type);
+            if (typeSubscribers != null) {
+                subscribers.addAll(Arrays.asList(typeSubscribers));
+            }
+        }
+
+        EventSubscription[] resolvedSubscribers = subscribers.isEmpty()
+            ? NO_SUBSCRIBERS
+            : subscribers.toArray(NO_SUBSCRIBERS);
+
+        resolved.snapshot = new ResolvedSubscribers.Snapshot(currentVersion, resolvedSubscribers);
+        return resolvedSubscribers;
+    }
+
+    /**
+     * A read-only view of all subscriptions, for testing / reporting.
+     */
+    Collection<EventSubscription> getSubscribers() {
+
+        List<EventSubscription> all = new ArrayList<>();
+
+        for (EventSubscription[] typeSubscribers : subscribersByType.values()) {
+            all.addAll(Arrays.asList(typeSubscribers));
+        }
+
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * The class, then its superclasses, then all interfaces they implement (and their superinterfaces).
+     */
+    static Class<?>[] typeHierarchy(Class<?> eventClass) {
+
+        Set<Class<?>> types = new LinkedHashSet<>();
+
+        for (Class<?> type = eventClass; type != null; type = type.getSuperclass()) {
+            types.add(type);
+        }
+
+        for (Class<?> type = eventClass; type != null; type = type.getSuperclass()) {
+            addInterfaces(type, types);
+        }
+
+        return types.toArray(new Class<?>[0]);
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> types) {
+        for (Class<?> iface : type.getInterfaces()) {
+            if (types.add(iface)) {
+                addInterfaces(iface, types);
+            }
+        }
+    }
+
+    /**
+     * The cached resolution for one concrete class. The type hierarchy never changes;
+     * the subscriber snapshot is replaced whenever it's found to be stale.
+     */
+    private static final class ResolvedSubscribers {
+
+        private static final Snapshot STALE = new Snapshot(-1, NO_SUBSCRIBERS);
+
+        private final Class<?>[] types;
+
+        private volatile Snapshot snapshot = STALE;
+
+        ResolvedSubscribers(Class<?>[] types) {
+            this.types = types;
+        }
+
+        /**
+         * Immutable, so the version and the subscribers are always read together.
+         */
+        private static final class Snapshot {
+
+            private final long version;
+            private final EventSubscription[] subscribers;
+
+            Snapshot(long version, EventSubscription[] subscribers) {
+                this.version = version;
+                this.subscribers = subscribers;
+            }
+        }
+    }
+}
@@ -23,6 +23,44 @@ abstract class ExceptionHandlingSendEventStrategy<T> implements SendEventStrateg
         exceptionHandler.handleException(thrownException, eventRequest.getEventObj());
     }
 
+    /**
+     * True if the subscriber's filter accepts the event. A filter that throws is
+     * handled like a subscriber that throws, and the event isn't sent.
+     */
+    protected boolean accepts(EventRouterSubscription<T> sub, EventRequest<? extends T> eventRequest) {
+        try {
+            if (sub.accepts(eventRequest)) {
+                return true;
+            }
+            eventRequest.subscriberSkipped();
+            return false;
+        } catch (Exception e) {
+            try {
+                handleException(e, eventRequest);
+            } finally {
+                eventRequest.subscriberDone(false);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Call the subscriber's handler, and tell the event request how it went.
+     */
+    protected void sendEventToSubscriber(EventRouterSubscription<T> sub, EventRequest<? extends T> eventRequest) {
+
+        boolean succeeded = false;
+
+        try {
+            sub.getEventHandler().accept(eventRequest.getEventObj());
+            succeeded = true;
+        } catch (Exception e) {
+            handleException(e, eventRequest);
+        } finally {
+            eventRequest.subscriberDone(succeeded);
+        }
+    }
+
     protected SubscriberExceptionHandler getExceptionHandler() {
         return exceptionHandler;
     }
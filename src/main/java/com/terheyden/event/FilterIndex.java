@@ -0,0 +1,223 @@
+package com.terheyden.event;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexes subscriptions whose filter is an {@link AttributeFilter}, so publishing finds the
+ * matching subscribers with one attribute extraction and one hash lookup per {@link EventAttribute},
+ * instead of testing every subscriber's filter. Subscribers that don't match cost nothing.
+ * <p>
+ * Like {@link EventSubscriberManager}, the index is copy-on-write: every change replaces it wholesale,
+ * so publishing reads it with a single volatile read and no locks.
+ * <p>
+ * Indexed subscribers are merged into the subscriber snapshot by ID, which grows in subscription order,
+ * so subscribers are still called in the order they subscribed.
+ */
+class FilterIndex {
+
+    private static final AttributeIndex[] NO_ATTRIBUTES = new AttributeIndex[0];
+
+    private volatile AttributeIndex[] attributes = NO_ATTRIBUTES;
+
+    /**
+     * Each indexed subscription's filter, which says where in the index it is,
+     * so unsubscribing goes straight there. Guarded by {@link #writeLock}.
+     */
+    private final Map<Long, AttributeFilter<?>> filtersBySubscriptionId = new HashMap<>();
+
+    private final Object writeLock = new Object();
+
+    void subscribe(AttributeFilter<?> filter, EventSubscription subscription) {
+        synchronized (writeLock) {
+
+            filtersBySubscriptionId.put(subscription.getId(), filter);
+            AttributeIndex[] current = attributes;
+
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].attribute == filter.attribute()) {
+                    AttributeIndex[] updated = current.clone();
+                    updated[i] = current[i].with(filter.value(), subscription);
+                    attributes = updated;
+                    return;
+                }
+            }
+
+            AttributeIndex[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = new AttributeIndex(filter.attribute(), Collections.emptyMap())
+                .with(filter.value(), subscription);
+            attributes = updated;
+        }
+    }
+
+    /**
+     * @return true if the subscription was in the index
+     */
+    boolean unsubscribe(long subscriptionId) {
+        synchronized (writeLock) {
+
+            AttributeFilter<?> filter = filtersBySubscriptionId.remove(subscriptionId);
+            if (filter == null) {
+                return false;
+            }
+
+            AttributeIndex[] current = attributes;
+
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].attribute == filter.attribute()) {
+
+                    AttributeIndex without = current[i].without(filter.value(), subscriptionId);
+
+                    if (without.subscribersByValue.isEmpty()) {
+                        AttributeIndex[] updated = new AttributeIndex[current.length - 1];
+                        System.arraycopy(current, 0, updated, 0, i);
+                        System.arraycopy(current, i + 1, updated, i, updated.length - i);
+                        attributes = updated.length == 0 ? NO_ATTRIBUTES : updated;
+                    } else {
+                        AttributeIndex[] updated = current.clone();
+                        updated[i] = without;
+                        attributes = updated;
+                    }
+
+                    break;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    boolean isEmpty() {
+        return attributes.length == 0;
+    }
+
+    /**
+     * The given subscribers, plus the indexed subscribers whose filter matches the event, in subscription order.
+     * Send strategies don't test the matched subscribers' filters again.
+     * Only allocates when there are indexed matches to add.
+     * The returned array may be shared — never modify it.
+     */
+    @SuppressWarnings("unchecked")
+    EventSubscription[] resolve(
+        Object eventObj,
+        EventSubscription[] subscribers,
+        SubscriberExceptionHandler exceptionHandler) {
+
+        EventSubscription[] resolved = subscribers;
+
+        for (AttributeIndex attributeIndex : attributes) {
+
+            Object value;
+
+            try {
+                value = ((EventAttribute<Object, ?>) attributeIndex.attribute).extract(eventObj);
+            } catch (Exception e) {
+                // A broken attribute only means its subscribers don't match; don't fail the publish.
+                exceptionHandler.handleException(e, eventObj);
+                continue;
+            }
+
+            EventSubscription[] matches = attributeIndex.subscribersByValue.get(value);
+
+            if (matches != null) {
+                resolved = merge(resolved, matches);
+            }
+        }
+
+        return resolved;
+    }
+
+    /**
+     * The given subscribers, plus every indexed subscriber, in subscription order. For batches,
+     * where each subscriber's filter is tested per event by the send strategy instead.
+     */
+    EventSubscription[] withAllSubscribers(EventSubscription[] subscribers) {
+
+        EventSubscription[] all = subscribers;
+
+        for (AttributeIndex attributeIndex : attributes) {
+            for (EventSubscription[] matches : attributeIndex.subscribersByValue.values()) {
+                all = merge(all, matches);
+            }
+        }
+
+        return all;
+    }
+
+    /**
+     * Merge two arrays that are each in subscription (ID) order.
+     */
+    private static EventSubscription[] merge(EventSubscription[] first, EventSubscription[] second) {
+
+        if (first.length == 0) {
+            return second;
+        }
+
+        EventSubscription[] result = new EventSubscription[first.length + second.length];
+        int i = 0;
+        int j = 0;
+
+        for (int k = 0; k < result.length; k++) {
+            if (j == second.length || i < first.length && first[i].getId() < second[j].getId()) {
+                result[k] = first[i++];
+            } else {
+                result[k] = second[j++];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The subscribers for each value of one attribute. Immutable.
+     */
+    private static final class AttributeIndex {
+
+        private final EventAttribute<?, ?> attribute;
+        private final Map<Object, EventSubscription[]> subscribersByValue;
+
+        AttributeIndex(EventAttribute<?, ?> attribute, Map<Object, EventSubscription[]> subscribersByValue) {
+            this.attribute = attribute;
+            this.subscribersByValue = subscribersByValue;
+        }
+
+        AttributeIndex with(Object value, EventSubscription subscription) {
+
+            Map<Object, EventSubscription[]> updated = new HashMap<>(subscribersByValue);
+            EventSubscription[] current = updated.getOrDefault(value, new EventSubscription[0]);
+            EventSubscription[] withNew = Arrays.copyOf(current, current.length + 1);
+            withNew[current.length] = subscription;
+            updated.put(value, withNew);
+
+            return new AttributeIndex(attribute, updated);
+        }
+
+        /**
+         * @return this same instance if the subscription isn't under the given value
+         */
+        AttributeIndex without(Object value, long subscriptionId) {
+
+            EventSubscription[] current = subscribersByValue.get(value);
+            if (current == null) {
+                return this;
+            }
+
+            EventSubscription[] remaining = EventSubscriberManager.without(current, subscriptionId);
+            if (remaining == current) {
+                return this;
+            }
+
+            Map<Object, EventSubscription[]> updated = new HashMap<>(subscribersByValue);
+
+            if (remaining.length == 0) {
+                updated.remove(value);
+            } else {
+                updated.put(value, remaining);
+            }
+
+            return new AttributeIndex(attribute, updated);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.terheyden.event;
+
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A query that completes its future with the first response to arrive. If no responder responds
+ * (they all threw, or there weren't any), the future fails with a {@link NoSuchElementException},
+ * with each responder's failure attached as a suppressed {@link EventRouterPublishException}.
+ */
+final class FirstResponseQueryRequest<I, O> extends AggregatingQueryRequest<I, O> {
+
+    private final Queue<EventRouterPublishException> failures = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<O> future = new CompletableFuture<>();
+
+    FirstResponseQueryRequest(I eventObj, int responderCount) {
+        super(eventObj, responderCount);
+    }
+
+    CompletableFuture<O> getFuture() {
+        return future;
+    }
+
+    @Override
+    void onResponse(O response) {
+        future.complete(response);
+    }
+
+    @Override
+    void onFailure(EventRouterPublishException failure) {
+        failures.add(failure);
+    }
+
+    @Override
+    void dropped() {
+        future.completeExceptionally(new RejectedExecutionException("Event queue is full; dropped query: " + getEventObj()));
+    }
+
+    @Override
+    void onAllDone() {
+
+        if (future.isDone()) {
+            return;
+        }
+
+        NoSuchElementException noResponse = new NoSuchElementException("No responses to query: " + getEventObj());
+        failures.forEach(noResponse::addSuppressed);
+        future.completeExceptionally(noResponse);
+    }
+}
@@ -0,0 +1,38 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+
+/**
+ * An event router where every event is published to a key, like a customer ID or a topic,
+ * and only that key's subscribers receive it. Publishing to a key only touches that key's subscribers,
+ * so this scales to huge numbers of keys with a few subscribers each, all sharing one thread pool.
+ *
+ * @see EventRouters.EventRouterBuilder#keyType(Class)
+ */
+public interface KeyedEventRouter<K, T> extends EventSubscriber {
+
+    /**
+     * When an event is published to {@code key}, {@code eventHandler} will be called.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * orderEvents.subscribe(customerId, order -> System.out.println("New order for customer: " + order));
+     * }
+     * </pre>
+     *
+     * @param key The key to receive events for; keys must implement equals / hashCode
+     * @return A UUID that can later be used to unsubscribe.
+     */
+    UUID subscribe(K key, CheckedConsumer<T> eventHandler);
+
+    /**
+     * Publish the given event to all subscribers of the given key.
+     * This is a non-blocking call; events are published asynchronously,
+     * unless the router was built with {@code publishOnCallingThread()}.
+     *
+     * @param key The key to publish to
+     * @param eventObj The event to send to the key's subscribers
+     */
+    void publish(K key, T eventObj);
+}
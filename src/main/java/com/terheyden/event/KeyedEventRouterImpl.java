@@ -0,0 +1,76 @@
+package com.terheyden.event;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * KeyedEventRouter class.
+ * All keys share this router's thread pool and send strategy.
+ */
+public class KeyedEventRouterImpl<K, T> extends BaseEventRouter<T> implements KeyedEventRouter<K, T> {
+
+    private final KeyedSubscriberManager<K> keyedSubscriberManager = new KeyedSubscriberManager<>();
+
+    KeyedEventRouterImpl(
+        Executor threadPoolExecutor,
+        SendEventStrategy<T> sendStrategy,
+        PublishDispatcher publishDispatcher) {
+
+        super(threadPoolExecutor, sendStrategy, publishDispatcher);
+    }
+
+    @Override
+    public UUID subscribe(K key, CheckedConsumer<T> eventHandler) {
+        EventRouterSubscription<T> subscription = new EventRouterSubscription<>(eventHandler);
+        keyedSubscriberManager.subscribe(key, subscription);
+        return subscription.getSubscriptionId();
+    }
+
+    @Override
+    public void unsubscribe(UUID subscriptionId) {
+        keyedSubscriberManager.unsubscribe(subscriptionId);
+    }
+
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        keyedSubscriberManager.unsubscribe(subscriptionId);
+    }
+
+    @Override
+    public void publish(K key, T eventObj) {
+
+        EventSubscription[] subscribers = keyedSubscriberManager.getSubscriberSnapshot(key);
+
+        // Most keys have no subscribers most of the time, so don't even bother the thread pool.
+        if (subscribers.length > 0) {
+            publishInternal(new EventRequest<>(eventObj), subscribers);
+        }
+    }
+
+    @Override
+    public ThreadPoolExecutor getThreadPool() {
+        return super.getThreadPool();
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return super.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return super.getDroppedEventCount();
+    }
+
+    @Override
+    public Collection<UUID> getSubscriptions() {
+        return keyedSubscriberManager
+            .getSubscribers()
+            .stream()
+            .map(EventSubscription::getSubscriptionId)
+            .collect(Collectors.toList());
+    }
+}
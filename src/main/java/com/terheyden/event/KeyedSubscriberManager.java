@@ -0,0 +1,92 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages {@link KeyedEventRouter} subscriptions: a concurrent hash index from each key
+ * to a copy-on-write snapshot of that key's subscribers. Looking up a key's subscribers is
+ * a single hash lookup, no matter how many keys or subscribers there are in total.
+ */
+class KeyedSubscriberManager<K> {
+
+    private static final EventSubscription[] NO_SUBSCRIBERS = new EventSubscription[0];
+
+    /**
+     * Each key's subscribers. The arrays are never modified once published; they're replaced
+     * atomically per key with {@code compute()}. Keys with no subscribers are removed.
+     */
+    private final ConcurrentHashMap<K, EventSubscription[]> subscribersByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Which key each subscription is for, so unsubscribing doesn't need to search every key.
+     */
+    private final ConcurrentHashMap<Long, K> keysBySubscriptionId = new ConcurrentHashMap<>();
+
+    void subscribe(K key, EventSubscription subscription) {
+
+        keysBySubscriptionId.put(subscription.getId(), key);
+
+        subscribersByKey.compute(key, (k, current) -> {
+            if (current == null) {
+                return new EventSubscription[] { subscription };
+            }
+            EventSubscription[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = subscription;
+            return updated;
+        });
+    }
+
+    void unsubscribe(UUID subscriptionId) {
+        unsubscribe(SubscriptionIds.toId(subscriptionId));
+    }
+
+    void unsubscribe(long subscriptionId) {
+
+        K key = keysBySubscriptionId.remove(subscriptionId);
+
+        if (key == null) {
+            return;
+        }
+
+        subscribersByKey.computeIfPresent(key, (k, current) -> {
+            EventSubscription[] updated = EventSubscriberManager.without(current, subscriptionId);
+            // Returning null removes the key, so the index doesn't fill up with dead keys.
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    /**
+     * The current subscriber snapshot for the given key, for publishing.
+     * The returned array is shared — never modify it.
+     */
+    EventSubscription[] getSubscriberSnapshot(K key) {
+        return subscribersByKey.getOrDefault(key, NO_SUBSCRIBERS);
+    }
+
+    /**
+     * How many keys have at least one subscriber.
+     */
+    int getKeyCount() {
+        return subscribersByKey.size();
+    }
+
+    /**
+     * A read-only view of all subscriptions, for testing / reporting.
+     */
+    Collection<EventSubscription> getSubscribers() {
+
+        List<EventSubscription> all = new ArrayList<>();
+
+        for (EventSubscription[] keySubscribers : subscribersByKey.values()) {
+            all.addAll(Arrays.asList(keySubscribers));
+        }
+
+        return Collections.unmodifiableList(all);
+    }
+}
@@ -0,0 +1,93 @@
+package com.terheyden.event;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Every subscriber gets its own mailbox. Publishing posts the event to each subscriber's mailbox,
+ * and a subscriber with mail is scheduled on the thread pool once, to drain its mailbox in FIFO order.
+ * So each subscriber receives events in order and on one thread at a time,
+ * while different subscribers run in parallel.
+ * <p>
+ * Posting is cheap, so this strategy is meant to run on the publishing thread;
+ * that way the mailboxes see each publisher's events in publish order.
+ */
+class MailboxSendStrategy<T> extends ExceptionHandlingSendEventStrategy<T> {
+
+    private final Executor threadPool;
+
+    MailboxSendStrategy(SubscriberExceptionHandler exceptionHandler, Executor threadPool) {
+        super(exceptionHandler);
+        this.threadPool = threadPool;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sendEventToSubscribers(EventRequest<? extends T> eventRequest, EventSubscription[] subscribers) {
+        for (EventSubscription subscriber : subscribers) {
+            EventRouterSubscription<T> sub = (EventRouterSubscription<T>) subscriber;
+            if (accepts(sub, eventRequest) && sub.getMailbox().post(eventRequest)) {
+                scheduleDrain(sub);
+            }
+        }
+    }
+
+    private void drainMailbox(EventRouterSubscription<T> sub) {
+
+        SubscriberMailbox<EventRequest<? extends T>> mailbox = sub.getMailbox();
+        int processed = 0;
+
+        while (processed < ThreadPools.DRAIN_BATCH_SIZE) {
+
+            EventRequest<? extends T> eventRequest = mailbox.poll();
+            if (eventRequest == null) {
+                break;
+            }
+
+            sendEventToSubscriber(sub, eventRequest);
+            processed++;
+        }
+
+        if (mailbox.processed(processed)) {
+            scheduleDrain(sub);
+        }
+    }
+
+    private void scheduleDrain(EventRouterSubscription<T> sub) {
+        try {
+            threadPool.execute(() -> drainMailbox(sub));
+        } catch (RejectedExecutionException e) {
+            failMailbox(sub, e);
+        }
+    }
+
+    /**
+     * The pool won't run the drainer, so fail everything in the mailbox, instead of leaving it
+     * scheduled with nobody to drain it. Tracked publishes still complete.
+     */
+    private void failMailbox(EventRouterSubscription<T> sub, RejectedExecutionException rejected) {
+
+        SubscriberMailbox<EventRequest<? extends T>> mailbox = sub.getMailbox();
+        int failed;
+
+        do {
+            failed = 0;
+
+            while (true) {
+
+                EventRequest<? extends T> eventRequest = mailbox.poll();
+                if (eventRequest == null) {
+                    break;
+                }
+
+                try {
+                    handleException(rejected, eventRequest);
+                } finally {
+                    eventRequest.subscriberDone(false);
+                }
+
+                failed++;
+            }
+        } while (mailbox.processed(failed));
+    }
+}
@@ -0,0 +1,122 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * A subscriber snapshot of a {@link ModifiableEventRouterImpl}, split into the subscribers
+ * that may change the event and the read-only subscribers that only observe it.
+ * <p>
+ * The modifying subscribers are fused into one pre-cast handler array, applied in a single loop,
+ * and the read-only subscribers are the tail: they see the final event after the whole chain,
+ * so they don't have to run in line with it. Compiling is done once per snapshot —
+ * the subscriber array is replaced whenever subscriptions change, so its identity says
+ * whether a compiled pipeline is still current.
+ */
+final class ModifiableEventPipeline<T> {
+
+    private static final Logger LOG = getLogger(ModifiableEventPipeline.class);
+    private static final ModifiableEventSubscription<?>[] NO_SUBSCRIPTIONS = new ModifiableEventSubscription<?>[0];
+
+    private final EventSubscription[] source;
+    private final ModifiableEventSubscription<T>[] modifiers;
+    private final ModifiableEventSubscription<T>[] observers;
+
+    private ModifiableEventPipeline(
+        EventSubscription[] source,
+        List<ModifiableEventSubscription<T>> modifiers,
+        List<ModifiableEventSubscription<T>> observers) {
+
+        this.source = source;
+        this.modifiers = toArray(modifiers);
+        this.observers = toArray(observers);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ModifiableEventSubscription<T>[] toArray(List<ModifiableEventSubscription<T>> subscriptions) {
+        // Safe: every element is a ModifiableEventSubscription<T>, and the array is never written to after this.
+        return (ModifiableEventSubscription<T>[]) subscriptions.toArray(NO_SUBSCRIPTIONS);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ModifiableEventPipeline<T> compile(EventSubscription[] subscribers) {
+
+        List<ModifiableEventSubscription<T>> modifiers = new ArrayList<>();
+        List<ModifiableEventSubscription<T>> observers = new ArrayList<>();
+
+        for (EventSubscription subscriber : subscribers) {
+            ModifiableEventSubscription<T> sub = (ModifiableEventSubscription<T>) subscriber;
+            (sub.isReadOnly() ? observers : modifiers).add(sub);
+        }
+
+        return new ModifiableEventPipeline<>(subscribers, modifiers, observers);
+    }
+
+    /**
+     * True if this pipeline was compiled from the given subscriber snapshot.
+     */
+    boolean isCompiledFrom(EventSubscription[] subscribers) {
+        return source == subscribers;
+    }
+
+    ModifiableEventSubscription<T>[] getObservers() {
+        return observers;
+    }
+
+    /**
+     * Pass the event through the modifying subscribers, in order.
+     * Each subscriber may modify the event obj, replace it completely, or return null.
+     *
+     * @return the final event, or null if a subscriber stopped propagation
+     */
+    @Nullable
+    T applyModifiers(T eventObj, SubscriberExceptionHandler exceptionHandler) {
+
+        @Nullable T currentObj = eventObj;
+
+        for (ModifiableEventSubscription<T> sub : modifiers) {
+
+            if (sub.isCancelled()) {
+                continue;
+            }
+
+            try {
+                currentObj = sub.getEventHandler().apply(currentObj);
+            } catch (Exception e) {
+                exceptionHandler.handleException(e, currentObj);
+            }
+
+            // Returning null is a signal to stop propagating the event.
+            if (currentObj == null) {
+                LOG.debug("Event is now null; stopping propagation.");
+                return null;
+            }
+        }
+
+        return currentObj;
+    }
+
+    /**
+     * Send the final event to a read-only subscriber.
+     */
+    static <T> void sendToObserver(
+        ModifiableEventSubscription<T> sub,
+        T eventObj,
+        SubscriberExceptionHandler exceptionHandler) {
+
+        if (sub.isCancelled()) {
+            return;
+        }
+
+        try {
+            sub.getObserver().accept(eventObj);
+        } catch (Exception e) {
+            exceptionHandler.handleException(e, eventObj);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A modifiable event whose publisher wants the final event back,
+ * after every modifying subscriber has had its turn.
+ */
+final class ModifiableEventRequest<T> extends EventRequest<T> {
+
+    private final CompletableFuture<Optional<T>> future = new CompletableFuture<>();
+
+    ModifiableEventRequest(T eventObj) {
+        super(eventObj);
+    }
+
+    CompletableFuture<Optional<T>> getFuture() {
+        return future;
+    }
+
+    /**
+     * @param finalObj the final event, or null if a subscriber cancelled it
+     */
+    void complete(@Nullable T finalObj) {
+        future.complete(Optional.ofNullable(finalObj));
+    }
+
+    void fail(Throwable throwable) {
+        future.completeExceptionally(throwable);
+    }
+
+    @Override
+    void dropped() {
+        fail(new RejectedExecutionException("Event queue is full; dropped event: " + getEventObj()));
+    }
+}
@@ -1,10 +1,13 @@
 package com.terheyden.event;
 
+import java.util.Arrays;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A publish-subsribe event router with modifiable events.
- * Subscribers are called in the order they subscribed,
+ * Modifying subscribers are called in the order they subscribed,
  * and may modify, replace, or cancel the event.
  *
  * @see EventRouter
@@ -20,7 +23,10 @@ public interface ModifiableEventRouter<T> extends EventSubscriber {
     UUID subscribe(CheckedFunction<T, T> eventHandler);
 
     /**
-     * When an event of type {@code eventClass} is published, {@code eventHandler} will be called.
+     * When an event of type {@code eventClass} is published, {@code eventHandler} will be called
+     * with the final event, after all modifying subscribers have run (no matter when it subscribed).
+     * Read-only subscribers run in parallel with each other on the thread pool, and don't receive cancelled events.
+     * Each one still sees events one at a time, in the order they were published.
      *
      * @return A UUID that can later be used to unsubscribe.
      */
@@ -28,7 +34,8 @@ public interface ModifiableEventRouter<T> extends EventSubscriber {
 
     /**
      * Publish the given event to all subscribers of the event object's type.
-     * This is a non-blocking call; events are always published asynchronously.
+     * This is a non-blocking call; events are published asynchronously,
+     * unless the router was built with {@code publishOnCallingThread()}.
      * <p>
      * Example:
      * <pre>
@@ -51,4 +58,44 @@ public interface ModifiableEventRouter<T> extends EventSubscriber {
      * @param event The event to send to all subscribers
      */
     void publish(T eventObj);
+
+    /**
+     * Publish the given event, like {@link #publish(Object)}, and get back the final event
+     * once every modifying subscriber has had its turn — so the subscribers can be used as
+     * an asynchronous interceptor chain, like validation followed by enrichment.
+     * The future completes before the read-only subscribers are called.
+     * With no subscribers, it's already complete, with the event unchanged.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * orderRouter.publishAndGet(order)
+     *     .thenAccept(result -> result.ifPresent(this::saveOrder));
+     * }
+     * </pre>
+     *
+     * @param eventObj The event to send to all subscribers
+     * @return the final event, or empty if a subscriber cancelled it by returning null;
+     *     completes exceptionally if the event was dropped by a full bounded queue
+     */
+    CompletableFuture<Optional<T>> publishAndGet(T eventObj);
+
+    /**
+     * Publish a batch of events to all subscribers. The whole batch is sent as a single request,
+     * to the same set of subscribers, and each event goes through the subscriber chain in iteration order.
+     *
+     * @param eventObjs The events to send to all subscribers
+     */
+    void publishAll(Iterable<? extends T> eventObjs);
+
+    /**
+     * Publish a batch of events to all subscribers.
+     *
+     * @param eventObjs The events to send to all subscribers
+     * @see #publishAll(Iterable)
+     */
+    @SuppressWarnings("unchecked")
+    default void publishAll(T... eventObjs) {
+        publishAll(Arrays.asList(eventObjs));
+    }
 }
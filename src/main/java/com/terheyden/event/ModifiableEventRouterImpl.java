@@ -1,7 +1,12 @@
 package com.terheyden.event;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
@@ -12,8 +17,12 @@ import java.util.stream.Collectors;
  */
 public class ModifiableEventRouterImpl<T> extends BaseEventRouter<T> implements ModifiableEventRouter<T> {
 
-    ModifiableEventRouterImpl(SubscriberExceptionHandler eventHandler, ThreadPoolExecutor threadPoolExecutor) {
-        super(threadPoolExecutor, new ModifiableEventSendStrategy<>(eventHandler));
+    ModifiableEventRouterImpl(
+        SubscriberExceptionHandler eventHandler,
+        Executor threadPoolExecutor,
+        PublishDispatcher publishDispatcher) {
+
+        super(threadPoolExecutor, new ModifiableEventSendStrategy<>(eventHandler, threadPoolExecutor), publishDispatcher);
     }
 
     @Override
@@ -26,11 +35,7 @@ public class ModifiableEventRouterImpl<T> extends BaseEventRouter<T> implements
     @Override
     public UUID subscribeReadOnly(CheckedConsumer<T> eventHandler) {
 
-        ModifiableEventSubscription<T> subscription = new ModifiableEventSubscription<>(eventObj -> {
-            eventHandler.accept(eventObj);
-            return eventObj;
-        });
-
+        ModifiableEventSubscription<T> subscription = ModifiableEventSubscription.readOnly(eventHandler);
         getSubscriberManager().subscribe(subscription);
         return subscription.getSubscriptionId();
     }
@@ -40,16 +45,57 @@ public class ModifiableEventRouterImpl<T> extends BaseEventRouter<T> implements
         getSubscriberManager().unsubscribe(subscriptionId);
     }
 
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        getSubscriberManager().unsubscribe(subscriptionId);
+    }
+
     @Override
     public void publish(T eventObj) {
         publishInternal(new EventRequest<>(eventObj));
     }
 
+    @Override
+    public CompletableFuture<Optional<T>> publishAndGet(T eventObj) {
+
+        EventSubscription[] subscribers = getSubscriberManager().getSubscriberSnapshot();
+
+        // Nothing would run to complete the future, and there's nothing to change the event.
+        if (subscribers.length == 0) {
+            return CompletableFuture.completedFuture(Optional.of(eventObj));
+        }
+
+        ModifiableEventRequest<T> eventRequest = new ModifiableEventRequest<>(eventObj);
+        publishInternal(eventRequest, subscribers);
+        return eventRequest.getFuture();
+    }
+
+    @Override
+    public void publishAll(Iterable<? extends T> eventObjs) {
+
+        List<EventRequest<T>> eventRequests = new ArrayList<>();
+        for (T eventObj : eventObjs) {
+            eventRequests.add(new EventRequest<>(eventObj));
+        }
+
+        publishAllInternal(eventRequests);
+    }
+
     @Override
     public ThreadPoolExecutor getThreadPool() {
         return super.getThreadPool();
     }
 
+    @Override
+    public Executor getExecutor() {
+        return super.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return super.getDroppedEventCount();
+    }
+
     @Override
     public Collection<UUID> getSubscriptions() {
         return getSubscribers()
@@ -1,22 +1,213 @@
 package com.terheyden.event;
 
-import java.util.Collection;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Publishes events to subscribers in order, on the calling thread.
  * Subscribers may modify the event object, replace it completely, or return null to stop propagation.
+ * <p>
+ * Read-only subscribers can't change the event, so they're taken out of the chain: they receive
+ * the final event once every modifying subscriber has run, and they run in parallel on the thread pool,
+ * so a few slow observers don't add their latencies together. Each one has a {@link SubscriberMailbox},
+ * so it still sees events one at a time, in the order they came out of the chain.
+ * If the event is cancelled, read-only subscribers don't receive it.
  */
 class ModifiableEventSendStrategy<T> extends ExceptionHandlingSendEventStrategy<T> {
 
-    ModifiableEventSendStrategy(SubscriberExceptionHandler exceptionHandler) {
+    private final Executor threadPool;
+
+    /**
+     * The pipeline compiled from the last subscriber snapshot we saw.
+     * Racing publishers may both compile the same snapshot, which is harmless.
+     */
+    @Nullable private volatile ModifiableEventPipeline<T> pipeline;
+
+    ModifiableEventSendStrategy(SubscriberExceptionHandler exceptionHandler, Executor threadPool) {
         super(exceptionHandler);
+        this.threadPool = threadPool;
     }
 
     @Override
     public void sendEventToSubscribers(
         EventRequest<? extends T> eventRequest,
-        Collection<? extends EventSubscription> subscribers) {
+        EventSubscription[] subscribers) {
+
+        ModifiableEventPipeline<T> currentPipeline = getPipeline(subscribers);
+
+        @Nullable T finalObj = applyModifiers(currentPipeline, eventRequest);
+        if (finalObj != null) {
+            sendToObservers(currentPipeline, finalObj);
+        }
+    }
+
+    /**
+     * Send the event through the modifying subscribers, then to the read-only subscribers.
+     *
+     * @return the final event, or null if a subscriber stopped propagation
+     */
+    @Nullable
+    T send(T eventObj, EventSubscription[] subscribers) {
+
+        ModifiableEventPipeline<T> currentPipeline = getPipeline(subscribers);
+
+        @Nullable T finalObj = currentPipeline.applyModifiers(eventObj, getExceptionHandler());
+        if (finalObj != null) {
+            sendToObservers(currentPipeline, finalObj);
+        }
+
+        return finalObj;
+    }
+
+    /**
+     * Apply the modifying subscribers, and if the publisher is waiting for the result
+     * ({@code publishAndGet()}), hand it over before the read-only subscribers run.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private T applyModifiers(ModifiableEventPipeline<T> currentPipeline, EventRequest<? extends T> eventRequest) {
+
+        @Nullable T eventObj = eventRequest.getEventObj();
+
+        if (!(eventRequest instanceof ModifiableEventRequest)) {
+            return eventObj == null ? null : currentPipeline.applyModifiers(eventObj, getExceptionHandler());
+        }
+
+        ModifiableEventRequest<T> resultRequest = (ModifiableEventRequest<T>) eventRequest;
+
+        try {
+            @Nullable T finalObj = eventObj == null ? null : currentPipeline.applyModifiers(eventObj, getExceptionHandler());
+            resultRequest.complete(finalObj);
+            return finalObj;
+        } catch (RuntimeException | Error e) {
+            // Subscriber exceptions are handled by the pipeline, but the publisher mustn't wait forever.
+            resultRequest.fail(e);
+            throw e;
+        }
+    }
+
+    private void sendToObservers(ModifiableEventPipeline<T> currentPipeline, T finalObj) {
+
+        ModifiableEventSubscription<T>[] observers = currentPipeline.getObservers();
+        int lastIndex = observers.length - 1;
+
+        // Fan out to the thread pool, but drain the last observer here — we'd only be waiting otherwise.
+        for (int i = 0; i <= lastIndex; i++) {
+            ModifiableEventSubscription<T> observer = observers[i];
+            if (observer.getMailbox().post(finalObj)) {
+                if (i == lastIndex) {
+                    drainObserver(observer);
+                } else {
+                    scheduleDrain(observer);
+                }
+            }
+        }
+    }
+
+    private void scheduleDrain(ModifiableEventSubscription<T> observer) {
+        try {
+            threadPool.execute(() -> drainObserver(observer));
+        } catch (RejectedExecutionException e) {
+            discardMailbox(observer, e);
+        }
+    }
+
+    private void drainObserver(ModifiableEventSubscription<T> observer) {
+
+        SubscriberMailbox<T> mailbox = observer.getMailbox();
+        int processed = 0;
+
+        while (processed < ThreadPools.DRAIN_BATCH_SIZE) {
+
+            T eventObj = mailbox.poll();
+            if (eventObj == null) {
+                break;
+            }
+
+            ModifiableEventPipeline.sendToObserver(observer, eventObj, getExceptionHandler());
+            processed++;
+        }
+
+        if (mailbox.processed(processed)) {
+            scheduleDrain(observer);
+        }
+    }
+
+    /**
+     * The pool won't run the drainer, so report and drop the observer's waiting events,
+     * instead of leaving its mailbox scheduled with nobody to drain it.
+     */
+    private void discardMailbox(ModifiableEventSubscription<T> observer, RejectedExecutionException rejected) {
+
+        SubscriberMailbox<T> mailbox = observer.getMailbox();
+        int discarded;
+
+        do {
+            discarded = 0;
+
+            while (true) {
+
+                T eventObj = mailbox.poll();
+                if (eventObj == null) {
+                    break;
+                }
+
+                getExceptionHandler().handleException(rejected, eventObj);
+                discarded++;
+            }
+        } while (mailbox.processed(discarded));
+    }
+
+    /**
+     * Run the whole batch through the modifying subscribers first, then post the surviving events
+     * to each observer's mailbox.
+     */
+    @Override
+    public void sendEventsToSubscribers(
+        List<? extends EventRequest<? extends T>> eventRequests,
+        EventSubscription[] subscribers) {
+
+        ModifiableEventPipeline<T> currentPipeline = getPipeline(subscribers);
+        List<T> finalObjs = new ArrayList<>(eventRequests.size());
+
+        for (int i = 0; i < eventRequests.size(); i++) {
+
+            @Nullable T finalObj = applyModifiers(currentPipeline, eventRequests.get(i));
+
+            if (finalObj != null) {
+                finalObjs.add(finalObj);
+            }
+        }
+
+        if (finalObjs.isEmpty()) {
+            return;
+        }
+
+        for (ModifiableEventSubscription<T> observer : currentPipeline.getObservers()) {
+
+            boolean wasIdle = false;
+            for (int i = 0; i < finalObjs.size(); i++) {
+                wasIdle |= observer.getMailbox().post(finalObjs.get(i));
+            }
+
+            if (wasIdle) {
+                scheduleDrain(observer);
+            }
+        }
+    }
+
+    private ModifiableEventPipeline<T> getPipeline(EventSubscription[] subscribers) {
+
+        @Nullable ModifiableEventPipeline<T> currentPipeline = pipeline;
+
+        if (currentPipeline == null || !currentPipeline.isCompiledFrom(subscribers)) {
+            currentPipeline = ModifiableEventPipeline.compile(subscribers);
+            pipeline = currentPipeline;
+        }
 
-        SendStrategies.sendModifiableEventToSubscribers(eventRequest, subscribers, getExceptionHandler());
+        return currentPipeline;
     }
 }
@@ -1,34 +1,62 @@
 package com.terheyden.event;
 
-import java.util.UUID;
+import javax.annotation.Nullable;
 
 /**
  * A {@link ModifiableEventRouterImpl} subscription.
- * Has a UUID to identify it, and the handler to apply to incoming event objects.
+ * Has an ID to identify it, and the handler to apply to incoming event objects.
+ * Read-only subscriptions have an observer instead, which can't change the event.
  */
-final class ModifiableEventSubscription<T> implements EventSubscription {
+final class ModifiableEventSubscription<T> extends BaseEventSubscription {
 
-    private final UUID subscriptionId;
-    private final CheckedFunction<T, T> eventHandler;
+    @Nullable private final CheckedFunction<T, T> eventHandler;
 
-    ModifiableEventSubscription(
-        UUID subscriptionId,
-        CheckedFunction<T, T> eventHandler) {
+    @Nullable private final CheckedConsumer<T> observer;
+
+    /**
+     * The final events waiting for the observer, so it sees them one at a time, in order.
+     */
+    @Nullable private final SubscriberMailbox<T> mailbox;
+
+    private ModifiableEventSubscription(
+        @Nullable CheckedFunction<T, T> eventHandler,
+        @Nullable CheckedConsumer<T> observer) {
 
-        this.subscriptionId = subscriptionId;
         this.eventHandler = eventHandler;
+        this.observer = observer;
+        this.mailbox = observer == null ? null : new SubscriberMailbox<>();
     }
 
     ModifiableEventSubscription(CheckedFunction<T, T> eventHandler) {
-        this(UUID.randomUUID(), eventHandler);
+        this(eventHandler, null);
+    }
+
+    static <T> ModifiableEventSubscription<T> readOnly(CheckedConsumer<T> observer) {
+        return new ModifiableEventSubscription<>(null, observer);
     }
 
-    @Override
-    public UUID getSubscriptionId() {
-        return subscriptionId;
+    boolean isReadOnly() {
+        return observer != null;
     }
 
+    /**
+     * The handler of a modifying subscription. Only call this if {@link #isReadOnly()} is false.
+     */
     public CheckedFunction<T, T> getEventHandler() {
         return eventHandler;
     }
+
+    /**
+     * The observer of a read-only subscription. Only call this if {@link #isReadOnly()} is true.
+     */
+    CheckedConsumer<T> getObserver() {
+        return observer;
+    }
+
+    /**
+     * The mailbox of a read-only subscription. Only call this if {@link #isReadOnly()} is true.
+     */
+    SubscriberMailbox<T> getMailbox() {
+        return mailbox;
+    }
 }
@@ -0,0 +1,137 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Applies an {@link OverflowPolicy} when a bounded router thread pool's queue is full.
+ * <p>
+ * The policy only applies to publish tasks (one per published event or batch). Everything else
+ * in the pool — per-subscriber tasks from {@code maxAsync()}, mailbox drains, etc. — is follow-up
+ * work for events that were already accepted, so it's never dropped; it runs on the submitting thread instead.
+ */
+final class OverflowHandler implements RejectedExecutionHandler {
+
+    private static final Logger LOG = getLogger(OverflowHandler.class);
+
+    private final OverflowPolicy overflowPolicy;
+    private final DroppedEventHandler droppedEventHandler;
+    private final AtomicLong droppedEventCount = new AtomicLong();
+
+    OverflowHandler(OverflowPolicy overflowPolicy, DroppedEventHandler droppedEventHandler) {
+        this.overflowPolicy = overflowPolicy;
+        this.droppedEventHandler = droppedEventHandler;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor threadPool) {
+
+        if (!(task instanceof PublishTask)) {
+            task.run();
+            return;
+        }
+
+        PublishTask publishTask = (PublishTask) task;
+
+        if (threadPool.isShutdown()) {
+            dropped(publishTask);
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                block(publishTask, threadPool);
+                break;
+            case DROP_NEWEST:
+                dropped(publishTask);
+                break;
+            case DROP_OLDEST:
+                // If the queue is all follow-up work, there's no older event to drop, so drop this one.
+                if (dropOldest(threadPool)) {
+                    threadPool.execute(publishTask);
+                } else {
+                    dropped(publishTask);
+                }
+                break;
+            case CALLER_RUNS:
+                publishTask.run();
+                break;
+            case FAIL_FAST:
+                dropped(publishTask);
+                throw new RejectedExecutionException("Event queue is full; dropped event: " + publishTask);
+            default:
+                throw new IllegalStateException("Unknown overflow policy: " + overflowPolicy);
+        }
+    }
+
+    private void block(PublishTask publishTask, ThreadPoolExecutor threadPool) {
+        try {
+            threadPool.getQueue().put(publishTask);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped(publishTask);
+        }
+    }
+
+    /**
+     * Remove the oldest queued publish task, skipping over any follow-up work.
+     *
+     * @return true if a publish task was dropped
+     */
+    private boolean dropOldest(ThreadPoolExecutor threadPool) {
+
+        BlockingQueue<Runnable> queue = threadPool.getQueue();
+
+        for (Runnable queued : queue) {
+            if (queued instanceof PublishTask && queue.remove(queued)) {
+                dropped((PublishTask) queued);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void dropped(PublishTask publishTask) {
+
+        PublishRequest<?> publishRequest = publishTask.publishRequest();
+
+        if (publishRequest instanceof BatchPublishRequest) {
+            List<? extends EventRequest<?>> eventRequests = ((BatchPublishRequest<?>) publishRequest).eventRequests();
+            for (int i = 0; i < eventRequests.size(); i++) {
+                eventRequests.get(i).dropped();
+                dropped(eventRequests.get(i).getEventObj());
+            }
+        } else {
+            publishRequest.eventRequest().dropped();
+            dropped(publishRequest.eventRequest().getEventObj());
+        }
+    }
+
+    private void dropped(Object eventObj) {
+
+        droppedEventCount.incrementAndGet();
+
+        try {
+            droppedEventHandler.handleDroppedEvent(eventObj);
+        } catch (Exception e) {
+            LOG.error("Dropped event handler threw exception for event: {}", eventObj, e);
+        }
+    }
+
+    OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    long getDroppedEventCount() {
+        return droppedEventCount.get();
+    }
+}
@@ -0,0 +1,36 @@
+package com.terheyden.event;
+
+/**
+ * What to do with a newly published event when a router's bounded event queue is full.
+ *
+ * @see ThreadPools#newBoundedThreadPool(int, int, OverflowPolicy, DroppedEventHandler)
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Block the publishing thread until there's room in the queue.
+     * Nothing is lost, but a slow subscriber slows down every publisher.
+     */
+    BLOCK,
+
+    /**
+     * Drop the event being published.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Drop the oldest queued event to make room for the event being published.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Send the event on the publishing thread instead of queuing it.
+     * Nothing is lost, and publishers are naturally slowed to the speed of the subscribers.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Drop the event and throw a {@link java.util.concurrent.RejectedExecutionException} to the publisher.
+     */
+    FAIL_FAST
+}
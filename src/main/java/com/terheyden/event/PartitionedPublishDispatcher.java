@@ -0,0 +1,129 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Splits published events into a fixed number of lanes by key, so events with the same key
+ * are processed one at a time, in publish order, while different lanes run in parallel.
+ * <p>
+ * Each lane is a {@link SubscriberMailbox} of publish requests, drained by at most one thread pool task
+ * at a time: whoever publishes into an idle lane schedules its drainer.
+ * Lanes are picked by hashing the key, so there's no per-key state, no matter how many keys there are.
+ */
+final class PartitionedPublishDispatcher<T> implements PublishDispatcher {
+
+    private final Executor executor;
+    private final Function<? super T, ?> keyExtractor;
+    private final List<SubscriberMailbox<PublishRequest<?>>> lanes;
+
+    /**
+     * @param keyExtractor gets the key from an event; may return null, which is a valid key
+     * @param laneCount how many lanes can run in parallel
+     */
+    PartitionedPublishDispatcher(Executor executor, Function<? super T, ?> keyExtractor, int laneCount) {
+
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Partition count must be positive: " + laneCount);
+        }
+
+        this.executor = executor;
+        this.keyExtractor = keyExtractor;
+        this.lanes = new ArrayList<>(laneCount);
+
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new SubscriberMailbox<>());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void dispatch(PublishRequest<?> publishRequest) {
+
+        if (publishRequest instanceof BatchPublishRequest) {
+            dispatchBatch((BatchPublishRequest<T>) publishRequest);
+            return;
+        }
+
+        post(laneIndex(((PublishRequest<T>) publishRequest).eventRequest()), publishRequest);
+    }
+
+    /**
+     * A batch may hold events for many lanes, so split it into one batch per lane, keeping the order.
+     */
+    private void dispatchBatch(BatchPublishRequest<T> batchRequest) {
+
+        // Only the lanes that get events get a list.
+        List<List<EventRequest<T>>> eventsByLane = new ArrayList<>(Collections.nCopies(lanes.size(), null));
+
+        for (EventRequest<T> eventRequest : batchRequest.eventRequests()) {
+            int laneIndex = laneIndex(eventRequest);
+            if (eventsByLane.get(laneIndex) == null) {
+                eventsByLane.set(laneIndex, new ArrayList<>());
+            }
+            eventsByLane.get(laneIndex).add(eventRequest);
+        }
+
+        for (int i = 0; i < eventsByLane.size(); i++) {
+            if (eventsByLane.get(i) != null) {
+                post(i, new BatchPublishRequest<>(
+                    eventsByLane.get(i),
+                    batchRequest.eventPublisher(),
+                    batchRequest.subscribers()));
+            }
+        }
+    }
+
+    /**
+     * The lane for the given event. Throws whatever the key extractor throws, to the publisher.
+     */
+    int laneIndex(EventRequest<T> eventRequest) {
+
+        Object key = keyExtractor.apply(eventRequest.getEventObj());
+
+        if (key == null) {
+            return 0;
+        }
+
+        // Spread the high bits, like HashMap, since many keys only differ there.
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+    }
+
+    private void post(int laneIndex, PublishRequest<?> publishRequest) {
+        SubscriberMailbox<PublishRequest<?>> lane = lanes.get(laneIndex);
+        if (lane.post(publishRequest)) {
+            executor.execute(() -> drain(lane));
+        }
+    }
+
+    private void drain(SubscriberMailbox<PublishRequest<?>> lane) {
+
+        int processed = 0;
+
+        while (processed < ThreadPools.DRAIN_BATCH_SIZE) {
+
+            PublishRequest<?> publishRequest = lane.poll();
+            if (publishRequest == null) {
+                break;
+            }
+
+            ReceivedEventHandler.processPublishRequestLogged(publishRequest);
+            processed++;
+        }
+
+        if (lane.processed(processed)) {
+            executor.execute(() -> drain(lane));
+        }
+    }
+
+    /**
+     * For testing / reporting.
+     */
+    int getQueuedCount(int laneIndex) {
+        return lanes.get(laneIndex).size();
+    }
+}
@@ -0,0 +1,311 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * One stage of a {@link StagedEventRouterImpl}: a bounded queue of events, drained by
+ * up to {@code concurrency} workers on the stage's own executor, through the stage's own
+ * modifiable-event subscribers. Whatever survives the stage is handed to the next one.
+ * <p>
+ * Workers are only scheduled while there's work: whoever queues an event starts another worker
+ * if fewer than {@code concurrency} are running, and a worker that finds the queue empty stops,
+ * then checks once more so an event queued while it was stopping isn't stranded.
+ * <p>
+ * Handing an event to the next stage never blocks a worker. If the next stage's queue is full,
+ * {@link OverflowPolicy#BLOCK} and {@link OverflowPolicy#CALLER_RUNS} hold the event back in this stage,
+ * which stops taking new events until the next stage makes room. That slows this stage down to the speed
+ * of the next one, without running the next stage's work on this stage's threads or out of order.
+ * The other policies drop an event. Only publishers are ever blocked or thrown to.
+ * <p>
+ * Read-only subscribers run on the worker too, so they count against the stage's concurrency
+ * instead of piling up on its executor.
+ */
+final class PipelineStage<T> {
+
+    private static final Logger LOG = getLogger(PipelineStage.class);
+
+    private final String name;
+    private final Executor executor;
+    private final int concurrency;
+    private final BlockingQueue<T> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final DroppedEventHandler droppedEventHandler;
+    private final EventSubscriberManager subscriberManager = new EventSubscriberManager();
+    private final ModifiableEventSendStrategy<T> sendStrategy;
+
+    @Nullable private final PipelineStage<T> nextStage;
+    @Nullable private PipelineStage<T> previousStage;
+
+    /**
+     * Events that have been through this stage, waiting for room in the next stage's queue, in order.
+     * While there are any, this stage doesn't start new events.
+     */
+    private final Queue<T> waitingHandOffs = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger activeWorkerCount = new AtomicInteger();
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    PipelineStage(
+        String name,
+        Executor executor,
+        int concurrency,
+        int queueSize,
+        OverflowPolicy overflowPolicy,
+        SubscriberExceptionHandler exceptionHandler,
+        DroppedEventHandler droppedEventHandler,
+        @Nullable PipelineStage<T> nextStage) {
+
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Stage concurrency must be positive: " + concurrency);
+        }
+
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Stage queue size must be positive: " + queueSize);
+        }
+
+        this.name = name;
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.droppedEventHandler = droppedEventHandler;
+        // Observers run on the worker, inside the stage's concurrency limit.
+        this.sendStrategy = new ModifiableEventSendStrategy<>(exceptionHandler, Runnable::run);
+        this.nextStage = nextStage;
+
+        // Stages are built back to front, before any events flow.
+        if (nextStage != null) {
+            nextStage.previousStage = this;
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    EventSubscriberManager getSubscriberManager() {
+        return subscriberManager;
+    }
+
+    /**
+     * Queue an event published by a caller. Depending on the overflow policy,
+     * this may block or throw when the queue is full.
+     */
+    void publish(T eventObj) {
+
+        if (queue.offer(eventObj)) {
+            startWorker();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                block(eventObj);
+                break;
+            case CALLER_RUNS:
+                process(eventObj);
+                break;
+            case FAIL_FAST:
+                dropped(eventObj);
+                throw new RejectedExecutionException("Stage '" + name + "' queue is full; dropped event: " + eventObj);
+            default:
+                overflow(eventObj);
+                break;
+        }
+    }
+
+    /**
+     * Queue an event handed over by the previous stage. Never blocks or throws.
+     *
+     * @return false if the queue is full and the previous stage has to hold on to the event
+     */
+    private boolean offerHandOff(T eventObj) {
+
+        if (queue.offer(eventObj)) {
+            startWorker();
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+            case CALLER_RUNS:
+                return false;
+            default:
+                overflow(eventObj);
+                return true;
+        }
+    }
+
+    /**
+     * Hand an event that survived this stage to the next one, or hold it until there's room.
+     */
+    private void handOff(PipelineStage<T> next, T eventObj) {
+
+        // Behind events that are already waiting, so they stay in order.
+        if (waitingHandOffs.isEmpty() && next.offerHandOff(eventObj)) {
+            return;
+        }
+
+        waitingHandOffs.add(eventObj);
+
+        // The next stage may have made room before it could see this event waiting.
+        releaseHandOffs();
+    }
+
+    /**
+     * Move waiting events into the next stage's queue while it has room, and start working again
+     * once they're all through. Called by the next stage each time it takes an event.
+     */
+    private void releaseHandOffs() {
+
+        if (waitingHandOffs.isEmpty() || nextStage == null) {
+            return;
+        }
+
+        synchronized (waitingHandOffs) {
+
+            @Nullable T eventObj;
+            while ((eventObj = waitingHandOffs.peek()) != null && nextStage.queue.offer(eventObj)) {
+                waitingHandOffs.remove();
+            }
+        }
+
+        nextStage.startWorker();
+        startWorker();
+    }
+
+    private void block(T eventObj) {
+        try {
+            queue.put(eventObj);
+            startWorker();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped(eventObj);
+        }
+    }
+
+    /**
+     * Drop the newest or oldest event, according to the policy.
+     */
+    private void overflow(T eventObj) {
+
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+
+            @Nullable T oldestObj = queue.poll();
+            if (oldestObj != null) {
+                dropped(oldestObj);
+            }
+
+            if (queue.offer(eventObj)) {
+                startWorker();
+                return;
+            }
+        }
+
+        dropped(eventObj);
+    }
+
+    private void startWorker() {
+
+        while (true) {
+
+            int activeCount = activeWorkerCount.get();
+            if (activeCount >= concurrency || queue.isEmpty() || !waitingHandOffs.isEmpty()) {
+                return;
+            }
+
+            if (activeWorkerCount.compareAndSet(activeCount, activeCount + 1)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    activeWorkerCount.decrementAndGet();
+                    throw e;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Process a batch of queued events, then give the thread back to the executor.
+     * Also stop if the next stage is full, until it makes room.
+     */
+    private void drain() {
+
+        try {
+            for (int i = 0; i < ThreadPools.DRAIN_BATCH_SIZE && waitingHandOffs.isEmpty(); i++) {
+
+                @Nullable T eventObj = queue.poll();
+                if (eventObj == null) {
+                    break;
+                }
+
+                if (previousStage != null) {
+                    previousStage.releaseHandOffs();
+                }
+
+                process(eventObj);
+            }
+        } finally {
+            activeWorkerCount.decrementAndGet();
+        }
+
+        // Anything queued after our last poll (or left over from the batch) needs a worker.
+        startWorker();
+    }
+
+    private void process(T eventObj) {
+
+        try {
+            @Nullable T finalObj = sendStrategy.send(eventObj, subscriberManager.getSubscriberSnapshot());
+
+            if (finalObj != null && nextStage != null) {
+                handOff(nextStage, finalObj);
+            }
+        } catch (Throwable t) {
+            // Subscriber exceptions are handled by the send strategy, so this is unexpected.
+            LOG.error("Unexpected exception in stage '{}': {}", name, eventObj, t);
+        } finally {
+            processedCount.increment();
+        }
+    }
+
+    private void dropped(T eventObj) {
+
+        droppedCount.increment();
+
+        try {
+            droppedEventHandler.handleDroppedEvent(eventObj);
+        } catch (Exception e) {
+            LOG.error("Dropped event handler threw exception for event: {}", eventObj, e);
+        }
+    }
+
+    long getDroppedEventCount() {
+        return droppedCount.sum();
+    }
+
+    StageStats getStats() {
+        return new StageStats(
+            name,
+            queue.size(),
+            queue.size() + queue.remainingCapacity(),
+            activeWorkerCount.get(),
+            concurrency,
+            processedCount.sum(),
+            droppedCount.sum());
+    }
+}
@@ -0,0 +1,44 @@
+package com.terheyden.event;
+
+/**
+ * How urgent a published event is.
+ * Only routers built with {@code priorityDispatch()} act on it; other routers treat every event the same.
+ * <p>
+ * Priorities are scheduled by weighted round-robin, so under load, each priority gets a share of
+ * the router's threads in proportion to its weight: {@code HIGH} events are picked 16 times for every
+ * 4 {@code NORMAL} events and 1 {@code LOW} event. Whenever a priority has nothing waiting,
+ * its turn goes to the most urgent priority that does, so lower priorities are never starved
+ * and urgent events never queue up behind bulk traffic.
+ *
+ * @see EventRouter#publish(Object, Priority)
+ */
+public enum Priority {
+
+    /**
+     * Urgent control events, like shutdown or failover.
+     */
+    HIGH(16),
+
+    /**
+     * The default priority.
+     */
+    NORMAL(4),
+
+    /**
+     * Bulk traffic, like telemetry, that can wait.
+     */
+    LOW(1);
+
+    private final int weight;
+
+    Priority(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * How many turns this priority gets per round of the weighted round-robin.
+     */
+    int weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,127 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a separate queue (lane) per {@link Priority}, so urgent events don't wait behind bulk traffic
+ * in the thread pool's single FIFO queue.
+ * <p>
+ * Each publish adds the request to its lane and submits one generic "run the next request" task
+ * to the thread pool. Which request that task runs is only decided when it starts, by weighted
+ * round-robin across the lanes — so a {@code HIGH} event published behind a thousand queued
+ * {@code LOW} events is run by the very next free thread.
+ * <p>
+ * Since the tasks don't carry a particular request, a bounded thread pool's {@link OverflowPolicy}
+ * can't apply to them, so the builders don't allow a bounded queue with this dispatcher.
+ */
+final class PriorityLanePublishDispatcher implements PublishDispatcher {
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    /**
+     * One round of the weighted round-robin: each priority appears {@link Priority#weight()} times,
+     * interleaved so that no priority gets all its turns in a row.
+     */
+    private static final Priority[] SCHEDULE = createSchedule();
+
+    private final Executor executor;
+
+    /**
+     * One lane per priority, indexed by {@link Priority#ordinal()}.
+     */
+    private final List<ConcurrentLinkedQueue<PublishRequest<?>>> lanes;
+
+    /**
+     * Which turn of the schedule the next task takes.
+     */
+    private final AtomicLong turnCounter = new AtomicLong();
+
+    PriorityLanePublishDispatcher(Executor executor) {
+
+        this.executor = executor;
+        this.lanes = new ArrayList<>(PRIORITIES.length);
+
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            lanes.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    private static Priority[] createSchedule() {
+
+        int roundLength = 0;
+        for (Priority priority : PRIORITIES) {
+            roundLength += priority.weight();
+        }
+
+        // Spread each priority's turns evenly across the round (smooth weighted round-robin).
+        Priority[] schedule = new Priority[roundLength];
+        int[] credits = new int[PRIORITIES.length];
+
+        for (int turn = 0; turn < roundLength; turn++) {
+
+            int best = 0;
+            for (int i = 0; i < PRIORITIES.length; i++) {
+                credits[i] += PRIORITIES[i].weight();
+                if (credits[i] > credits[best]) {
+                    best = i;
+                }
+            }
+
+            credits[best] -= roundLength;
+            schedule[turn] = PRIORITIES[best];
+        }
+
+        return schedule;
+    }
+
+    @Override
+    public void dispatch(PublishRequest<?> publishRequest) {
+        lanes.get(publishRequest.priority().ordinal()).offer(publishRequest);
+        executor.execute(this::runNext);
+    }
+
+    /**
+     * Run one request. There's exactly one task per queued request, so there's always one to run.
+     */
+    private void runNext() {
+
+        PublishRequest<?> publishRequest = pollNext();
+
+        if (publishRequest != null) {
+            ReceivedEventHandler.processPublishRequest(publishRequest);
+        }
+    }
+
+    @Nullable
+    private PublishRequest<?> pollNext() {
+
+        Priority turn = SCHEDULE[(int) (turnCounter.getAndIncrement() % SCHEDULE.length)];
+        PublishRequest<?> publishRequest = lanes.get(turn.ordinal()).poll();
+
+        if (publishRequest != null) {
+            return publishRequest;
+        }
+
+        // That lane is empty, so give the turn to the most urgent lane with something in it.
+        for (ConcurrentLinkedQueue<PublishRequest<?>> lane : lanes) {
+            publishRequest = lane.poll();
+            if (publishRequest != null) {
+                return publishRequest;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * How many requests are waiting in the given priority's lane.
+     */
+    int getQueuedCount(Priority priority) {
+        return lanes.get(priority.ordinal()).size();
+    }
+}
@@ -0,0 +1,18 @@
+package com.terheyden.event;
+
+/**
+ * Strategies for getting publish requests from the publishing thread to the send strategy.
+ * E.g. through a thread pool, directly on the calling thread, through a ring buffer, etc.
+ * Implementations should call {@link ReceivedEventHandler#processPublishRequest(PublishRequest)}
+ * on whichever thread they choose.
+ *
+ * @see SendEventStrategy
+ */
+interface PublishDispatcher {
+
+    /**
+     * Deliver the given publish request to its send strategy, eventually.
+     * This is called on the publishing thread, so it should be fast.
+     */
+    void dispatch(PublishRequest<?> publishRequest);
+}
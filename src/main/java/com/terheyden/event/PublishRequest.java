@@ -1,7 +1,5 @@
 package com.terheyden.event;
 
-import java.util.Collection;
-
 /**
  * Combines an event obj with an event key, for queuing and delivery.
  */
@@ -9,18 +7,32 @@ class PublishRequest<T> {
 
     private final EventRequest<T> eventRequest;
     private final SendEventStrategy<T> sendEventStrategy;
-    private final Collection<EventSubscription> subscribers;
+    private final EventSubscription[] subscribers;
+    private final Priority priority;
 
     PublishRequest(
         EventRequest<T> eventRequest,
         SendEventStrategy<T> sendEventStrategy,
-        Collection<EventSubscription> subscribers) {
+        EventSubscription[] subscribers,
+        Priority priority) {
 
         this.eventRequest = eventRequest;
         this.sendEventStrategy = sendEventStrategy;
         this.subscribers = subscribers;
+        this.priority = priority;
     }
 
+    PublishRequest(
+        EventRequest<T> eventRequest,
+        SendEventStrategy<T> sendEventStrategy,
+        EventSubscription[] subscribers) {
+
+        this(eventRequest, sendEventStrategy, subscribers, Priority.NORMAL);
+    }
+
+    /**
+     * The event to publish. For a {@link BatchPublishRequest}, this is the first event in the batch.
+     */
     EventRequest<T> eventRequest() {
         return eventRequest;
     }
@@ -29,15 +41,32 @@ class PublishRequest<T> {
         return sendEventStrategy;
     }
 
-    Collection<EventSubscription> subscribers() {
+    /**
+     * The subscriber snapshot taken when the event was published. Shared — never modify it.
+     */
+    EventSubscription[] subscribers() {
         return subscribers;
     }
 
+    /**
+     * Only used by {@link PriorityLanePublishDispatcher}.
+     */
+    Priority priority() {
+        return priority;
+    }
+
+    /**
+     * Hand this request's event(s) to the send strategy.
+     */
+    void sendToSubscribers() {
+        sendEventStrategy.sendEventToSubscribers(eventRequest, subscribers);
+    }
+
     @Override
     public String toString() {
         return String.format("PublishRequest [%s]; %d subs => %s",
             eventRequest(),
-            subscribers().size(),
+            subscribers().length,
             eventPublisher().getClass().getSimpleName());
     }
 }
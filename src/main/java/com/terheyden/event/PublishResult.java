@@ -0,0 +1,62 @@
+package com.terheyden.event;
+
+/**
+ * How a publish from {@link EventRouter#publishAsync(Object)} went,
+ * once every subscriber in its snapshot was done with the event.
+ */
+public final class PublishResult {
+
+    private final int subscriberCount;
+    private final int successCount;
+    private final int failureCount;
+    private final int skippedCount;
+
+    PublishResult(int subscriberCount, int successCount, int failureCount, int skippedCount) {
+        this.subscriberCount = subscriberCount;
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.skippedCount = skippedCount;
+    }
+
+    /**
+     * The number of subscribers the event was published to.
+     */
+    public int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    /**
+     * Subscribers that handled the event without throwing.
+     */
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    /**
+     * Subscribers (or subscriber filters) that threw while handling the event.
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Subscribers that didn't receive the event, because their filter didn't match
+     * or they unsubscribed before it reached them.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * True if no subscriber threw.
+     */
+    public boolean isSuccess() {
+        return failureCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PublishResult [%d subscribers: %d succeeded, %d failed, %d skipped]",
+            subscriberCount, successCount, failureCount, skippedCount);
+    }
+}
@@ -0,0 +1,29 @@
+package com.terheyden.event;
+
+/**
+ * A thread pool task that delivers a single publish request.
+ * A named class rather than a lambda, so a full thread pool can tell
+ * which queued tasks are new events (which may be dropped) and which are follow-up work.
+ */
+final class PublishTask implements Runnable {
+
+    private final PublishRequest<?> publishRequest;
+
+    PublishTask(PublishRequest<?> publishRequest) {
+        this.publishRequest = publishRequest;
+    }
+
+    PublishRequest<?> publishRequest() {
+        return publishRequest;
+    }
+
+    @Override
+    public void run() {
+        ReceivedEventHandler.processPublishRequest(publishRequest);
+    }
+
+    @Override
+    public String toString() {
+        return publishRequest.toString();
+    }
+}
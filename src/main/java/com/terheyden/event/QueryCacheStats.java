@@ -0,0 +1,61 @@
+package com.terheyden.event;
+
+/**
+ * A snapshot of a {@link CachingEventQuery}'s cache counters, for tuning its size and TTL.
+ */
+public final class QueryCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    QueryCacheStats(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Queries answered from the cache.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Queries that had to be sent to subscribers, including ones whose cached result had expired.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Results removed to make room for newer ones. A high count means the cache may be too small.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * The number of cached results, including expired ones that haven't been looked up since.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Hits as a fraction of all lookups, or 0 if there haven't been any.
+     */
+    public double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryCacheStats [%d hits, %d misses, %d evictions, %d entries]",
+            hitCount, missCount, evictionCount, size);
+    }
+}
@@ -15,4 +15,49 @@ class QueryEventRequest<I, O> extends EventRequest<I> {
     CheckedConsumer<O> getCallback() {
         return callback;
     }
+
+    /**
+     * Called just before a responder runs.
+     *
+     * @return false if the query no longer needs this responder, in which case it's skipped
+     */
+    boolean start(EventSubscription responder) {
+        return true;
+    }
+
+    /**
+     * Called after a responder has run (whether it responded or threw).
+     */
+    void end(EventSubscription responder) {
+        // Plain queries don't track running responders.
+    }
+
+    /**
+     * True if the query no longer wants responses, so late failures needn't be reported.
+     */
+    boolean isDone() {
+        return false;
+    }
+
+    /**
+     * Called with each responder's response.
+     */
+    void respond(EventSubscription responder, O response) {
+        callback.accept(response);
+    }
+
+    /**
+     * Called when a responder throws instead of responding, after the exception handler.
+     */
+    void fail(EventSubscription responder, Throwable thrown) {
+        // Plain queries only report failures to the router's exception handler.
+    }
+
+    /**
+     * Called for each responder that won't respond at all, like one that unsubscribed
+     * after the query was published.
+     */
+    void skip(EventSubscription responder) {
+        // Plain queries don't track who has responded.
+    }
 }
@@ -0,0 +1,158 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One dispatch of a query whose responses are shared by every caller that asked the same question
+ * while it was in flight (single-flight coalescing). Callers can join until the last responder is done:
+ * callbacks that join late are caught up with the responses so far, then get the rest as they arrive,
+ * so each caller sees the same responses it would have seen on its own.
+ * Callbacks are called outside the flight's lock, so, as with an uncoalesced query, they can be called
+ * from more than one thread at once.
+ * <p>
+ * Also used uncoalesced, by the query cache, for its failure tracking.
+ */
+final class QueryFlight<I, O> extends AggregatingQueryRequest<I, O> {
+
+    private final SubscriberExceptionHandler exceptionHandler;
+
+    private final List<O> responses = new ArrayList<>();
+    private final List<CheckedConsumer<O>> callbacks = new ArrayList<>(1);
+    private final List<EventRouterPublishException> failures = new ArrayList<>(0);
+    private boolean isDone;
+
+    private final CompletableFuture<List<O>> future = new CompletableFuture<>();
+    private final CompletableFuture<O> firstFuture = new CompletableFuture<>();
+
+    QueryFlight(I eventObj, int responderCount, SubscriberExceptionHandler exceptionHandler) {
+        super(eventObj, responderCount);
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Join this flight, if it's still running.
+     *
+     * @param callback called with every response, including the ones that have already arrived
+     * @return false if the flight is over, and the caller needs a new one
+     */
+    boolean join(@Nullable CheckedConsumer<O> callback) {
+
+        List<O> responsesSoFar;
+
+        synchronized (this) {
+            if (isDone) {
+                return false;
+            }
+
+            if (callback == null) {
+                return true;
+            }
+
+            // Copied with the callback added, so each response reaches it exactly once.
+            responsesSoFar = new ArrayList<>(responses);
+            callbacks.add(callback);
+        }
+
+        responsesSoFar.forEach(response -> callBack(callback, response));
+        return true;
+    }
+
+    /**
+     * Every response, once every responder is done. Shared by all callers — the list can't be changed.
+     */
+    CompletableFuture<List<O>> getFuture() {
+        return future;
+    }
+
+    /**
+     * The first response to arrive.
+     *
+     * @see EventQuery#queryFirst(Object)
+     */
+    CompletableFuture<O> getFirstFuture() {
+        return firstFuture;
+    }
+
+    /**
+     * True if any responder threw, so the result is incomplete.
+     * Accurate once the future is complete.
+     */
+    synchronized boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    void onResponse(O response) {
+
+        List<CheckedConsumer<O>> callbacksToCall;
+
+        synchronized (this) {
+            responses.add(response);
+            callbacksToCall = callbacks.isEmpty() ? Collections.emptyList() : new ArrayList<>(callbacks);
+        }
+
+        callbacksToCall.forEach(callback -> callBack(callback, response));
+        firstFuture.complete(response);
+    }
+
+    private void callBack(CheckedConsumer<O> callback, O response) {
+        try {
+            callback.accept(response);
+        } catch (Exception e) {
+            exceptionHandler.handleException(e, getEventObj());
+        }
+    }
+
+    @Override
+    synchronized void onFailure(EventRouterPublishException failure) {
+        // Already reported to the exception handler.
+        failures.add(failure);
+    }
+
+    /**
+     * No responder ran, and none will. Fail both futures so the flight leaves the in-flight map,
+     * and later equal queries start a new one instead of joining this one.
+     */
+    @Override
+    void dropped() {
+
+        synchronized (this) {
+            isDone = true;
+        }
+
+        RejectedExecutionException rejected =
+            new RejectedExecutionException("Event queue is full; dropped query: " + getEventObj());
+
+        firstFuture.completeExceptionally(rejected);
+        future.completeExceptionally(rejected);
+    }
+
+    @Override
+    void onAllDone() {
+
+        List<O> result;
+        NoSuchElementException noResponse = null;
+
+        synchronized (this) {
+            isDone = true;
+            result = Collections.unmodifiableList(new ArrayList<>(responses));
+
+            if (responses.isEmpty()) {
+                noResponse = new NoSuchElementException("No responses to query: " + getEventObj());
+                failures.forEach(noResponse::addSuppressed);
+            }
+        }
+
+        if (noResponse != null) {
+            firstFuture.completeExceptionally(noResponse);
+        }
+
+        future.complete(result);
+    }
+}
@@ -0,0 +1,51 @@
+package com.terheyden.event;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Remembers a router's most recent query response latencies, for percentile-based hedging.
+ * Recording is a couple of atomic writes; percentiles are only computed when a hedged query asks.
+ */
+final class QueryLatencyTracker {
+
+    /**
+     * How many recent latencies to keep.
+     */
+    static final int SAMPLE_COUNT = 1024;
+
+    /**
+     * Percentiles from fewer samples than this are too noisy to act on.
+     */
+    static final int MIN_SAMPLE_COUNT = 32;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_COUNT);
+    private final AtomicLong recordedCount = new AtomicLong();
+
+    void record(long latencyNanos) {
+        long index = recordedCount.getAndIncrement();
+        samples.set((int) (index % SAMPLE_COUNT), latencyNanos);
+    }
+
+    /**
+     * The given percentile of the recent latencies, or -1 if there aren't enough samples yet.
+     */
+    long percentileNanos(double percentile) {
+
+        int sampleCount = (int) Math.min(recordedCount.get(), SAMPLE_COUNT);
+
+        if (sampleCount < MIN_SAMPLE_COUNT) {
+            return -1;
+        }
+
+        long[] sorted = new long[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            sorted[i] = samples.get(i);
+        }
+
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sampleCount) - 1;
+        return sorted[Math.max(0, Math.min(index, sampleCount - 1))];
+    }
+}
@@ -0,0 +1,130 @@
+package com.terheyden.event;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options for {@link EventQuery#query(Object, QueryOptions)}: a deadline, how many responses are enough,
+ * and when to hedge against slow responders. By default, a query waits for every responder.
+ * <p>
+ * Example — wait at most 50ms for the first 2 responses, and hedge after the usual p95 latency:
+ * <pre>
+ * {@code
+ * QueryOptions options = QueryOptions.create()
+ *     .timeout(50, TimeUnit.MILLISECONDS)
+ *     .firstResponses(2)
+ *     .hedgeAtPercentile(95);
+ *
+ * CompletableFuture<List<Price>> prices = priceQuery.query(request, options);
+ * }
+ * </pre>
+ * Options are read when a query is published, so one instance can be shared by many queries.
+ */
+public final class QueryOptions {
+
+    private long timeoutNanos;
+    private int firstResponseCount;
+    private long hedgeDelayNanos;
+    private double hedgePercentile;
+    private boolean isInterruptingStragglers;
+
+    private QueryOptions() {
+        // Use create().
+    }
+
+    public static QueryOptions create() {
+        return new QueryOptions();
+    }
+
+    /**
+     * Complete the query after this long, with whatever responses have arrived by then.
+     * The default is to wait as long as it takes.
+     */
+    public QueryOptions timeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        this.timeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Complete the query as soon as this many responses have arrived.
+     * The default is to wait for every responder.
+     */
+    public QueryOptions firstResponses(int responseCount) {
+        if (responseCount < 1) {
+            throw new IllegalArgumentException("Response count must be positive: " + responseCount);
+        }
+        this.firstResponseCount = responseCount;
+        return this;
+    }
+
+    /**
+     * If the query isn't done after this long, send it again to every responder that hasn't
+     * answered yet, on the router's thread pool, and take whichever copy answers first.
+     * Responders must be safe to call twice for the same query.
+     */
+    public QueryOptions hedgeAfter(long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Hedge delay must be positive: " + delay);
+        }
+        this.hedgeDelayNanos = unit.toNanos(delay);
+        this.hedgePercentile = 0;
+        return this;
+    }
+
+    /**
+     * Like {@link #hedgeAfter(long, TimeUnit)}, but the delay is this percentile (e.g. 95)
+     * of the router's recent response latencies, so only the slowest responders are hedged.
+     * Queries aren't hedged until the router has seen enough responses to know its latency.
+     */
+    public QueryOptions hedgeAtPercentile(double percentile) {
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        this.hedgePercentile = percentile;
+        this.hedgeDelayNanos = 0;
+        return this;
+    }
+
+    /**
+     * Once the query is done, interrupt responders that are still running.
+     * Responders that haven't started yet are always skipped.
+     */
+    public QueryOptions interruptStragglers() {
+        this.isInterruptingStragglers = true;
+        return this;
+    }
+
+    /**
+     * 0 means no timeout.
+     */
+    long timeoutNanos() {
+        return timeoutNanos;
+    }
+
+    /**
+     * 0 means every responder.
+     */
+    int firstResponseCount() {
+        return firstResponseCount;
+    }
+
+    /**
+     * 0 means no fixed hedge delay.
+     */
+    long hedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    /**
+     * 0 means no percentile-based hedging.
+     */
+    double hedgePercentile() {
+        return hedgePercentile;
+    }
+
+    boolean isInterruptingStragglers() {
+        return isInterruptingStragglers;
+    }
+}
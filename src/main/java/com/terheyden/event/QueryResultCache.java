@@ -0,0 +1,180 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded, least-recently-used cache with a time-to-live, for query results.
+ * <p>
+ * Lookups are short and run under a single lock, which is plenty for thousands of queries per second.
+ * Every invalidation bumps a generation number, and remembers it for the invalidated key
+ * (or for every key, on {@link #invalidateAll()}). A result computed before its key was invalidated
+ * isn't cached, so a lookup that was in flight during an invalidation can't put stale data back,
+ * while lookups of other keys are still cached.
+ */
+final class QueryResultCache<K, V> {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    /**
+     * In access order, so the eldest entry is the least recently used. Guarded by itself.
+     */
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+
+    /**
+     * Bumped on every invalidation. Guarded by {@link #entries}.
+     */
+    private long generation;
+
+    /**
+     * Results computed before this generation aren't cached, whatever their key.
+     * Set by {@link #invalidateAll()}. Guarded by {@link #entries}.
+     */
+    private long clearedGeneration;
+
+    /**
+     * The generation each key was last invalidated at, oldest first. Guarded by {@link #entries}.
+     * Bounded like {@link #entries}; a dropped key's generation moves up {@link #clearedGeneration} instead,
+     * which only keeps a few more in-flight results out of the cache.
+     */
+    private final LinkedHashMap<K, Long> invalidatedKeys;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    QueryResultCache(long ttlNanos, int maxEntries) {
+
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("Cache TTL must be positive: " + ttlNanos);
+        }
+
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxEntries);
+        }
+
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                boolean isFull = size() > QueryResultCache.this.maxEntries;
+                if (isFull) {
+                    evictionCount.increment();
+                }
+                return isFull;
+            }
+        };
+        this.invalidatedKeys = new LinkedHashMap<K, Long>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                boolean isFull = size() > QueryResultCache.this.maxEntries;
+                if (isFull) {
+                    clearedGeneration = Math.max(clearedGeneration, eldest.getValue());
+                }
+                return isFull;
+            }
+        };
+    }
+
+    /**
+     * The cached value, or null on a miss (including expired entries).
+     */
+    @Nullable
+    V get(K key) {
+
+        synchronized (entries) {
+
+            CachedValue<V> entry = entries.get(key);
+
+            if (entry != null && entry.expiresAtNanos - System.nanoTime() > 0) {
+                hitCount.increment();
+                return entry.value;
+            }
+
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+
+        missCount.increment();
+        return null;
+    }
+
+    /**
+     * The current generation, to pass to {@link #put(Object, Object, long)} once the value is computed.
+     */
+    long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Cache the value, unless the key has been invalidated since the given generation.
+     */
+    void put(K key, V value, long computedGeneration) {
+        synchronized (entries) {
+
+            if (computedGeneration < clearedGeneration) {
+                return;
+            }
+
+            Long invalidatedGeneration = invalidatedKeys.get(key);
+            if (invalidatedGeneration != null && computedGeneration < invalidatedGeneration) {
+                return;
+            }
+
+            entries.put(key, new CachedValue<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    void invalidate(K key) {
+        synchronized (entries) {
+            generation++;
+            // Removed first, so the key moves to the newest end of the map.
+            invalidatedKeys.remove(key);
+            invalidatedKeys.put(key, generation);
+            entries.remove(key);
+        }
+    }
+
+    void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            clearedGeneration = generation;
+            invalidatedKeys.clear();
+            entries.clear();
+        }
+    }
+
+    QueryCacheStats getStats() {
+
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        return new QueryCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private static final class CachedValue<V> {
+
+        private final V value;
+        private final long expiresAtNanos;
+
+        CachedValue(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
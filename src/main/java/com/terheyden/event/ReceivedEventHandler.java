@@ -1,7 +1,6 @@
 package com.terheyden.event;
 
-import java.util.Collection;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 
@@ -9,41 +8,56 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Handles incoming "sendEventToSubscribers my event" requests.
- * Publishing is always done asynchronously using a thread pool,
+ * Publishing is done asynchronously using a thread pool by default,
  * so thread death is automatically taken care of.
+ * How requests get from the publishing thread to the send strategy is up to the {@link PublishDispatcher}.
  */
 class ReceivedEventHandler<T> {
 
     private static final Logger LOG = getLogger(ReceivedEventHandler.class);
 
-    private final ThreadPoolExecutor eventRequestExecutor;
+    private final PublishDispatcher publishDispatcher;
 
-    ReceivedEventHandler(ThreadPoolExecutor eventRequestExecutor) {
-        this.eventRequestExecutor = eventRequestExecutor;
+    ReceivedEventHandler(PublishDispatcher publishDispatcher) {
+        this.publishDispatcher = publishDispatcher;
+    }
+
+    ReceivedEventHandler(Executor eventRequestExecutor) {
+        this(new ThreadPoolPublishDispatcher(eventRequestExecutor));
     }
 
     /**
      * Our main entry point — the user calls EventRouter.sendEventToSubscribers() and EventRouter calls this.
      */
     void publish(PublishRequest<T> publishRequest) {
-        eventRequestExecutor.execute(() -> processPublishRequest(publishRequest));
+        publishDispatcher.dispatch(publishRequest);
     }
 
     /**
      * Deliver the given sendEventToSubscribers request to subscribers.
+     * Called by the {@link PublishDispatcher}, on whichever thread it chooses.
      */
-    private static <T> void processPublishRequest(PublishRequest<T> publishRequest) {
+    static void processPublishRequest(PublishRequest<?> publishRequest) {
 
-        Collection<EventSubscription> subscribers = publishRequest.subscribers();
-
-        if (subscribers.isEmpty()) {
+        if (publishRequest.subscribers().length == 0) {
             LOG.trace("No subscribers for event: {}", publishRequest);
             return;
         }
 
-        EventRequest<T> eventRequest = publishRequest.eventRequest();
-        SendEventStrategy<T> sendStrategy = publishRequest.eventPublisher();
         LOG.trace("Dispatching event: {}", publishRequest);
-        sendStrategy.sendEventToSubscribers(eventRequest, subscribers);
+        publishRequest.sendToSubscribers();
+    }
+
+    /**
+     * Like {@link #processPublishRequest(PublishRequest)}, for dispatchers that drain requests in their own loops.
+     * Subscriber exceptions are handled by the send strategy, so anything that gets here is unexpected —
+     * it's logged, so it can't kill the worker or stall the requests queued behind it.
+     */
+    static void processPublishRequestLogged(PublishRequest<?> publishRequest) {
+        try {
+            processPublishRequest(publishRequest);
+        } catch (Throwable t) {
+            LOG.error("Unexpected exception while dispatching: {}", publishRequest, t);
+        }
     }
 }
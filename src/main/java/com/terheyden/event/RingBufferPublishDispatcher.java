@@ -0,0 +1,401 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A Disruptor-style dispatcher: publish requests go into a preallocated, power-of-two ring buffer
+ * and are drained by up to {@code workerCount} dedicated worker threads.
+ * <p>
+ * Producers and consumers claim positions with a CAS on a sequence counter, and each slot carries
+ * its own sequence number that says whether it's ready to write or ready to read
+ * (see Dmitry Vyukov's bounded MPMC queue). There are no locks, and the slots are reused,
+ * so a publish doesn't allocate a queue node or a task object (the router still allocates
+ * the publish request itself). This removes the queue lock that publishers contend on,
+ * so it can help with many concurrent publishers on a multi-core machine;
+ * with one or two publishers, the default thread pool is usually as fast. Measure before switching.
+ * <p>
+ * Workers are started on demand, park when there's nothing to do, and exit after
+ * {@link ThreadPools#KEEP_ALIVE_SECS} idle seconds, like the router thread pools' threads —
+ * so an idle or abandoned router doesn't hold on to threads or burn CPU.
+ * <p>
+ * The buffer is bounded: when it's full, publishers wait for space.
+ */
+final class RingBufferPublishDispatcher implements PublishDispatcher {
+
+    /**
+     * How many times an idle worker polls before it parks.
+     */
+    private static final int SPIN_TRIES = 64;
+
+    /**
+     * How many times a publisher waiting for space polls before it starts yielding.
+     */
+    private static final int PUBLISH_SPIN_TRIES = 100;
+
+    /**
+     * How many times a publisher waiting for space yields before it starts parking.
+     */
+    private static final int PUBLISH_YIELD_TRIES = 100;
+
+    /**
+     * Parked workers are woken by publishers, but also wake on their own now and then, just in case.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final AtomicInteger RING_COUNTER = new AtomicInteger();
+
+    private final Slot[] slots;
+    private final int mask;
+
+    /**
+     * The next position to publish to.
+     */
+    private final AtomicLong enqueuePosition = new AtomicLong();
+
+    /**
+     * The next position to consume from.
+     */
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    private final int ringNumber;
+    private final long keepAliveNanos;
+
+    /**
+     * The running workers, by worker index; null where no worker is running.
+     */
+    private final AtomicReferenceArray<Thread> workers;
+
+    /**
+     * How many workers are running (or reserved by a publisher that's starting one).
+     */
+    private final AtomicInteger liveWorkerCount = new AtomicInteger();
+
+    /**
+     * How many workers are parked (or about to park), so publishers know if they need to wake one.
+     */
+    private final AtomicInteger parkedWorkerCount = new AtomicInteger();
+
+    /**
+     * 1 if the worker at that index is parked (or about to park), so publishers know which one to wake.
+     */
+    private final AtomicIntegerArray parkedWorkers;
+
+    /**
+     * @param bufferSize the number of slots in the ring; rounded up to the next power of two (minimum 2)
+     * @param workerCount the most threads draining the ring
+     */
+    RingBufferPublishDispatcher(int bufferSize, int workerCount) {
+        this(bufferSize, workerCount, TimeUnit.SECONDS.toNanos(ThreadPools.KEEP_ALIVE_SECS));
+    }
+
+    /**
+     * @param keepAliveNanos how long a worker waits for work before it exits
+     */
+    RingBufferPublishDispatcher(int bufferSize, int workerCount, long keepAliveNanos) {
+
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Ring buffer size must be positive: " + bufferSize);
+        }
+
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Ring buffer worker count must be positive: " + workerCount);
+        }
+
+        // A one-slot ring can't tell "published" from "free for the next lap", so two is the minimum.
+        int capacity = ceilingPowerOfTwo(Math.max(2, bufferSize));
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+
+        this.ringNumber = RING_COUNTER.incrementAndGet();
+        this.keepAliveNanos = keepAliveNanos;
+        this.workers = new AtomicReferenceArray<>(workerCount);
+        this.parkedWorkers = new AtomicIntegerArray(workerCount);
+    }
+
+    static int ceilingPowerOfTwo(int value) {
+        int highBit = Integer.highestOneBit(value);
+        return highBit == value ? value : highBit << 1;
+    }
+
+    /**
+     * The actual number of slots in the ring.
+     */
+    int capacity() {
+        return slots.length;
+    }
+
+    @Override
+    public void dispatch(PublishRequest<?> publishRequest) {
+
+        int idleCount = 0;
+
+        while (!tryPublish(publishRequest)) {
+
+            // The ring is full. If we're one of our own workers (a subscriber is publishing
+            // back into the same router), waiting would deadlock, so just do the work ourselves.
+            if (isWorkerThread()) {
+                ReceivedEventHandler.processPublishRequest(publishRequest);
+                return;
+            }
+
+            idleCount = backOff(idleCount);
+        }
+
+        signalWorker();
+    }
+
+    /**
+     * Make sure someone will pick up what we just published: wake a parked worker,
+     * or if they're all busy (or there aren't any), start another one.
+     */
+    private void signalWorker() {
+
+        if (parkedWorkerCount.get() > 0 && wakeWorker()) {
+            return;
+        }
+
+        while (true) {
+
+            int liveCount = liveWorkerCount.get();
+            if (liveCount >= workers.length()) {
+                return;
+            }
+
+            if (liveWorkerCount.compareAndSet(liveCount, liveCount + 1)) {
+                startWorker();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start a worker in a free worker index. The caller has already reserved it in {@link #liveWorkerCount}.
+     */
+    private void startWorker() {
+
+        // Indexes are released before the count, so there is a free index for every reservation;
+        // we only loop if another publisher takes the one we picked.
+        while (true) {
+            for (int i = 0; i < workers.length(); i++) {
+
+                if (workers.get(i) != null) {
+                    continue;
+                }
+
+                int workerIndex = i;
+                Thread worker = new Thread(() -> runWorker(workerIndex), "event-ring-" + ringNumber + "-" + i);
+
+                if (workers.compareAndSet(i, null, worker)) {
+                    worker.setDaemon(true);
+                    worker.start();
+                    return;
+                }
+            }
+
+            Thread.yield();
+        }
+    }
+
+    private boolean tryPublish(PublishRequest<?> publishRequest) {
+
+        while (true) {
+
+            long position = enqueuePosition.get();
+            Slot slot = slots[(int) position & mask];
+            long diff = slot.sequence - position;
+
+            if (diff == 0) {
+                // The slot is free; try to claim it.
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    slot.publishRequest = publishRequest;
+                    slot.sequence = position + 1;
+                    return true;
+                }
+            } else if (diff < 0) {
+                // The slot hasn't been consumed yet, so the ring is full.
+                return false;
+            }
+
+            // Otherwise another producer claimed this position first; try the next one.
+        }
+    }
+
+    @Nullable
+    private PublishRequest<?> tryConsume() {
+
+        while (true) {
+
+            long position = dequeuePosition.get();
+            Slot slot = slots[(int) position & mask];
+            long diff = slot.sequence - (position + 1);
+
+            if (diff == 0) {
+                // The slot has been published; try to claim it.
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    PublishRequest<?> publishRequest = slot.publishRequest;
+                    slot.publishRequest = null;
+                    // Free the slot for the producer one lap ahead of us.
+                    slot.sequence = position + mask + 1;
+                    return publishRequest;
+                }
+            } else if (diff < 0) {
+                // Nothing has been published here yet, so the ring is empty.
+                return null;
+            }
+
+            // Otherwise another worker claimed this position first; try the next one.
+        }
+    }
+
+    private boolean isEmpty() {
+        long position = dequeuePosition.get();
+        return slots[(int) position & mask].sequence != position + 1;
+    }
+
+    private boolean isWorkerThread() {
+
+        Thread currentThread = Thread.currentThread();
+
+        for (int i = 0; i < workers.length(); i++) {
+            if (workers.get(i) == currentThread) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if a parked worker was found and woken
+     */
+    private boolean wakeWorker() {
+
+        for (int i = 0; i < workers.length(); i++) {
+            if (parkedWorkers.get(i) == 1) {
+                LockSupport.unpark(workers.get(i));
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void runWorker(int workerIndex) {
+
+        long idleSinceNanos = System.nanoTime();
+        int idleCount = 0;
+
+        while (true) {
+
+            PublishRequest<?> publishRequest = tryConsume();
+
+            if (publishRequest == null) {
+
+                if (idleCount < SPIN_TRIES) {
+                    idleCount++;
+                } else if (System.nanoTime() - idleSinceNanos < keepAliveNanos) {
+                    park(workerIndex, idleSinceNanos);
+                } else {
+                    exit(workerIndex);
+                    return;
+                }
+
+                continue;
+            }
+
+            idleCount = 0;
+
+            ReceivedEventHandler.processPublishRequestLogged(publishRequest);
+
+            idleSinceNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Park until a publisher wakes us, or the keep-alive time is up.
+     */
+    private void park(int workerIndex, long idleSinceNanos) {
+
+        // Announce that we're parking before the final check, so a publisher
+        // that adds an event after the check is guaranteed to see us and wake us.
+        parkedWorkers.set(workerIndex, 1);
+        parkedWorkerCount.incrementAndGet();
+
+        if (isEmpty()) {
+            long remainingNanos = keepAliveNanos - (System.nanoTime() - idleSinceNanos);
+            LockSupport.parkNanos(this, Math.min(MAX_PARK_NANOS, Math.max(1L, remainingNanos)));
+        }
+
+        parkedWorkerCount.decrementAndGet();
+        parkedWorkers.set(workerIndex, 0);
+    }
+
+    /**
+     * Release this worker's index. If an event slipped in while we were leaving,
+     * make sure there's a worker for it.
+     */
+    private void exit(int workerIndex) {
+
+        workers.set(workerIndex, null);
+        liveWorkerCount.decrementAndGet();
+
+        // A publisher that published before our decrement may have seen us as live and not started anyone.
+        if (!isEmpty()) {
+            signalWorker();
+        }
+    }
+
+    /**
+     * How many workers are running, for testing.
+     */
+    int liveWorkerCount() {
+        return liveWorkerCount.get();
+    }
+
+    private static int backOff(int idleCount) {
+
+        if (idleCount < PUBLISH_SPIN_TRIES) {
+            return idleCount + 1;
+        }
+
+        if (idleCount < PUBLISH_SPIN_TRIES + PUBLISH_YIELD_TRIES) {
+            Thread.yield();
+            return idleCount + 1;
+        }
+
+        LockSupport.parkNanos(1_000L);
+        return idleCount;
+    }
+
+    /**
+     * A reusable ring buffer slot.
+     */
+    private static final class Slot {
+
+        /**
+         * Equals the slot position when the slot is free for the producer of that position,
+         * and position + 1 once that producer has published into it.
+         */
+        private volatile long sequence;
+
+        /**
+         * Written before {@link #sequence} is published and read after it's observed,
+         * so the volatile sequence makes it visible.
+         */
+        @Nullable private PublishRequest<?> publishRequest;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
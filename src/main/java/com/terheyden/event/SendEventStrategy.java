@@ -1,6 +1,6 @@
 package com.terheyden.event;
 
-import java.util.Collection;
+import java.util.List;
 
 /**
  * Strategies for delivering events.
@@ -20,9 +20,27 @@ public interface SendEventStrategy<T> {
      * depending on the strategy, but it could).
      *
      * @param eventRequest The event to deliver to each {@link EventRouterSubscription}.
-     * @param subscribers The collection of subscribers to deliver the event to, guaranteed to be non-empty.
+     * @param subscribers The snapshot of subscribers to deliver the event to, guaranteed to be non-empty.
+     *                    The array is shared between publishes, so never modify it.
      */
     void sendEventToSubscribers(
         EventRequest<? extends T> eventRequest,
-        Collection<? extends EventSubscription> subscribers);
+        EventSubscription[] subscribers);
+
+    /**
+     * A batch of events has been published together. Each subscriber must receive the events
+     * in batch order. The default sends each event in turn, which is correct for strategies
+     * that deliver on the calling thread; strategies that fan out to other threads should override this.
+     *
+     * @param eventRequests The events to deliver, in publish order, guaranteed to be non-empty.
+     * @param subscribers The snapshot of subscribers to deliver the events to, guaranteed to be non-empty.
+     */
+    default void sendEventsToSubscribers(
+        List<? extends EventRequest<? extends T>> eventRequests,
+        EventSubscription[] subscribers) {
+
+        for (int i = 0; i < eventRequests.size(); i++) {
+            sendEventToSubscribers(eventRequests.get(i), subscribers);
+        }
+    }
 }
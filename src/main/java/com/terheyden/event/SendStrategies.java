@@ -1,8 +1,5 @@
 package com.terheyden.event;
 
-import javax.annotation.Nullable;
-import java.util.Collection;
-
 import org.slf4j.Logger;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -18,53 +15,39 @@ final class SendStrategies {
         // Private since this class shouldn't be instantiated.
     }
 
+    /**
+     * Send a query to one responder, and its response back to the caller.
+     * A responder that throws doesn't stop the query from reaching other responders.
+     */
     static <I, O> void sendQueryEventResponse(
-        EventRequest<I> eventRequest,
-        EventQuerySubscription<? super I, O> sub) {
+        EventRequest<? extends I> eventRequest,
+        EventQuerySubscription<I, O> sub,
+        SubscriberExceptionHandler exceptionHandler) {
 
+        @SuppressWarnings("unchecked")
         QueryEventRequest<I, O> queryRequest = (QueryEventRequest<I, O>) eventRequest;
 
-        LOG.debug("Sending event query to subscriber.");
-        O queryResponse = sub.getEventHandler().apply(queryRequest.getEventObj());
-
-        LOG.debug("Sending query response back to caller: {}", queryResponse);
-        queryRequest.getCallback().accept(queryResponse);
-    }
-
-    @SuppressWarnings("unchecked")
-    static <T> void sendModifiableEventToSubscribers(
-        EventRequest<T> eventRequest,
-        Collection<? extends EventSubscription> subscribers,
-        SubscriberExceptionHandler exceptionHandler) {
+        if (sub.isCancelled() || !queryRequest.start(sub)) {
+            queryRequest.skip(sub);
+            return;
+        }
 
-        @Nullable T eventObj = eventRequest.getEventObj();
+        try {
+            LOG.debug("Sending event query to subscriber.");
+            O queryResponse = sub.getEventHandler().apply(queryRequest.getEventObj());
 
-        // The event is passed to subscribers in order.
-        // Each subscriber may modify the event obj, replace it completely, or return null.
-        // Returning null is a signal to stop propagating the event.
-        for (EventSubscription subscriber : subscribers) {
+            LOG.debug("Sending query response back to caller: {}", queryResponse);
+            queryRequest.respond(sub, queryResponse);
 
-            // If anyone returns null, stop propagating the event.
-            if (eventObj == null) {
-                LOG.debug("Event is now null; stopping propagation.");
-                break;
+        } catch (Exception e) {
+            // Stragglers that fail after the query is done (e.g. they were interrupted) aren't worth reporting.
+            if (!queryRequest.isDone()) {
+                exceptionHandler.handleException(e, queryRequest.getEventObj());
             }
+            queryRequest.fail(sub, e);
 
-            ModifiableEventSubscription<T> sub = (ModifiableEventSubscription<T>) subscriber;
-            eventObj = sendEventToSubscriber(sub, eventObj, exceptionHandler);
-        }
-    }
-
-    private static <T> T sendEventToSubscriber(
-        ModifiableEventSubscription<T> sub,
-        T eventObj,
-        SubscriberExceptionHandler exceptionHandler) {
-
-        try {
-            return sub.getEventHandler().apply(eventObj);
-        } catch (Exception e) {
-            exceptionHandler.handleException(e, eventObj);
-            return eventObj;
+        } finally {
+            queryRequest.end(sub);
         }
     }
 }
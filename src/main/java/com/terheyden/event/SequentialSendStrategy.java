@@ -1,7 +1,5 @@
 package com.terheyden.event;
 
-import java.util.Collection;
-
 import org.slf4j.Logger;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -21,19 +19,13 @@ class SequentialSendStrategy<T> extends ExceptionHandlingSendEventStrategy<T> {
     @SuppressWarnings("unchecked")
     public void sendEventToSubscribers(
         EventRequest<? extends T> eventRequest,
-        Collection<? extends EventSubscription> subscribers) {
-
-        subscribers
-            .stream()
-            .map(sub -> (EventRouterSubscription<T>) sub)
-            .forEach(sub -> sendEventToSubscriber(sub, eventRequest));
-    }
+        EventSubscription[] subscribers) {
 
-    private void sendEventToSubscriber(EventRouterSubscription<T> sub, EventRequest<? extends T> eventRequest) {
-        try {
-            sub.getEventHandler().accept(eventRequest.getEventObj());
-        } catch (Exception e) {
-            handleException(e, eventRequest);
+        for (EventSubscription subscriber : subscribers) {
+            EventRouterSubscription<T> sub = (EventRouterSubscription<T>) subscriber;
+            if (accepts(sub, eventRequest)) {
+                sendEventToSubscriber(sub, eventRequest);
+            }
         }
     }
 }
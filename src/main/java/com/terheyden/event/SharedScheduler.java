@@ -0,0 +1,44 @@
+package com.terheyden.event;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single daemon timer thread shared by every router in the JVM, for time-based features
+ * like batch flushes, so they don't each need their own scheduler.
+ * <p>
+ * Scheduled tasks must be tiny — they should only hand real work off to a router's thread pool,
+ * since one slow timer task delays every other one.
+ */
+final class SharedScheduler {
+
+    private SharedScheduler() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    /**
+     * Created on first use, so routers that never need a timer never start the thread.
+     */
+    private static final class Holder {
+
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "event-router-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            // Cancelled timeouts are common; don't let them pile up in the queue.
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return Holder.SCHEDULER.schedule(task, delay, unit);
+    }
+}
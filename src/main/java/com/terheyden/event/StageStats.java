@@ -0,0 +1,89 @@
+package com.terheyden.event;
+
+/**
+ * A snapshot of one {@link StagedEventRouter} stage's queue and counters.
+ * A stage whose queue stays full while its workers are all busy is the pipeline's bottleneck.
+ */
+public final class StageStats {
+
+    private final String name;
+    private final int queueSize;
+    private final int queueCapacity;
+    private final int activeWorkerCount;
+    private final int concurrency;
+    private final long processedCount;
+    private final long droppedCount;
+
+    StageStats(
+        String name,
+        int queueSize,
+        int queueCapacity,
+        int activeWorkerCount,
+        int concurrency,
+        long processedCount,
+        long droppedCount) {
+
+        this.name = name;
+        this.queueSize = queueSize;
+        this.queueCapacity = queueCapacity;
+        this.activeWorkerCount = activeWorkerCount;
+        this.concurrency = concurrency;
+        this.processedCount = processedCount;
+        this.droppedCount = droppedCount;
+    }
+
+    /**
+     * The stage name, as given to the builder.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Events waiting in this stage's queue.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * The most events this stage's queue can hold.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Workers currently draining this stage's queue.
+     */
+    public int getActiveWorkerCount() {
+        return activeWorkerCount;
+    }
+
+    /**
+     * The most workers this stage runs at once.
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Events this stage has finished with (and handed to the next stage), including ones its subscribers cancelled.
+     */
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * Events dropped because this stage's queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StageStats [%s: %d/%d queued, %d/%d workers, %d processed, %d dropped]",
+            name, queueSize, queueCapacity, activeWorkerCount, concurrency, processedCount, droppedCount);
+    }
+}
@@ -0,0 +1,110 @@
+package com.terheyden.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A modifiable-event router split into named stages, each with its own executor,
+ * bounded queue, and concurrency level (a staged event-driven architecture).
+ * <p>
+ * Each stage works like a {@link ModifiableEventRouter}: its subscribers may modify, replace,
+ * or cancel the event, and its read-only subscribers see the stage's final event.
+ * Whatever survives a stage is queued for the next stage, in the order the stages were added,
+ * so CPU-bound and IO-bound stages can be sized separately, and a slow stage shows up
+ * as a full queue in {@link #getStageStats()}.
+ * <pre>
+ * {@code
+ * StagedEventRouter<Order> orders = EventRouters
+ *     .createWithEventType(Order.class)
+ *     .stagedPipeline()
+ *     .stage("validate").concurrency(2)
+ *     .stage("enrich").concurrency(32).queueSize(10_000)
+ *     .build();
+ *
+ * orders.subscribe("validate", this::validate);
+ * orders.subscribe("enrich", this::addCustomerDetails);
+ * orders.subscribeReadOnly("enrich", this::audit);
+ * }
+ * </pre>
+ * Events may be processed out of order in stages with a concurrency above 1.
+ *
+ * @see ModifiableEventRouter
+ */
+public interface StagedEventRouter<T> {
+
+    /**
+     * When an event reaches the given stage, {@code eventHandler} will be called.
+     * It may modify the event, replace it, or return null to cancel it.
+     *
+     * @return A UUID that can later be used to unsubscribe.
+     * @throws IllegalArgumentException if there's no stage with that name
+     */
+    UUID subscribe(String stageName, CheckedFunction<T, T> eventHandler);
+
+    /**
+     * When an event has been through the given stage's modifying subscribers,
+     * {@code eventHandler} will be called with the result.
+     *
+     * @return A UUID that can later be used to unsubscribe.
+     * @throws IllegalArgumentException if there's no stage with that name
+     * @see ModifiableEventRouter#subscribeReadOnly(CheckedConsumer)
+     */
+    UUID subscribeReadOnly(String stageName, CheckedConsumer<T> eventHandler);
+
+    /**
+     * Unsubscribe a previously-subscribed handler by its UUID, whichever stage it's in.
+     */
+    void unsubscribe(UUID subscriptionId);
+
+    /**
+     * Unsubscribe a previously-subscribed handler by its ID, whichever stage it's in.
+     */
+    void unsubscribe(long subscriptionId);
+
+    /**
+     * Queue the event for the first stage. Only blocks (or throws) if the first stage's
+     * queue is full and its overflow policy says to.
+     */
+    void publish(T eventObj);
+
+    /**
+     * Queue each event for the first stage, in iteration order.
+     *
+     * @see #publish(Object)
+     */
+    void publishAll(Iterable<? extends T> eventObjs);
+
+    /**
+     * Queue each event for the first stage.
+     *
+     * @see #publishAll(Iterable)
+     */
+    @SuppressWarnings("unchecked")
+    default void publishAll(T... eventObjs) {
+        publishAll(Arrays.asList(eventObjs));
+    }
+
+    /**
+     * Get a read-only list of all event subscriptions, in every stage.
+     */
+    Collection<UUID> getSubscriptions();
+
+    /**
+     * A snapshot of every stage's queue depth and counters, in stage order.
+     */
+    List<StageStats> getStageStats();
+
+    /**
+     * A snapshot of the given stage's queue depth and counters.
+     *
+     * @throws IllegalArgumentException if there's no stage with that name
+     */
+    StageStats getStageStats(String stageName);
+
+    /**
+     * How many events have been dropped because a stage's queue was full, across all stages.
+     */
+    long getDroppedEventCount();
+}
@@ -0,0 +1,112 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A chain of {@link PipelineStage}s. Publishing queues the event for the first stage,
+ * and each stage hands its results to the next one.
+ */
+class StagedEventRouterImpl<T> implements StagedEventRouter<T> {
+
+    /**
+     * The stages, in order. Each one already knows its next stage.
+     */
+    private final List<PipelineStage<T>> stages;
+
+    StagedEventRouterImpl(List<PipelineStage<T>> stages) {
+
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("A staged pipeline needs at least one stage");
+        }
+
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+    }
+
+    @Override
+    public UUID subscribe(String stageName, CheckedFunction<T, T> eventHandler) {
+        ModifiableEventSubscription<T> subscription = new ModifiableEventSubscription<>(eventHandler);
+        findStage(stageName).getSubscriberManager().subscribe(subscription);
+        return subscription.getSubscriptionId();
+    }
+
+    @Override
+    public UUID subscribeReadOnly(String stageName, CheckedConsumer<T> eventHandler) {
+        ModifiableEventSubscription<T> subscription = ModifiableEventSubscription.readOnly(eventHandler);
+        findStage(stageName).getSubscriberManager().subscribe(subscription);
+        return subscription.getSubscriptionId();
+    }
+
+    @Override
+    public void unsubscribe(UUID subscriptionId) {
+        unsubscribe(SubscriptionIds.toId(subscriptionId));
+    }
+
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        // IDs are unique, so only the owning stage will find it.
+        for (PipelineStage<T> stage : stages) {
+            stage.getSubscriberManager().unsubscribe(subscriptionId);
+        }
+    }
+
+    @Override
+    public void publish(T eventObj) {
+        stages.get(0).publish(eventObj);
+    }
+
+    @Override
+    public void publishAll(Iterable<? extends T> eventObjs) {
+
+        PipelineStage<T> firstStage = stages.get(0);
+
+        for (T eventObj : eventObjs) {
+            firstStage.publish(eventObj);
+        }
+    }
+
+    @Override
+    public Collection<UUID> getSubscriptions() {
+        return stages
+            .stream()
+            .flatMap(stage -> stage.getSubscriberManager().getSubscribers().stream())
+            .map(EventSubscription::getSubscriptionId)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StageStats> getStageStats() {
+        return stages
+            .stream()
+            .map(PipelineStage::getStats)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public StageStats getStageStats(String stageName) {
+        return findStage(stageName).getStats();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return stages
+            .stream()
+            .mapToLong(PipelineStage::getDroppedEventCount)
+            .sum();
+    }
+
+    private PipelineStage<T> findStage(String stageName) {
+
+        for (PipelineStage<T> stage : stages) {
+            if (stage.getName().equals(stageName)) {
+                return stage;
+            }
+        }
+
+        throw new IllegalArgumentException("No stage named: " + stageName);
+    }
+}
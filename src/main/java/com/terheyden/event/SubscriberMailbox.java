@@ -0,0 +1,59 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A lock-free FIFO mailbox with a single consumer, like a subscriber's events,
+ * or a partition lane's publish requests.
+ * Any number of threads may post to it, but only one drainer runs at a time:
+ * whoever posts into an empty mailbox is told to schedule the drainer, and the drainer
+ * keeps the mailbox "scheduled" until it has processed everything that was counted.
+ */
+final class SubscriberMailbox<E> {
+
+    private final Queue<E> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Messages posted but not yet processed. Incremented <em>before</em> the message is queued,
+     * so the drainer never stops while a message is on its way in.
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * Post a message to this mailbox.
+     *
+     * @return true if the mailbox was idle, in which case the caller must schedule a drainer
+     */
+    boolean post(E message) {
+        boolean wasIdle = pendingCount.getAndIncrement() == 0;
+        queue.offer(message);
+        return wasIdle;
+    }
+
+    /**
+     * Take the next message. Only the drainer may call this.
+     */
+    @Nullable
+    E poll() {
+        return queue.poll();
+    }
+
+    /**
+     * The drainer calls this after processing some messages.
+     *
+     * @return true if there are still messages pending, in which case the drainer must be rescheduled
+     */
+    boolean processed(int messageCount) {
+        return pendingCount.addAndGet(-messageCount) > 0;
+    }
+
+    /**
+     * For testing / reporting.
+     */
+    int size() {
+        return pendingCount.get();
+    }
+}
@@ -0,0 +1,49 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+
+/**
+ * A subscription that unsubscribes when it's closed, so short-lived subscriptions
+ * can use try-with-resources:
+ * <pre>
+ * {@code
+ * try (SubscriptionHandle handle = eventRouter.subscribeHandle(this::onEvent)) {
+ *     // Events are sent to onEvent() until the end of this block.
+ * }
+ * }
+ * </pre>
+ * Closing is cheap (no search through the router's subscribers), and safe to repeat.
+ */
+public final class SubscriptionHandle implements AutoCloseable {
+
+    private final EventSubscriber eventSubscriber;
+    private final long subscriptionId;
+
+    SubscriptionHandle(EventSubscriber eventSubscriber, long subscriptionId) {
+        this.eventSubscriber = eventSubscriber;
+        this.subscriptionId = subscriptionId;
+    }
+
+    /**
+     * This subscription's ID, for {@link EventSubscriber#unsubscribe(long)}.
+     */
+    public long getId() {
+        return subscriptionId;
+    }
+
+    /**
+     * This subscription's ID as a UUID, the same as the one returned by the
+     * other subscribe methods, for {@link EventSubscriber#unsubscribe(UUID)}.
+     */
+    public UUID getSubscriptionId() {
+        return SubscriptionIds.toUuid(subscriptionId);
+    }
+
+    /**
+     * Unsubscribe.
+     */
+    @Override
+    public void close() {
+        eventSubscriber.unsubscribe(subscriptionId);
+    }
+}
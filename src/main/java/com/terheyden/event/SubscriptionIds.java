@@ -0,0 +1,59 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out subscription IDs, and converts them to and from their UUID form.
+ * <p>
+ * IDs are sequential longs from a single counter, which is far cheaper than
+ * {@link UUID#randomUUID()} and its shared {@link java.security.SecureRandom}.
+ * The UUID form just wraps the long, so it's only built when someone asks for it,
+ * and can be turned back into the long without a lookup. It's a valid version 8 (custom layout)
+ * UUID, with the RFC 4122 variant; IDs never get big enough to reach the variant bits.
+ */
+final class SubscriptionIds {
+
+    /**
+     * The high bits of every subscription UUID, so we can tell ours apart from any other UUID.
+     * Includes the version number, 8, in bits 12-15.
+     */
+    private static final long UUID_MOST_SIG_BITS = 0x6576656e_74008000L;
+
+    /**
+     * The top two bits of the low half of the UUID are its variant; {@code 10} is the RFC 4122 variant.
+     */
+    private static final long UUID_VARIANT_MASK = 0xc0000000_00000000L;
+    private static final long UUID_VARIANT_BITS = 0x80000000_00000000L;
+
+    /**
+     * Never handed out, so it's safe to use for "not one of ours".
+     */
+    static final long NO_ID = 0L;
+
+    private static final AtomicLong ID_COUNTER = new AtomicLong();
+
+    private SubscriptionIds() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static long nextId() {
+        return ID_COUNTER.incrementAndGet();
+    }
+
+    static UUID toUuid(long subscriptionId) {
+        return new UUID(UUID_MOST_SIG_BITS, UUID_VARIANT_BITS | subscriptionId);
+    }
+
+    /**
+     * @return the ID wrapped by the given UUID, or {@link #NO_ID} if it isn't a subscription UUID
+     */
+    static long toId(UUID subscriptionId) {
+        long leastSigBits = subscriptionId.getLeastSignificantBits();
+
+        return subscriptionId.getMostSignificantBits() == UUID_MOST_SIG_BITS
+            && (leastSigBits & UUID_VARIANT_MASK) == UUID_VARIANT_BITS
+            ? leastSigBits & ~UUID_VARIANT_MASK
+            : NO_ID;
+    }
+}
@@ -0,0 +1,20 @@
+package com.terheyden.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The default dispatcher: each publish request becomes one task on the router's thread pool.
+ */
+class ThreadPoolPublishDispatcher implements PublishDispatcher {
+
+    private final Executor executor;
+
+    ThreadPoolPublishDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void dispatch(PublishRequest<?> publishRequest) {
+        executor.execute(new PublishTask(publishRequest));
+    }
+}
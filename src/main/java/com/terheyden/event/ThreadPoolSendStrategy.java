@@ -1,7 +1,10 @@
 package com.terheyden.event;
 
-import java.util.Collection;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * If event {@code MyEvent} is published and there are 3 subscribers,
@@ -9,28 +12,73 @@ import java.util.concurrent.ThreadPoolExecutor;
  */
 class ThreadPoolSendStrategy<T> extends ExceptionHandlingSendEventStrategy<T> {
 
-    private final ThreadPoolExecutor threadPool;
+    private final Executor threadPool;
 
-    ThreadPoolSendStrategy(SubscriberExceptionHandler exceptionHandler, ThreadPoolExecutor threadPool) {
+    ThreadPoolSendStrategy(SubscriberExceptionHandler exceptionHandler, Executor threadPool) {
         super(exceptionHandler);
         this.threadPool = threadPool;
     }
 
     @Override
     @SuppressWarnings("unchecked")
-    public void sendEventToSubscribers(EventRequest<? extends T> eventRequest, Collection<? extends EventSubscription> subscribers) {
-        subscribers
-            .stream()
-            .map(sub -> (EventRouterSubscription<T>) sub)
-            .forEach(sub ->
-            threadPool.execute(() -> sendEventToSubscriber(sub, eventRequest)));
+    public void sendEventToSubscribers(EventRequest<? extends T> eventRequest, EventSubscription[] subscribers) {
+        for (EventSubscription subscriber : subscribers) {
+            EventRouterSubscription<T> sub = (EventRouterSubscription<T>) subscriber;
+            // Filter before submitting, so non-matching subscribers don't cost a task.
+            if (accepts(sub, eventRequest)) {
+                submit(() -> sendEventToSubscriber(sub, eventRequest), Collections.singletonList(eventRequest));
+            }
+        }
+    }
+
+    /**
+     * One task per subscriber for the whole batch, so each subscriber still sees the events in order.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sendEventsToSubscribers(
+        List<? extends EventRequest<? extends T>> eventRequests,
+        EventSubscription[] subscribers) {
+
+        for (EventSubscription subscriber : subscribers) {
+
+            EventRouterSubscription<T> sub = (EventRouterSubscription<T>) subscriber;
+
+            // Filter before submitting, so subscribers that accept none of the batch don't cost a task.
+            List<EventRequest<? extends T>> accepted = new ArrayList<>(eventRequests.size());
+            for (int i = 0; i < eventRequests.size(); i++) {
+                if (accepts(sub, eventRequests.get(i))) {
+                    accepted.add(eventRequests.get(i));
+                }
+            }
+
+            if (!accepted.isEmpty()) {
+                submit(() -> {
+                    for (int i = 0; i < accepted.size(); i++) {
+                        sendEventToSubscriber(sub, accepted.get(i));
+                    }
+                }, accepted);
+            }
+        }
     }
 
-    private void sendEventToSubscriber(EventRouterSubscription<T> sub, EventRequest<? extends T> eventRequest) {
+    /**
+     * Run one subscriber's task on the pool. If the pool rejects it — it's shut down, or it's a custom pool
+     * that aborts when full — that subscriber fails the given events, so tracked publishes still complete,
+     * and the other subscribers still get their turn.
+     */
+    private void submit(Runnable task, List<? extends EventRequest<? extends T>> eventRequests) {
         try {
-            sub.getEventHandler().accept(eventRequest.getEventObj());
-        } catch (Exception e) {
-            handleException(e, eventRequest);
+            threadPool.execute(task);
+        } catch (RejectedExecutionException e) {
+            for (int i = 0; i < eventRequests.size(); i++) {
+                EventRequest<? extends T> eventRequest = eventRequests.get(i);
+                try {
+                    handleException(e, eventRequest);
+                } finally {
+                    eventRequest.subscriberDone(false);
+                }
+            }
         }
     }
 }
@@ -1,5 +1,8 @@
 package com.terheyden.event;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -14,6 +17,13 @@ public final class ThreadPools {
      */
     public static final int KEEP_ALIVE_SECS = 30;
 
+    /**
+     * How many events or requests a drainer — a subscriber's mailbox, a partition lane, a conflating
+     * subscriber, or a pipeline stage — processes before it gives its thread back to the pool,
+     * so one busy drainer can't starve the others.
+     */
+    static final int DRAIN_BATCH_SIZE = 64;
+
     private ThreadPools() {
         // Private since this class shouldn't be instantiated.
     }
@@ -38,6 +48,72 @@ public final class ThreadPools {
         return pool;
     }
 
+    /**
+     * Create a new dynamic thread pool like {@link #newDynamicThreadPool(int)}, but with a bounded queue,
+     * so a slow subscriber can't make the queue grow until the JVM runs out of memory.
+     * When the queue is full, newly published events are handled according to {@code overflowPolicy},
+     * and any events that are dropped are passed to {@code droppedEventHandler}.
+     * Routers using this pool report the drops in {@link EventSubscriber#getDroppedEventCount()}.
+     */
+    public static ThreadPoolExecutor newBoundedThreadPool(
+        int maxThreadCount,
+        int queueCapacity,
+        OverflowPolicy overflowPolicy,
+        DroppedEventHandler droppedEventHandler) {
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            maxThreadCount,
+            maxThreadCount,
+            KEEP_ALIVE_SECS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), // Preallocated and bounded.
+            new OverflowHandler(overflowPolicy, droppedEventHandler));
+
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Create a new work-stealing {@link ForkJoinPool} in async (FIFO) mode, for CPU-bound routers.
+     * Every worker has its own task deque, so workers don't all contend on one shared queue,
+     * and per-subscriber tasks fanned out by a worker stay on that worker unless an idle one steals them.
+     *
+     * @param parallelism the number of worker threads, usually the number of CPUs
+     */
+    public static ForkJoinPool newWorkStealingPool(int parallelism) {
+        return new ForkJoinPool(
+            parallelism,
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+            null,   // Subscriber exceptions are handled by the send strategies.
+            true);  // Async mode: FIFO, since our tasks are never joined.
+    }
+
+    /**
+     * True if this JVM supports virtual threads (Java 21+), so the
+     * {@code virtualThreads()} router builder setting can be used.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * How many events have been dropped by the given pool's overflow policy.
+     * Always 0 for pools that weren't created by {@link #newBoundedThreadPool}.
+     */
+    static long getDroppedEventCount(Executor pool) {
+        return hasOverflowPolicy(pool)
+            ? ((OverflowHandler) ((ThreadPoolExecutor) pool).getRejectedExecutionHandler()).getDroppedEventCount()
+            : 0L;
+    }
+
+    /**
+     * True if the given pool was created by {@link #newBoundedThreadPool}, so it applies an {@link OverflowPolicy}.
+     */
+    static boolean hasOverflowPolicy(Executor pool) {
+        return pool instanceof ThreadPoolExecutor
+            && ((ThreadPoolExecutor) pool).getRejectedExecutionHandler() instanceof OverflowHandler;
+    }
+
     /**
      * Create a new dynamic thread pool that will grow and shrink as needed,
      * from 0 threads up to [CPU processors - 1] threads.
@@ -0,0 +1,44 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+
+/**
+ * An event router where events are published to hierarchical topics, like {@code orders/eu/paid},
+ * and subscribers subscribe to topic filters with MQTT-style wildcards:
+ * {@code *} (or {@code +}) matches exactly one level, and a final {@code #} matches any number of levels.
+ * <p>
+ * Publishing costs about the depth of the topic, not the number of subscriptions,
+ * and the subscribers for each topic are cached until the subscriptions change.
+ *
+ * @see EventRouters.EventRouterBuilder#topics()
+ */
+public interface TopicEventRouter<T> extends EventSubscriber {
+
+    /**
+     * When an event is published to a topic matching {@code topicFilter}, {@code eventHandler} will be called.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     * orderEvents.subscribe("orders/eu/*", order -> System.out.println("EU order: " + order));
+     * orderEvents.subscribe("orders/#", order -> System.out.println("Any order: " + order));
+     * }
+     * </pre>
+     *
+     * @param topicFilter A {@code /}-separated topic, which may contain wildcards
+     * @return A UUID that can later be used to unsubscribe.
+     * @throws IllegalArgumentException if a wildcard isn't a whole level, or {@code #} isn't the last level
+     */
+    UUID subscribe(String topicFilter, CheckedConsumer<T> eventHandler);
+
+    /**
+     * Publish the given event to all subscribers whose topic filter matches {@code topic}.
+     * This is a non-blocking call; events are published asynchronously,
+     * unless the router was built with {@code publishOnCallingThread()}.
+     *
+     * @param topic A {@code /}-separated topic, without wildcards
+     * @param eventObj The event to send to all matching subscribers
+     * @throws IllegalArgumentException if the topic contains wildcards
+     */
+    void publish(String topic, T eventObj);
+}
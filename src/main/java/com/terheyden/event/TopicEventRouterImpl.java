@@ -0,0 +1,76 @@
+package com.terheyden.event;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * TopicEventRouter class.
+ * All topics share this router's thread pool and send strategy.
+ */
+public class TopicEventRouterImpl<T> extends BaseEventRouter<T> implements TopicEventRouter<T> {
+
+    private final TopicSubscriberManager topicSubscriberManager = new TopicSubscriberManager();
+
+    TopicEventRouterImpl(
+        Executor threadPoolExecutor,
+        SendEventStrategy<T> sendStrategy,
+        PublishDispatcher publishDispatcher) {
+
+        super(threadPoolExecutor, sendStrategy, publishDispatcher);
+    }
+
+    @Override
+    public UUID subscribe(String topicFilter, CheckedConsumer<T> eventHandler) {
+        EventRouterSubscription<T> subscription = new EventRouterSubscription<>(eventHandler);
+        topicSubscriberManager.subscribe(topicFilter, subscription);
+        return subscription.getSubscriptionId();
+    }
+
+    @Override
+    public void unsubscribe(UUID subscriptionId) {
+        topicSubscriberManager.unsubscribe(subscriptionId);
+    }
+
+    @Override
+    public void unsubscribe(long subscriptionId) {
+        topicSubscriberManager.unsubscribe(subscriptionId);
+    }
+
+    @Override
+    public void publish(String topic, T eventObj) {
+
+        EventSubscription[] subscribers = topicSubscriberManager.getSubscriberSnapshot(topic);
+
+        // Many topics may have no subscribers, so don't even bother the thread pool.
+        if (subscribers.length > 0) {
+            publishInternal(new EventRequest<>(eventObj), subscribers);
+        }
+    }
+
+    @Override
+    public ThreadPoolExecutor getThreadPool() {
+        return super.getThreadPool();
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return super.getExecutor();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return super.getDroppedEventCount();
+    }
+
+    @Override
+    public Collection<UUID> getSubscriptions() {
+        return topicSubscriberManager
+            .getSubscribers()
+            .stream()
+            .map(EventSubscription::getSubscriptionId)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,282 @@
+package com.terheyden.event;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manages {@link TopicEventRouter} subscriptions in a trie of topic levels, MQTT-style.
+ * Topics are {@code /}-separated levels, like {@code orders/eu/paid}. Subscription filters may use
+ * {@code *} (or {@code +}) to match exactly one level, and a final {@code #} to match any number
+ * of levels, including none: {@code orders/+/paid} and {@code orders/#} both match
+ * {@code orders/eu/paid}.
+ * <p>
+ * Each trie node keeps its subscriptions in an {@link EventSubscriberManager}. Matching a topic
+ * follows at most three branches per level, so it costs about the topic depth instead of the number
+ * of subscriptions, and each topic's result is cached until the subscriptions change.
+ * Subscribing and unsubscribing are serialized; matching is lock-free.
+ */
+class TopicSubscriberManager {
+
+    static final String LEVEL_SEPARATOR = "/";
+    static final String SINGLE_LEVEL_WILDCARD = "+";
+    static final String SINGLE_LEVEL_WILDCARD_ALT = "*";
+    static final String MULTI_LEVEL_WILDCARD = "#";
+
+    /**
+     * Once the match cache is this big, each newly cached topic evicts one other,
+     * so publishing to many one-off topics can't grow it without limit.
+     */
+    static final int MAX_CACHED_TOPICS = 10_000;
+
+    private static final EventSubscription[] NO_SUBSCRIBERS = new EventSubscription[0];
+
+    private final TopicNode root = new TopicNode();
+
+    /**
+     * Which filter each subscription is for, so unsubscribing can go straight to its node.
+     */
+    private final Map<Long, String[]> filtersBySubscriptionId = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, CachedMatch> matchCache = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped after every subscription change, so cached matches know they're stale.
+     */
+    private volatile long version = 0;
+
+    private final Object writeLock = new Object();
+
+    void subscribe(String topicFilter, BaseEventSubscription subscription) {
+
+        String[] levels = parseFilter(topicFilter);
+
+        synchronized (writeLock) {
+
+            TopicNode node = root;
+            for (String level : levels) {
+                node = node.children.computeIfAbsent(level, lvl -> new TopicNode());
+            }
+
+            node.subscribers.subscribe(subscription);
+            filtersBySubscriptionId.put(subscription.getId(), levels);
+            version++;
+        }
+    }
+
+    void unsubscribe(UUID subscriptionId) {
+        unsubscribe(SubscriptionIds.toId(subscriptionId));
+    }
+
+    void unsubscribe(long subscriptionId) {
+        synchronized (writeLock) {
+
+            String[] levels = filtersBySubscriptionId.remove(subscriptionId);
+
+            if (levels == null) {
+                return;
+            }
+
+            TopicNode[] path = new TopicNode[levels.length + 1];
+            path[0] = root;
+            for (int i = 0; i < levels.length; i++) {
+                path[i + 1] = path[i].children.get(levels[i]);
+            }
+
+            path[levels.length].subscribers.unsubscribe(subscriptionId);
+
+            // Prune the nodes that are left with nothing in them, so dynamic topics don't grow the trie forever.
+            for (int i = levels.length; i > 0 && path[i].isEmpty(); i--) {
+                path[i - 1].children.remove(levels[i - 1]);
+            }
+
+            version++;
+        }
+    }
+
+    /**
+     * How many nodes are in the trie, not counting the root. For testing.
+     */
+    int getNodeCount() {
+        return countNodes(root) - 1;
+    }
+
+    private static int countNodes(TopicNode node) {
+        int count = 1;
+        for (TopicNode child : node.children.values()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    /**
+     * Everyone subscribed to a filter that matches the given topic.
+     * The returned array is shared — never modify it.
+     */
+    EventSubscription[] getSubscriberSnapshot(String topic) {
+
+        long currentVersion = version;
+        CachedMatch cached = matchCache.get(topic);
+
+        if (cached != null && cached.version == currentVersion) {
+            return cached.subscribers;
+        }
+
+        String[] levels = parseTopic(topic);
+        List<EventSubscription> matches = new ArrayList<>();
+        collectMatches(root, levels, 0, matches);
+
+        EventSubscription[] subscribers = matches.isEmpty()
+            ? NO_SUBSCRIBERS
+            : matches.toArray(NO_SUBSCRIBERS);
+
+        if (cached == null && matchCache.size() >= MAX_CACHED_TOPICS) {
+            evictOneMatch();
+        }
+
+        matchCache.put(topic, new CachedMatch(currentVersion, subscribers));
+        return subscribers;
+    }
+
+    /**
+     * Drop a single cached topic, instead of clearing the cache and making every hot topic miss at once.
+     */
+    private void evictOneMatch() {
+        Iterator<String> topics = matchCache.keySet().iterator();
+        if (topics.hasNext()) {
+            topics.next();
+            topics.remove();
+        }
+    }
+
+    /**
+     * How many topics have a cached match. For testing.
+     */
+    int getCachedTopicCount() {
+        return matchCache.size();
+    }
+
+    private static void collectMatches(TopicNode node, String[] levels, int depth, List<EventSubscription> matches) {
+
+        // A '#' here matches everything from this level down, including nothing.
+        addAll(node.children.get(MULTI_LEVEL_WILDCARD), matches);
+
+        if (depth == levels.length) {
+            addAll(node, matches);
+            return;
+        }
+
+        TopicNode exact = node.children.get(levels[depth]);
+        if (exact != null) {
+            collectMatches(exact, levels, depth + 1, matches);
+        }
+
+        TopicNode wildcard = node.children.get(SINGLE_LEVEL_WILDCARD);
+        if (wildcard != null) {
+            collectMatches(wildcard, levels, depth + 1, matches);
+        }
+    }
+
+    private static void addAll(@Nullable TopicNode node, List<EventSubscription> matches) {
+        if (node != null) {
+            matches.addAll(Arrays.asList(node.subscribers.getSubscriberSnapshot()));
+        }
+    }
+
+    /**
+     * A read-only view of all subscriptions, for testing / reporting.
+     */
+    Collection<EventSubscription> getSubscribers() {
+        List<EventSubscription> all = new ArrayList<>();
+        addSubscribers(root, all);
+        return Collections.unmodifiableList(all);
+    }
+
+    private static void addSubscribers(TopicNode node, List<EventSubscription> all) {
+        addAll(node, all);
+        node.children.values().forEach(child -> addSubscribers(child, all));
+    }
+
+    /**
+     * Split a subscription filter into levels, checking its wildcards.
+     * {@code *} is stored as {@code +}, so both spellings land on the same trie node.
+     */
+    static String[] parseFilter(String topicFilter) {
+
+        String[] levels = topicFilter.split(LEVEL_SEPARATOR, -1);
+
+        for (int i = 0; i < levels.length; i++) {
+
+            String level = levels[i];
+
+            if (level.equals(SINGLE_LEVEL_WILDCARD) || level.equals(SINGLE_LEVEL_WILDCARD_ALT)) {
+                levels[i] = SINGLE_LEVEL_WILDCARD;
+            } else if (level.equals(MULTI_LEVEL_WILDCARD)) {
+                if (i != levels.length - 1) {
+                    throw new IllegalArgumentException("'#' must be the last level of a topic filter: " + topicFilter);
+                }
+            } else if (hasWildcard(level)) {
+                throw new IllegalArgumentException("Wildcards must be a whole topic level: " + topicFilter);
+            }
+        }
+
+        return levels;
+    }
+
+    /**
+     * Split a published topic into levels. Topics can't contain wildcards.
+     */
+    static String[] parseTopic(String topic) {
+
+        String[] levels = topic.split(LEVEL_SEPARATOR, -1);
+
+        for (String level : levels) {
+            if (hasWildcard(level)) {
+                throw new IllegalArgumentException("Can't publish to a topic with wildcards: " + topic);
+            }
+        }
+
+        return levels;
+    }
+
+    private static boolean hasWildcard(String level) {
+        return level.contains(SINGLE_LEVEL_WILDCARD)
+            || level.contains(SINGLE_LEVEL_WILDCARD_ALT)
+            || level.contains(MULTI_LEVEL_WILDCARD);
+    }
+
+    /**
+     * One level of the trie. Children are keyed by level name, with wildcards as the literal {@code +} and {@code #}.
+     */
+    private static final class TopicNode {
+
+        private final ConcurrentHashMap<String, TopicNode> children = new ConcurrentHashMap<>();
+
+        private final EventSubscriberManager subscribers = new EventSubscriberManager();
+
+        boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty();
+        }
+    }
+
+    /**
+     * Immutable, so the version and the subscribers are always read together.
+     */
+    private static final class CachedMatch {
+
+        private final long version;
+        private final EventSubscription[] subscribers;
+
+        CachedMatch(long version, EventSubscription[] subscribers) {
+            this.version = version;
+            this.subscribers = subscribers;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.terheyden.event;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An event request that completes a future once every subscriber in its snapshot is done with it.
+ * <p>
+ * Tracking is a single atomic countdown: each subscriber decrements it once, and whoever
+ * brings it to zero completes the future. Failures and skips are rare, so they get their own
+ * counters instead of making every subscriber update a shared result.
+ */
+final class TrackedEventRequest<T> extends EventRequest<T> {
+
+    private final int subscriberCount;
+    private final AtomicInteger remainingCount;
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final AtomicInteger skippedCount = new AtomicInteger();
+    private final CompletableFuture<PublishResult> future = new CompletableFuture<>();
+
+    TrackedEventRequest(T eventObj, int subscriberCount, boolean indexMatched) {
+        super(eventObj, indexMatched);
+        this.subscriberCount = subscriberCount;
+        this.remainingCount = new AtomicInteger(subscriberCount);
+    }
+
+    CompletableFuture<PublishResult> getFuture() {
+        return future;
+    }
+
+    @Override
+    void subscriberDone(boolean succeeded) {
+        if (!succeeded) {
+            failureCount.incrementAndGet();
+        }
+        countDown();
+    }
+
+    @Override
+    void subscriberSkipped() {
+        skippedCount.incrementAndGet();
+        countDown();
+    }
+
+    @Override
+    void dropped() {
+        future.completeExceptionally(new RejectedExecutionException("Event queue is full; dropped event: " + getEventObj()));
+    }
+
+    private void countDown() {
+
+        // The counters were updated before our decrement, and the last decrement sees every earlier one,
+        // so whoever completes the future sees the final counts.
+        if (remainingCount.decrementAndGet() == 0) {
+            int failures = failureCount.get();
+            int skipped = skippedCount.get();
+            future.complete(new PublishResult(subscriberCount, subscriberCount - failures - skipped, failures, skipped));
+        }
+    }
+}
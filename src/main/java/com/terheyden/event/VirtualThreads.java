@@ -0,0 +1,31 @@
+package com.terheyden.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Virtual thread support, which needs Java 21+.
+ * <p>
+ * This is the Java 8 version, which reports that virtual threads aren't available.
+ * On Java 21+, the multi-release JAR replaces this class with the one in {@code src/main/java21}.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Create an executor that runs each task on a new virtual thread,
+     * with at most {@code maxConcurrency} tasks running at once.
+     *
+     * @throws UnsupportedOperationException on Java versions before 21
+     */
+    static Executor newExecutor(int maxConcurrency) {
+        throw new UnsupportedOperationException(
+            "Virtual threads require Java 21+ (running Java " + System.getProperty("java.version") + ")");
+    }
+}
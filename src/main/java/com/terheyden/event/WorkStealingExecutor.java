@@ -0,0 +1,46 @@
+package com.terheyden.event;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Submits tasks to a {@link ForkJoinPool} so they can be work-stolen.
+ * <p>
+ * Tasks submitted from outside the pool go to its shared submission queues, like any other executor.
+ * Tasks submitted by one of the pool's own workers — e.g. the per-subscriber tasks that
+ * {@code maxAsync()} fans out while sending an event — are forked onto that worker's local deque instead.
+ * The worker runs them without touching a shared queue, and idle workers steal from the other end.
+ */
+final class WorkStealingExecutor implements Executor {
+
+    private final ForkJoinPool pool;
+
+    WorkStealingExecutor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Wrap the executor if it's a {@link ForkJoinPool}; otherwise return it as-is.
+     */
+    static Executor wrap(Executor executor) {
+        return executor instanceof ForkJoinPool
+            ? new WorkStealingExecutor((ForkJoinPool) executor)
+            : executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+
+        Thread currentThread = Thread.currentThread();
+
+        if (currentThread instanceof ForkJoinWorkerThread
+            && ((ForkJoinWorkerThread) currentThread).getPool() == pool) {
+
+            ForkJoinTask.adapt(task).fork();
+        } else {
+            pool.execute(task);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.terheyden.event;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual thread support, which needs Java 21+.
+ * <p>
+ * This is the Java 21 version, which the multi-release JAR uses in place of the Java 8 one.
+ */
+final class VirtualThreads {
+
+    private static final AtomicInteger EXECUTOR_COUNTER = new AtomicInteger();
+
+    private VirtualThreads() {
+        // Private since this class shouldn't be instantiated.
+    }
+
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Create an executor that runs each task on a new virtual thread,
+     * with at most {@code maxConcurrency} tasks running at once.
+     */
+    static Executor newExecutor(int maxConcurrency) {
+
+        String namePrefix = "event-virtual-" + EXECUTOR_COUNTER.incrementAndGet() + "-";
+
+        return new ConcurrencyLimitedExecutor(
+            Thread.ofVirtual().name(namePrefix, 0).factory(),
+            maxConcurrency);
+    }
+}
@@ -0,0 +1,106 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BatchAccumulatorTest unit tests.
+ */
+class BatchAccumulatorTest {
+
+    @Test
+    void testSizeAndTimeThresholds() throws InterruptedException {
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        router.subscribeBatch(10, 200, TimeUnit.MILLISECONDS, batch -> {
+            batches.add(batch);
+            latch.countDown();
+        });
+
+        for (int i = 0; i < 25; i++) {
+            router.publish(i);
+        }
+
+        // The two full batches go out right away; the last 5 events wait for the timer.
+        assertThat(batches).hasSize(2);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batches).extracting(List::size).containsExactly(10, 10, 5);
+
+        List<Integer> all = new ArrayList<>();
+        batches.forEach(all::addAll);
+        assertThat(all).hasSize(25).isSorted();
+    }
+
+    @Test
+    void testTimerFlushesPartialBatch() throws InterruptedException {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .build();
+
+        AtomicReference<List<String>> received = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        router.subscribeBatch(100, 50, TimeUnit.MILLISECONDS, batch -> {
+            received.set(batch);
+            latch.countDown();
+        });
+
+        router.publishAll("a", "b", "c");
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received.get()).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void testExceptionHandlerGetsBatch() throws InterruptedException {
+
+        AtomicReference<Object> failedBatch = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .exceptionHandler((err, eventObj) -> {
+                failedBatch.set(eventObj);
+                latch.countDown();
+            })
+            .build();
+
+        router.subscribeBatch(2, 1, TimeUnit.SECONDS, batch -> {
+            throw new IllegalStateException("Sink is down");
+        });
+
+        router.publishAll("a", "b");
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(failedBatch.get()).asList().containsExactly("a", "b");
+    }
+
+    @Test
+    void testInvalidArgs() {
+
+        EventRouter<String> router = EventRouters.createWithEventType(String.class).build();
+
+        assertThatThrownBy(() -> router.subscribeBatch(0, 1, TimeUnit.SECONDS, batch -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> router.subscribeBatch(1, 0, TimeUnit.SECONDS, batch -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.terheyden.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CachingEventQueryTest unit tests.
+ */
+class CachingEventQueryTest {
+
+    private final AtomicInteger callCount = new AtomicInteger();
+
+    private CachingEventQuery<String, Integer> createQuery(long ttlMillis, int maxEntries) {
+
+        CachingEventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .exceptionHandler((err, eventObj) -> { })
+            .cache(ttlMillis, TimeUnit.MILLISECONDS, maxEntries)
+            .build();
+
+        query.subscribe(str -> {
+            callCount.incrementAndGet();
+            return str.length();
+        });
+
+        return query;
+    }
+
+    @Test
+    void testHitSkipsSubscribers() {
+
+        CachingEventQuery<String, Integer> query = createQuery(60_000, 100);
+
+        assertThat(query.queryAll("hello").join()).containsExactly(5);
+        assertThat(query.queryAll("hello").join()).containsExactly(5);
+        assertThat(query.queryFirst("hello").join()).isEqualTo(5);
+
+        StringBuilder received = new StringBuilder();
+        query.query("hello", received::append);
+
+        assertThat(received.toString()).isEqualTo("5");
+        assertThat(callCount).hasValue(1);
+        assertThat(query.getCacheStats().getHitCount()).isEqualTo(3);
+        assertThat(query.getCacheStats().getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpiry() {
+
+        CachingEventQuery<String, Integer> query = createQuery(50, 100);
+
+        query.queryAll("hello").join();
+        EventUtils.sleep(100);
+        query.queryAll("hello").join();
+
+        assertThat(callCount).hasValue(2);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+
+        CachingEventQuery<String, Integer> query = createQuery(60_000, 2);
+
+        query.queryAll("a").join();
+        query.queryAll("bb").join();
+        query.queryAll("a").join();
+        query.queryAll("ccc").join();
+        assertThat(callCount).hasValue(3);
+
+        // "bb" was the least recently used, so it made room for "ccc".
+        query.queryAll("a").join();
+        assertThat(callCount).hasValue(3);
+        query.queryAll("bb").join();
+        assertThat(callCount).hasValue(4);
+        assertThat(query.getCacheStats().getEvictionCount()).isEqualTo(2);
+        assertThat(query.getCacheStats().getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void testInvalidation() {
+
+        CachingEventQuery<String, Integer> query = createQuery(60_000, 100);
+
+        query.queryAll("hello").join();
+        query.getInvalidationRouter().publish("hello");
+        query.queryAll("hello").join();
+        assertThat(callCount).hasValue(2);
+
+        // A new subscriber changes the answer.
+        query.subscribe(str -> -1);
+        assertThat(query.queryAll("hello").join()).containsExactly(5, -1);
+        assertThat(callCount).hasValue(3);
+    }
+
+    @Test
+    void testInvalidationOnlyDropsInFlightResultsForItsKey() {
+
+        QueryResultCache<String, Integer> cache = new QueryResultCache<>(TimeUnit.MINUTES.toNanos(1), 100);
+
+        long generation = cache.generation();
+        cache.invalidate("a");
+        cache.put("a", 1, generation);
+        cache.put("b", 2, generation);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo(2);
+
+        generation = cache.generation();
+        cache.invalidateAll();
+        cache.put("b", 3, generation);
+
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void testFailuresArentCached() {
+
+        CachingEventQuery<String, Integer> query = createQuery(60_000, 100);
+        AtomicInteger failCount = new AtomicInteger();
+
+        query.subscribe(str -> {
+            if (failCount.incrementAndGet() == 1) {
+                throw new IllegalStateException("Flaky responder");
+            }
+            return 0;
+        });
+
+        assertThat(query.queryAll("hello").join()).containsExactly(5);
+        assertThat(query.queryAll("hello").join()).containsExactly(5, 0);
+        assertThat(query.queryAll("hello").join()).containsExactly(5, 0);
+        assertThat(failCount).hasValue(2);
+    }
+}
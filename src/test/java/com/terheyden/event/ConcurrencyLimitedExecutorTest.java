@@ -0,0 +1,66 @@
+package com.terheyden.event;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ConcurrencyLimitedExecutorTest unit tests.
+ */
+class ConcurrencyLimitedExecutorTest {
+
+    @Test
+    void testMaxConcurrency() throws InterruptedException {
+
+        // Platform threads stand in for virtual threads, so this runs on any JDK.
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(Thread::new, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                EventUtils.sleep(5);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isBetween(1, 3);
+
+        // Each task's permit is released just after its countDown(), so give the last ones a moment.
+        for (int i = 0; i < 100 && executor.getActiveCount() > 0; i++) {
+            EventUtils.sleep(10);
+        }
+
+        assertThat(executor.getActiveCount()).isZero();
+    }
+
+    @Test
+    void testVirtualThreadsBuilder() throws InterruptedException {
+
+        if (!ThreadPools.isVirtualThreadSupported()) {
+            assertThatThrownBy(() -> EventRouters.createWithEventType(String.class).virtualThreads())
+                .isInstanceOf(UnsupportedOperationException.class);
+            return;
+        }
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .virtualThreads(10)
+            .build();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        router.subscribe(str -> latch.countDown());
+        router.publish("hello");
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
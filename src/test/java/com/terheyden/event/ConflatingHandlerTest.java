@@ -0,0 +1,52 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ConflatingHandlerTest unit tests.
+ */
+class ConflatingHandlerTest {
+
+    @Test
+    void testLatestValueWins() throws InterruptedException {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        // Key is the first letter: "a1" and "a2" conflate, "b1" doesn't.
+        router.subscribeConflating(str -> str.charAt(0), str -> {
+            if (str.equals("x")) {
+                blocked.countDown();
+                release.await();
+            }
+            received.add(str);
+        });
+
+        // Hold up the subscriber so everything else piles up behind it.
+        router.publish("x");
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i <= 100; i++) {
+            router.publish("a" + i);
+            router.publish("b" + i);
+        }
+
+        release.countDown();
+        EventTester.awaitEmpty(router);
+
+        assertThat(received).containsExactly("x", "a100", "b100");
+    }
+}
@@ -0,0 +1,155 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DeadlineQueryRequestTest unit tests.
+ */
+class DeadlineQueryRequestTest {
+
+    @Test
+    void testFirstResponsesInterruptsStragglers() throws Exception {
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .maxThreadPoolSize(4)
+            .maxAsync()
+            .build();
+
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch interruptedLatch = new CountDownLatch(1);
+
+        // Only respond once the straggler is running, so it's interrupted rather than skipped.
+        query.subscribe(str -> startedLatch.await(5, TimeUnit.SECONDS) ? str.length() : 0);
+        query.subscribe(str -> {
+            startedLatch.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interruptedLatch.countDown();
+            }
+            return -1;
+        });
+
+        List<Integer> responses = query
+            .query("hello", QueryOptions.create().firstResponses(1).interruptStragglers())
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(responses).containsExactly(5);
+        assertThat(interruptedLatch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testTimeoutSkipsUnstartedResponders() throws Exception {
+
+        // Sequential, so the third responder can't start until the second is done.
+        // On the calling thread, so the whole dispatch is over once query() returns,
+        // and the deadline has to apply while publishing.
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .publishOnCallingThread()
+            .build();
+
+        AtomicInteger lateCalls = new AtomicInteger();
+
+        query.subscribe(String::length);
+        query.subscribe(str -> {
+            Thread.sleep(10_000);
+            return -1;
+        });
+        query.subscribe(str -> lateCalls.incrementAndGet());
+
+        List<Integer> responses = query
+            .query("hello", QueryOptions.create().timeout(100, TimeUnit.MILLISECONDS).interruptStragglers())
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(responses).containsExactly(5);
+        assertThat(lateCalls).hasValue(0);
+    }
+
+    @Test
+    void testDroppedQueryFails() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .droppedEventHandler(eventObj -> { })
+            .build();
+
+        query.subscribe(str -> {
+            release.await();
+            return str.length();
+        });
+
+        // No timeout, so only dropped() can finish the dropped query.
+        CompletableFuture<List<Integer>> running = query.query("a", QueryOptions.create());
+        CompletableFuture<List<Integer>> queued = query.query("bb", QueryOptions.create());
+        CompletableFuture<List<Integer>> dropped = query.query("ccc", QueryOptions.create());
+
+        assertThatThrownBy(dropped::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).containsExactly(1);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).containsExactly(2);
+    }
+
+    @Test
+    void testHedgeTakesFirstCopy() throws Exception {
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .maxThreadPoolSize(4)
+            .maxAsync()
+            .build();
+
+        // Slow the first time only, like one overloaded replica.
+        AtomicInteger calls = new AtomicInteger();
+        query.subscribe(str -> {
+            if (calls.incrementAndGet() == 1) {
+                Thread.sleep(2_000);
+            }
+            return str.length();
+        });
+
+        long start = System.nanoTime();
+
+        List<Integer> responses = query
+            .query("hello", QueryOptions.create().hedgeAfter(50, TimeUnit.MILLISECONDS))
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(responses).containsExactly(5);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_500);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void testLatencyPercentile() {
+
+        QueryLatencyTracker tracker = new QueryLatencyTracker();
+        assertThat(tracker.percentileNanos(95)).isEqualTo(-1);
+
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertThat(tracker.percentileNanos(95)).isEqualTo(95);
+        assertThat(tracker.percentileNanos(50)).isEqualTo(50);
+    }
+}
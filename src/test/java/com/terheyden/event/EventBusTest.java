@@ -0,0 +1,90 @@
+package com.terheyden.event;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EventBusTest unit tests.
+ */
+class EventBusTest {
+
+    @Test
+    void testClassHierarchyDispatch() {
+
+        EventBus eventBus = EventRouters
+            .createEventBus()
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(Integer.class, num -> received.add("Integer " + num));
+        eventBus.subscribe(Number.class, num -> received.add("Number " + num));
+        eventBus.subscribe(Comparable.class, obj -> received.add("Comparable " + obj));
+        eventBus.subscribe(Serializable.class, obj -> received.add("Serializable " + obj));
+        eventBus.subscribe(String.class, str -> received.add("String " + str));
+
+        eventBus.publish(42);
+
+        assertThat(received).containsExactly("Integer 42", "Number 42", "Comparable 42", "Serializable 42");
+
+        received.clear();
+        eventBus.publish(1.5);
+
+        assertThat(received).containsExactly("Number 1.5", "Comparable 1.5", "Serializable 1.5");
+    }
+
+    @Test
+    void testCacheIsRefreshedOnSubscriptionChanges() {
+
+        EventBus eventBus = EventRouters
+            .createEventBus()
+            .publishOnCallingThread()
+            .build();
+
+        List<Object> received = new CopyOnWriteArrayList<>();
+        eventBus.publish("warm up the cache");
+
+        UUID subId = eventBus.subscribe(CharSequence.class, received::add);
+        eventBus.publish("one");
+        eventBus.unsubscribe(subId);
+        eventBus.publish("two");
+
+        UUID numberSubId = eventBus.subscribe(Number.class, received::add);
+        eventBus.publish(3);
+        eventBus.unsubscribe(SubscriptionIds.toId(numberSubId));
+        eventBus.publish(4);
+
+        assertThat(received).containsExactly("one", 3);
+        assertThat(eventBus.getSubscriptions()).isEmpty();
+    }
+
+    @Test
+    void testNoSubscribersEvent() {
+
+        EventBus eventBus = EventRouters
+            .createEventBus()
+            .publishOnCallingThread()
+            .build();
+
+        List<Object> unhandled = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(SpecialEvent.class, event -> unhandled.add(((NoSubscribersEvent) event).event()));
+        eventBus.subscribe(Integer.class, num -> { });
+
+        eventBus.publish(1);
+        eventBus.publish("nobody listens to strings");
+
+        assertThat(unhandled).containsExactly("nobody listens to strings");
+    }
+
+    @Test
+    void testTypeHierarchy() {
+        assertThat(EventTypeSubscriberManager.typeHierarchy(NoSubscribersEvent.class))
+            .containsExactly(NoSubscribersEvent.class, Object.class, SpecialEvent.class);
+    }
+}
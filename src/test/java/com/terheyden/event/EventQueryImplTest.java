@@ -1,11 +1,24 @@
 package com.terheyden.event;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -34,6 +47,168 @@ class EventQueryImplTest {
         latch.await();
     }
 
+    @Test
+    void testPublishAll() throws InterruptedException {
+
+        EventQuery<String, Integer> events = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .build();
+
+        List<Integer> lengths = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch batchLatch = new CountDownLatch(3);
+        events.subscribe(String::length);
+
+        events.publishAll(Arrays.asList("a", "bb", "ccc"), len -> {
+            lengths.add(len);
+            batchLatch.countDown();
+        });
+
+        assertThat(batchLatch.await(3, TimeUnit.SECONDS)).isTrue();
+        assertThat(lengths).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void testQueryAll() {
+
+        List<Object> failedEvents = new ArrayList<>();
+
+        EventQuery<String, Integer> events = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .exceptionHandler((err, eventObj) -> failedEvents.add(eventObj))
+            .build();
+
+        events.subscribe(String::length);
+        events.subscribe(str -> {
+            throw new IllegalStateException("Broken responder");
+        });
+        events.subscribe(str -> str.length() * 10);
+
+        // The broken responder doesn't stop the others.
+        assertThat(events.queryAll("hello").join()).containsExactly(5, 50);
+        assertThat(events.query("hi", Collectors.summingInt(len -> len)).join()).isEqualTo(22);
+        assertThat(failedEvents).containsExactly("hello", "hi");
+    }
+
+    @Test
+    void testQueryAllAsync() {
+
+        EventQuery<String, Integer> events = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .maxAsync()
+            .build();
+
+        for (int i = 0; i < 10; i++) {
+            events.subscribe(String::length);
+        }
+
+        assertThat(events.queryAll("hello").join()).hasSize(10).containsOnly(5);
+    }
+
+    @Test
+    void testQueryFirst() {
+
+        EventQuery<String, Integer> events = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .exceptionHandler((err, eventObj) -> { })
+            .build();
+
+        assertThatThrownBy(() -> events.queryFirst("hello").join())
+            .hasCauseInstanceOf(NoSuchElementException.class);
+        assertThat(events.queryAll("hello").join()).isEmpty();
+
+        events.subscribe(str -> {
+            throw new IllegalStateException("Broken responder");
+        });
+
+        assertThatThrownBy(() -> events.queryFirst("hello").join())
+            .hasCauseInstanceOf(NoSuchElementException.class)
+            .satisfies(e -> assertThat(e.getCause().getSuppressed())
+                .singleElement()
+                .isInstanceOf(EventRouterPublishException.class));
+
+        events.subscribe(String::length);
+        assertThat(events.queryFirst("hello").join()).isEqualTo(5);
+    }
+
+    @Test
+    void testDroppedQueriesFail() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        EventQuery<String, Integer> events = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .droppedEventHandler(eventObj -> { })
+            .build();
+
+        events.subscribe(str -> {
+            release.await();
+            return str.length();
+        });
+
+        // The first query occupies the only thread, the second fills the queue, and the rest are dropped.
+        CompletableFuture<List<Integer>> running = events.queryAll("a");
+        CompletableFuture<List<Integer>> queued = events.queryAll("bb");
+        CompletableFuture<List<Integer>> droppedAll = events.queryAll("ccc");
+        CompletableFuture<Integer> droppedFirst = events.queryFirst("dddd");
+
+        assertThat(events.getDroppedEventCount()).isEqualTo(2);
+        assertThatThrownBy(droppedAll::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(droppedFirst::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(running.join()).containsExactly(1);
+        assertThat(queued.join()).containsExactly(2);
+    }
+
+    @Test
+    void testRejectedRespondersStillCountDown() throws Exception {
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        pool.shutdown();
+
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        EventQuery<String, Integer> events = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .customThreadPool(pool)
+            .publishOnCallingThread()
+            .maxAsync()
+            .exceptionHandler((err, eventObj) -> errors.add(err))
+            .build();
+
+        events.subscribe(String::length);
+        events.subscribe(String::length);
+
+        assertThat(events.queryAll("hi").get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(events.query("hi", Collectors.counting()).get(5, TimeUnit.SECONDS)).isZero();
+        assertThatThrownBy(() -> events.queryFirst("hi").get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(NoSuchElementException.class);
+        assertThat(errors).hasSize(6).allMatch(err -> err instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void testResponderErrorStillCountsDown() {
+
+        CollectingQueryRequest<String, Integer, List<Integer>> request =
+            new CollectingQueryRequest<>("hello", 1, Collectors.toList());
+
+        EventQuerySubscription<String, Integer> responder = new EventQuerySubscription<>(str -> {
+            throw new StackOverflowError("Broken responder");
+        });
+
+        assertThatThrownBy(() -> SendStrategies.sendQueryEventResponse(request, responder, (err, eventObj) -> { }))
+            .isInstanceOf(StackOverflowError.class);
+        assertThat(request.getFuture()).isCompletedWithValue(Collections.emptyList());
+    }
+
     // Called back by the event query responder.
     private void verifyQueryResult(int strLen) {
         LOG.debug("Got query result: {}", strLen);
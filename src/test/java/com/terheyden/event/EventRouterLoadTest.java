@@ -6,7 +6,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -73,6 +75,44 @@ class EventRouterLoadTest {
             CPU_DELAY_MS);
     }
 
+    /**
+     * Test throughput of the ring buffer dispatcher, assuming it's a CPU-intensive system.
+     */
+    @Test
+    @Disabled("load test")
+    void testRingBufferCPUConfig() throws InterruptedException {
+
+        int numberOfEvents = 300_000;
+
+        runLoadTest(EventRouters
+            .createWithEventType(String.class)
+            .ringBufferDispatcher(64 * 1024)
+            .build(),
+            MEDIUM_SUBSCRIBER_COUNT,
+            numberOfEvents,
+            CPU_DELAY_MS);
+    }
+
+    /**
+     * Test throughput of the priority lane dispatcher, with a mix of priorities,
+     * assuming it's a CPU-intensive system.
+     */
+    @Test
+    @Disabled("load test")
+    void testPriorityDispatchCPUConfig() throws InterruptedException {
+
+        int numberOfEvents = 300_000;
+
+        runLoadTest(EventRouters
+            .createWithEventType(String.class)
+            .priorityDispatch()
+            .build(),
+            MEDIUM_SUBSCRIBER_COUNT,
+            numberOfEvents,
+            CPU_DELAY_MS,
+            Priority.values());
+    }
+
     /**
      * Test throughput of the default config, assuming it's a CPU-intensive system.
      * 2M / sec.
@@ -140,6 +180,20 @@ class EventRouterLoadTest {
         int eventDelayMs)
         throws InterruptedException {
 
+        runLoadTest(eventRouter, subscriberCount, eventCount, eventDelayMs, Priority.NORMAL);
+    }
+
+    /**
+     * Run the load test, publishing each event with the next of the given priorities, round-robin.
+     */
+    private void runLoadTest(
+        EventRouter<String> eventRouter,
+        int subscriberCount,
+        int eventCount,
+        int eventDelayMs,
+        Priority... priorities)
+        throws InterruptedException {
+
         // We'll use a CountDownLatch to wait for all subscribers to finish.
         CountDownLatch latch = new CountDownLatch(subscriberCount);
 
@@ -155,7 +209,7 @@ class EventRouterLoadTest {
         long start = System.currentTimeMillis();
 
         for (int i = 0; i < eventCount; i++) {
-            eventRouter.publish(stringEvent);
+            eventRouter.publish(stringEvent, priorities[i % priorities.length]);
         }
 
         LOG.info("All events queued; waiting for subscribers to finish...");
@@ -257,6 +311,19 @@ class EventRouterLoadTest {
             modifiableEventRouter.publish(eventObj);
         }
 
+        @Override
+        public CompletionStage<PublishResult> publishAsync(T eventObj) {
+            int subscriberCount = modifiableEventRouter.getSubscriptions().size();
+            return modifiableEventRouter
+                .publishAndGet(eventObj)
+                .thenApply(result -> new PublishResult(subscriberCount, subscriberCount, 0, 0));
+        }
+
+        @Override
+        public void publishAll(Iterable<? extends T> eventObjs) {
+            modifiableEventRouter.publishAll(eventObjs);
+        }
+
         @Override
         public void unsubscribe(UUID subscriptionId) {
             modifiableEventRouter.unsubscribe(subscriptionId);
@@ -271,5 +338,15 @@ class EventRouterLoadTest {
         public ThreadPoolExecutor getThreadPool() {
             return modifiableEventRouter.getThreadPool();
         }
+
+        @Override
+        public Executor getExecutor() {
+            return modifiableEventRouter.getExecutor();
+        }
+
+        @Override
+        public long getDroppedEventCount() {
+            return modifiableEventRouter.getDroppedEventCount();
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.terheyden.event;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -86,4 +87,41 @@ class EventRouterTest {
         assertThat(list1).contains(HELLO, WORLD);
         assertThat(list2).contains(HELLO, WORLD);
     }
+
+    @Test
+    void testPublishAll() {
+
+        EventRouter<String> asyncRouter = EventRouters
+            .createWithEventType(String.class)
+            .maxAsync()
+            .build();
+
+        List<String> list1 = Collections.synchronizedList(new ArrayList<>());
+        List<String> list2 = Collections.synchronizedList(new ArrayList<>());
+        asyncRouter.subscribe(list1::add);
+        asyncRouter.subscribe(list2::add);
+
+        asyncRouter.publishAll("a", "b", "c", "d", "e");
+        awaitEmpty(asyncRouter);
+
+        // Even in maxAsync mode, each subscriber sees the batch in order.
+        assertThat(list1).containsExactly("a", "b", "c", "d", "e");
+        assertThat(list2).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void testPublishOnCallingThread() {
+
+        EventRouter<String> inlineRouter = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<Thread> threads = new ArrayList<>();
+        inlineRouter.subscribe(str -> threads.add(Thread.currentThread()));
+
+        // No waiting required — the event is sent before publish() returns.
+        inlineRouter.publish(HELLO);
+        assertThat(threads).containsExactly(Thread.currentThread());
+    }
 }
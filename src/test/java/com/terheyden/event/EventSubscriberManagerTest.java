@@ -0,0 +1,95 @@
+package com.terheyden.event;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EventSubscriberManagerTest unit tests.
+ */
+class EventSubscriberManagerTest {
+
+    private final EventSubscriberManager manager = new EventSubscriberManager();
+
+    @Test
+    void testSnapshotIsStable() {
+
+        EventRouterSubscription<String> sub1 = new EventRouterSubscription<>(str -> { });
+        EventRouterSubscription<String> sub2 = new EventRouterSubscription<>(str -> { });
+
+        manager.subscribe(sub1);
+        EventSubscription[] snapshot = manager.getSubscriberSnapshot();
+
+        // Changes after the snapshot is taken shouldn't be visible in it.
+        manager.subscribe(sub2);
+        assertThat(snapshot).containsExactly(sub1);
+        assertThat(manager.getSubscriberSnapshot()).containsExactly(sub1, sub2);
+
+        manager.unsubscribe(sub1.getSubscriptionId());
+        assertThat(snapshot).containsExactly(sub1);
+        assertThat(manager.getSubscriberSnapshot()).containsExactly(sub2);
+    }
+
+    @Test
+    void testUnsubscribeUnknownId() {
+
+        EventRouterSubscription<String> sub = new EventRouterSubscription<>(str -> { });
+        manager.subscribe(sub);
+        EventSubscription[] snapshot = manager.getSubscriberSnapshot();
+
+        manager.unsubscribe(UUID.randomUUID());
+        assertThat(manager.getSubscriberSnapshot()).isSameAs(snapshot);
+        assertThat(manager.getSubscribers()).containsExactly(sub);
+    }
+
+    @Test
+    void testUnsubscribeCancelsThenCompacts() {
+
+        EventRouterSubscription<String> sub1 = new EventRouterSubscription<>(str -> { });
+        EventRouterSubscription<String> sub2 = new EventRouterSubscription<>(str -> { });
+        EventRouterSubscription<String> sub3 = new EventRouterSubscription<>(str -> { });
+        EventRouterSubscription<String> sub4 = new EventRouterSubscription<>(str -> { });
+        manager.subscribe(sub1);
+        manager.subscribe(sub2);
+        manager.subscribe(sub3);
+        manager.subscribe(sub4);
+        EventSubscription[] snapshot = manager.getSubscriberSnapshot();
+
+        // One of four cancelled: marked, but not copied out yet.
+        manager.unsubscribe(sub2.getId());
+        assertThat(sub2.isCancelled()).isTrue();
+        assertThat(sub2.accepts(new EventRequest<>("hi"))).isFalse();
+        assertThat(manager.getSubscriberSnapshot()).isSameAs(snapshot);
+        assertThat(manager.getSubscribers()).containsExactly(sub1, sub3, sub4);
+
+        // Half cancelled: compacted.
+        manager.unsubscribe(sub3.getSubscriptionId());
+        assertThat(manager.getSubscriberSnapshot()).containsExactly(sub1, sub4);
+    }
+
+    @Test
+    void testSubscriptionHandle() {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        StringBuilder received = new StringBuilder();
+
+        try (SubscriptionHandle handle = router.subscribeHandle(received::append)) {
+            assertThat(router.getSubscriptions()).containsExactly(handle.getSubscriptionId());
+            assertThat(SubscriptionIds.toId(handle.getSubscriptionId())).isEqualTo(handle.getId());
+            assertThat(handle.getSubscriptionId().version()).isEqualTo(8);
+            assertThat(handle.getSubscriptionId().variant()).isEqualTo(2);
+            assertThat(SubscriptionIds.toId(UUID.randomUUID())).isEqualTo(SubscriptionIds.NO_ID);
+            router.publish("in");
+        }
+
+        router.publish("out");
+        assertThat(received.toString()).isEqualTo("in");
+        assertThat(router.getSubscriptions()).isEmpty();
+    }
+}
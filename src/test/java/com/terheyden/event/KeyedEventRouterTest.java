@@ -0,0 +1,61 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * KeyedEventRouterTest unit tests.
+ */
+class KeyedEventRouterTest {
+
+    @Test
+    void testOnlyKeySubscribersReceive() {
+
+        KeyedEventRouter<Integer, String> router = EventRouters
+            .createWithEventType(String.class)
+            .keyType(Integer.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        for (int key = 0; key < 1_000; key++) {
+            int subKey = key;
+            router.subscribe(key, str -> received.add(subKey + ":" + str));
+        }
+
+        router.subscribe(7, str -> received.add("another 7:" + str));
+
+        router.publish(7, "hello");
+        router.publish(5_000, "nobody home");
+
+        assertThat(received).containsExactly("7:hello", "another 7:hello");
+    }
+
+    @Test
+    void testUnsubscribeRemovesEmptyKeys() {
+
+        KeyedSubscriberManager<String> manager = new KeyedSubscriberManager<>();
+        EventRouterSubscription<String> sub1 = new EventRouterSubscription<>(str -> { });
+        EventRouterSubscription<String> sub2 = new EventRouterSubscription<>(str -> { });
+
+        manager.subscribe("a", sub1);
+        manager.subscribe("a", sub2);
+        manager.subscribe("b", new EventRouterSubscription<>(str -> { }));
+        assertThat(manager.getKeyCount()).isEqualTo(2);
+
+        manager.unsubscribe(sub1.getSubscriptionId());
+        assertThat(manager.getSubscriberSnapshot("a")).containsExactly(sub2);
+
+        manager.unsubscribe(sub2.getId());
+        manager.unsubscribe(UUID.randomUUID());
+        assertThat(manager.getSubscriberSnapshot("a")).isEmpty();
+        assertThat(manager.getKeyCount()).isEqualTo(1);
+        assertThat(manager.getSubscribers()).hasSize(1);
+    }
+}
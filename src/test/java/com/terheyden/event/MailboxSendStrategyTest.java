@@ -0,0 +1,133 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MailboxSendStrategyTest unit tests.
+ */
+class MailboxSendStrategyTest {
+
+    private static final int EVENT_COUNT = 1_000;
+
+    @Test
+    void testEachSubscriberIsOrderedAndSingleThreaded() throws InterruptedException {
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .perSubscriberMailboxes()
+            .build();
+
+        CountDownLatch latch = new CountDownLatch(2);
+        OrderCheckingSubscriber sub1 = new OrderCheckingSubscriber(latch);
+        OrderCheckingSubscriber sub2 = new OrderCheckingSubscriber(latch);
+        router.subscribe(sub1::onEvent);
+        router.subscribe(sub2::onEvent);
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            router.publish(i);
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(sub1.received).hasSize(EVENT_COUNT).isSorted();
+        assertThat(sub2.received).hasSize(EVENT_COUNT).isSorted();
+        assertThat(sub1.maxConcurrency.get()).isEqualTo(1);
+        assertThat(sub2.maxConcurrency.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotBlockOthers() throws InterruptedException {
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .perSubscriberMailboxes()
+            .build();
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(10);
+
+        router.subscribe(num -> release.await());
+        router.subscribe(num -> fastDone.countDown());
+
+        for (int i = 0; i < 10; i++) {
+            router.publish(i);
+        }
+
+        assertThat(fastDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void testPublishInOrderAfterMailboxesRestoresThreadPoolDispatch() throws InterruptedException {
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .perSubscriberMailboxes()
+            .publishInOrder()
+            .build();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> subscriberThread = new AtomicReference<>();
+        router.subscribe(num -> {
+            subscriberThread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        router.publish(1);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriberThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void testMailboxesRejectOtherDispatchers() {
+
+        assertThatThrownBy(() -> EventRouters
+            .createWithEventType(Integer.class)
+            .perSubscriberMailboxes()
+            .ringBufferDispatcher(64, 1)
+            .build())
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> EventRouters
+            .createWithEventType(Integer.class)
+            .priorityDispatch()
+            .perSubscriberMailboxes()
+            .build())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Records events, and how many threads were ever inside it at once.
+     */
+    private static final class OrderCheckingSubscriber {
+
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger concurrency = new AtomicInteger();
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+        private final CountDownLatch latch;
+
+        OrderCheckingSubscriber(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        void onEvent(int num) {
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            received.add(num);
+            concurrency.decrementAndGet();
+            if (received.size() == EVENT_COUNT) {
+                latch.countDown();
+            }
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package com.terheyden.event;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-
 /**
  * Mocks class.
  */
@@ -17,12 +14,6 @@ public final class Mocks {
         return new PublishRequest<>(
             new EventRequest<>(event),
             new SequentialSendStrategy<>(EventRouters.DEFAULT_EXCEPTION_HANDLER),
-            queue(subscription));
-    }
-
-    static Queue<EventSubscription> queue(EventSubscription subscription) {
-        Queue<EventSubscription> queue = new ConcurrentLinkedQueue<>();
-        queue.add(subscription);
-        return queue;
+            new EventSubscription[] { subscription });
     }
 }
@@ -1,5 +1,13 @@
 package com.terheyden.event;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -60,4 +68,193 @@ class ModifiableEventRouterImplTest {
         router.publish(testStr);
         EventUtils.sleep(300);
     }
+
+    @Test
+    void testReadOnlySubscribersSeeFinalEvent() throws InterruptedException {
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .publishOnCallingThread()
+            .build();
+
+        List<String> observed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+
+        // Subscribed before the modifier, but still sees the modified event.
+        router.subscribeReadOnly(str -> {
+            observed.add(str);
+            latch.countDown();
+        });
+
+        router.subscribe(String::toUpperCase);
+
+        router.subscribeReadOnly(str -> {
+            observed.add(str);
+            latch.countDown();
+        });
+
+        router.publish("hi");
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(observed).containsExactly("HI", "HI");
+    }
+
+    @Test
+    void testReadOnlySubscribersSkipCancelledEvents() {
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .publishOnCallingThread()
+            .build();
+
+        List<String> observed = new CopyOnWriteArrayList<>();
+        router.subscribeReadOnly(observed::add);
+        router.subscribe(str -> str.startsWith("drop") ? null : str);
+
+        router.publish("drop me");
+        router.publish("keep me");
+
+        assertThat(observed).containsExactly("keep me");
+    }
+
+    @Test
+    void testReadOnlySubscribersRunInParallel() throws InterruptedException {
+
+        int observerCount = 10;
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .maxThreadPoolSize(observerCount)
+            .build();
+
+        CountDownLatch latch = new CountDownLatch(observerCount);
+        for (int i = 0; i < observerCount; i++) {
+            router.subscribeReadOnly(str -> {
+                EventUtils.sleep(200);
+                latch.countDown();
+            });
+        }
+
+        long start = System.nanoTime();
+        router.publish(testStr);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Run serially, they'd take 2 seconds.
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1500);
+    }
+
+    @Test
+    void testReadOnlySubscriberSeesEventsOneAtATimeInOrder() throws InterruptedException {
+
+        int eventCount = 50;
+
+        ModifiableEventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .modifiableEvents()
+            .publishOnCallingThread()
+            .maxThreadPoolSize(4)
+            .build();
+
+        List<Integer> observed = new CopyOnWriteArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(eventCount);
+
+        // The first observer is sent to the thread pool; the last one runs on the publishing thread.
+        router.subscribeReadOnly(num -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            EventUtils.sleep(1);
+            observed.add(num);
+            running.decrementAndGet();
+            latch.countDown();
+        });
+        router.subscribeReadOnly(num -> { });
+
+        for (int i = 0; i < eventCount; i++) {
+            router.publish(i);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(observed).isSorted().hasSize(eventCount);
+    }
+
+    @Test
+    void testReadOnlySubscribersSeeBatchInOrder() throws InterruptedException {
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .build();
+
+        List<String> observed = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+
+        router.subscribe(str -> str.equals("b") ? null : str + "!");
+        router.subscribeReadOnly(str -> {
+            observed.add(str);
+            latch.countDown();
+        });
+
+        router.publishAll("a", "b", "c", "d");
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(observed).containsExactly("a!", "c!", "d!");
+    }
+
+    @Test
+    void testPublishAndGetReturnsFinalEvent() throws Exception {
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .build();
+
+        CountDownLatch observed = new CountDownLatch(1);
+
+        router.subscribe(String::trim);
+        router.subscribe(str -> str.isEmpty() ? null : str.toUpperCase());
+        router.subscribeReadOnly(str -> observed.countDown());
+
+        assertThat(router.publishAndGet("  hi  ").get(5, TimeUnit.SECONDS)).contains("HI");
+        assertThat(observed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Cancelled by a subscriber.
+        assertThat(router.publishAndGet("   ").get(5, TimeUnit.SECONDS)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void testPublishAndGetKeepsEventWhenSubscriberThrows() throws Exception {
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .exceptionHandler((err, eventObj) -> { })
+            .publishOnCallingThread()
+            .build();
+
+        router.subscribe(str -> {
+            throw new IllegalStateException("Boom");
+        });
+        router.subscribe(str -> str + "!");
+
+        assertThat(router.publishAndGet("hi")).isCompletedWithValue(Optional.of("hi!"));
+    }
+
+    @Test
+    void testPublishAndGetWithNoSubscribersReturnsEvent() {
+
+        ModifiableEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .modifiableEvents()
+            .build();
+
+        assertThat(router.publishAndGet("hi")).isCompletedWithValue(Optional.of("hi"));
+
+        // Still the case after the last subscriber leaves.
+        UUID subscriptionId = router.subscribe(String::toUpperCase);
+        router.unsubscribe(subscriptionId);
+        assertThat(router.publishAndGet("bye")).isCompletedWithValue(Optional.of("bye"));
+    }
 }
@@ -0,0 +1,213 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OverflowHandlerTest unit tests.
+ */
+class OverflowHandlerTest {
+
+    @Test
+    void testDropNewest() throws InterruptedException {
+
+        List<Object> dropped = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch received = new CountDownLatch(3);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(2, OverflowPolicy.DROP_NEWEST)
+            .droppedEventHandler(dropped::add)
+            .build();
+
+        router.subscribe(num -> {
+            release.await();
+            received.countDown();
+        });
+
+        // The first event occupies the only thread, the next two fill the queue, and the rest are dropped.
+        for (int i = 1; i <= 5; i++) {
+            router.publish(i);
+        }
+
+        assertThat(router.getDroppedEventCount()).isEqualTo(2);
+        assertThat(dropped).containsExactly(4, 5);
+
+        release.countDown();
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testDropOldest() throws InterruptedException {
+
+        List<Object> dropped = new CopyOnWriteArrayList<>();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(2, OverflowPolicy.DROP_OLDEST)
+            .droppedEventHandler(dropped::add)
+            .build();
+
+        router.subscribe(num -> {
+            release.await();
+            received.add(num);
+            done.countDown();
+        });
+
+        // The first event occupies the only thread, the next two fill the queue,
+        // and each of the rest pushes out the oldest queued event.
+        for (int i = 1; i <= 5; i++) {
+            router.publish(i);
+        }
+
+        assertThat(router.getDroppedEventCount()).isEqualTo(2);
+        assertThat(dropped).containsExactly(2, 3);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(1, 4, 5);
+    }
+
+    @Test
+    void testBlock() throws InterruptedException {
+
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.BLOCK)
+            .build();
+
+        router.subscribe(num -> {
+            release.await();
+            received.add(num);
+            done.countDown();
+        });
+
+        router.publish(1);
+        router.publish(2);
+
+        // The thread and the queue are both full, so the third publish waits for room.
+        Thread publisher = new Thread(() -> router.publish(3));
+        publisher.start();
+        awaitState(publisher, Thread.State.WAITING);
+
+        release.countDown();
+        publisher.join(5_000);
+
+        assertThat(publisher.isAlive()).isFalse();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(1, 2, 3);
+        assertThat(router.getDroppedEventCount()).isZero();
+    }
+
+    @Test
+    void testOverflowPolicyRejectedWhereItWouldBeIgnored() {
+
+        assertThatThrownBy(() -> EventRouters
+            .createWithEventType(Integer.class)
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .publishOnCallingThread()
+            .build())
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> EventRouters
+            .createWithEventType(Integer.class)
+            .priorityDispatch()
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .build())
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> EventRouters
+            .createWithEventType(Integer.class)
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .perSubscriberMailboxes()
+            .build())
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testFailFast() {
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.FAIL_FAST)
+            .build();
+
+        router.subscribe(num -> release.await());
+        router.publish(1);
+        router.publish(2);
+
+        assertThatThrownBy(() -> router.publish(3)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(router.getDroppedEventCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void testCallerRuns() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.CALLER_RUNS)
+            .build();
+
+        router.subscribe(num -> {
+            if (num == 1) {
+                release.await();
+            }
+            threadNames.add(Thread.currentThread().getName());
+        });
+
+        router.publish(1);
+        router.publish(2);
+        router.publish(3);
+
+        assertThat(threadNames).containsExactly(Thread.currentThread().getName());
+        assertThat(router.getDroppedEventCount()).isZero();
+        release.countDown();
+    }
+
+    @Test
+    void testUnboundedPoolNeverDrops() {
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .build();
+
+        assertThat(router.getDroppedEventCount()).isZero();
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (thread.getState() != state) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.yield();
+        }
+    }
+}
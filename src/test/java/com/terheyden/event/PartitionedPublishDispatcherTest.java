@@ -0,0 +1,118 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PartitionedPublishDispatcherTest unit tests.
+ */
+class PartitionedPublishDispatcherTest {
+
+    private static final int KEY_COUNT = 10;
+    private static final int EVENTS_PER_KEY = 200;
+
+    @Test
+    void testSameKeyInOrderAndOneAtATime() throws InterruptedException {
+
+        EventRouter<int[]> router = EventRouters
+            .createWithEventType(int[].class)
+            .maxThreadPoolSize(4)
+            .partitionedDispatch(event -> event[0], 4)
+            .build();
+
+        Map<Integer, List<Integer>> receivedByKey = new ConcurrentHashMap<>();
+        Map<Integer, AtomicBoolean> busyByKey = new ConcurrentHashMap<>();
+        AtomicBoolean isOverlapping = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(KEY_COUNT * EVENTS_PER_KEY);
+
+        for (int key = 0; key < KEY_COUNT; key++) {
+            receivedByKey.put(key, new CopyOnWriteArrayList<>());
+            busyByKey.put(key, new AtomicBoolean());
+        }
+
+        router.subscribe(event -> {
+            AtomicBoolean isBusy = busyByKey.get(event[0]);
+            if (!isBusy.compareAndSet(false, true)) {
+                isOverlapping.set(true);
+            }
+            receivedByKey.get(event[0]).add(event[1]);
+            isBusy.set(false);
+            latch.countDown();
+        });
+
+        List<int[]> batch = new ArrayList<>();
+        for (int seq = 0; seq < EVENTS_PER_KEY; seq++) {
+            for (int key = 0; key < KEY_COUNT; key++) {
+                // Half the events go through publish(), half through publishAll().
+                if (seq % 2 == 0) {
+                    router.publish(new int[] { key, seq });
+                } else {
+                    batch.add(new int[] { key, seq });
+                }
+            }
+            if (seq % 2 == 1) {
+                router.publishAll(batch);
+                batch = new ArrayList<>();
+            }
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(isOverlapping).isFalse();
+
+        for (List<Integer> received : receivedByKey.values()) {
+            assertThat(received).hasSize(EVENTS_PER_KEY).isSorted();
+        }
+    }
+
+    @Test
+    void testDifferentLanesRunInParallel() throws InterruptedException {
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .maxThreadPoolSize(2)
+            .partitionedDispatch(event -> event, 2)
+            .build();
+
+        // Key 0 waits for key 1, so this only finishes if the two lanes run at once.
+        CountDownLatch key1Latch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(1);
+
+        router.subscribe(event -> {
+            if (event == 0 && key1Latch.await(5, TimeUnit.SECONDS)) {
+                doneLatch.countDown();
+            } else if (event == 1) {
+                key1Latch.countDown();
+            }
+        });
+
+        router.publish(0);
+        router.publish(1);
+
+        assertThat(doneLatch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testLaneIndex() {
+
+        PartitionedPublishDispatcher<String> dispatcher = new PartitionedPublishDispatcher<>(
+            Runnable::run,
+            str -> str.isEmpty() ? null : str.substring(0, 1),
+            3);
+
+        assertThat(dispatcher.laneIndex(new EventRequest<>("")))
+            .isZero();
+        assertThat(dispatcher.laneIndex(new EventRequest<>("apple")))
+            .isEqualTo(dispatcher.laneIndex(new EventRequest<>("avocado")))
+            .isBetween(0, 2);
+    }
+}
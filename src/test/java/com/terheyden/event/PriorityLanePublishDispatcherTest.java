@@ -0,0 +1,93 @@
+package com.terheyden.event;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PriorityLanePublishDispatcherTest unit tests.
+ */
+class PriorityLanePublishDispatcherTest {
+
+    @Test
+    void testHighPrioritySkipsAhead() throws InterruptedException {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .maxThreadPoolSize(1)
+            .priorityDispatch()
+            .build();
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(12);
+        List<String> received = new CopyOnWriteArrayList<>();
+
+        router.subscribe(str -> {
+            if (str.equals("block")) {
+                blocked.countDown();
+                release.await();
+            } else {
+                received.add(str);
+            }
+            done.countDown();
+        });
+
+        // Tie up the only thread, then queue bulk traffic ahead of an urgent event.
+        router.publish("block");
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 10; i++) {
+            router.publish("telemetry", Priority.LOW);
+        }
+
+        router.publish("shutdown", Priority.HIGH);
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received.get(0)).isEqualTo("shutdown");
+    }
+
+    @Test
+    void testLowPriorityIsNotStarved() {
+
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        PriorityLanePublishDispatcher dispatcher = new PriorityLanePublishDispatcher(tasks::add);
+        List<String> received = new CopyOnWriteArrayList<>();
+        EventRouterSubscription<String> subscription = new EventRouterSubscription<>(received::add);
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(publishRequest(subscription, "high", Priority.HIGH));
+            dispatcher.dispatch(publishRequest(subscription, "low", Priority.LOW));
+        }
+
+        // One full round of the weighted round-robin.
+        for (int i = 0; i < 21; i++) {
+            tasks.remove().run();
+        }
+
+        // NORMAL has nothing waiting, so its turns go to HIGH.
+        assertThat(received).filteredOn("low"::equals).hasSize(1);
+        assertThat(received).filteredOn("high"::equals).hasSize(20);
+        assertThat(dispatcher.getQueuedCount(Priority.LOW)).isEqualTo(99);
+    }
+
+    private static PublishRequest<String> publishRequest(
+        EventSubscription subscription,
+        String event,
+        Priority priority) {
+
+        return new PublishRequest<>(
+            new EventRequest<>(event),
+            new SequentialSendStrategy<>(EventRouters.DEFAULT_EXCEPTION_HANDLER),
+            new EventSubscription[] { subscription },
+            priority);
+    }
+}
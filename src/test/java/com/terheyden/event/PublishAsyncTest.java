@@ -0,0 +1,214 @@
+package com.terheyden.event;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link EventRouter#publishAsync(Object)} unit tests.
+ */
+class PublishAsyncTest {
+
+    @Test
+    void testCompletesWithCountsOnceAllSubscribersAreDone() throws Exception {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .exceptionHandler((err, eventObj) -> { })
+            .build();
+
+        AtomicInteger handledCount = new AtomicInteger();
+
+        router.subscribe(str -> handledCount.incrementAndGet());
+        router.subscribe(str -> {
+            handledCount.incrementAndGet();
+            throw new IllegalStateException("Boom");
+        });
+        router.subscribe(str -> {
+            EventUtils.sleep(100);
+            handledCount.incrementAndGet();
+        });
+
+        PublishResult result = await(router.publishAsync("hi"));
+
+        assertThat(handledCount.get()).isEqualTo(3);
+        assertThat(result.getSubscriberCount()).isEqualTo(3);
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(result.isSuccess()).isFalse();
+    }
+
+    @Test
+    void testTracksParallelSubscribers() throws Exception {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .maxThreadPoolSize(4)
+            .maxAsync()
+            .build();
+
+        AtomicInteger handledCount = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            router.subscribe(str -> {
+                EventUtils.sleep(50);
+                handledCount.incrementAndGet();
+            });
+        }
+
+        PublishResult result = await(router.publishAsync("hi"));
+
+        assertThat(handledCount.get()).isEqualTo(4);
+        assertThat(result.getSuccessCount()).isEqualTo(4);
+        assertThat(result.isSuccess()).isTrue();
+    }
+
+    @Test
+    void testTracksMailboxSubscribers() throws Exception {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .perSubscriberMailboxes()
+            .build();
+
+        AtomicInteger handledCount = new AtomicInteger();
+        router.subscribe(str -> handledCount.incrementAndGet());
+        router.subscribe(str -> handledCount.incrementAndGet());
+
+        PublishResult result = await(router.publishAsync("hi"));
+
+        assertThat(handledCount.get()).isEqualTo(2);
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testCountsFilteredSubscribersAsSkipped() throws Exception {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .build();
+
+        router.subscribe(str -> str.startsWith("a"), str -> { });
+        router.subscribe(str -> str.startsWith("b"), str -> { });
+
+        PublishResult result = await(router.publishAsync("apple"));
+
+        assertThat(result.getSubscriberCount()).isEqualTo(2);
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getSkippedCount()).isEqualTo(1);
+        assertThat(result.isSuccess()).isTrue();
+    }
+
+    @Test
+    void testCompletesImmediatelyWithoutSubscribers() throws Exception {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .build();
+
+        CompletableFuture<PublishResult> future = router.publishAsync("hi").toCompletableFuture();
+
+        assertThat(future).isDone();
+        assertThat(future.get().getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void testFailsWhenEventIsDropped() throws Exception {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .droppedEventHandler(eventObj -> { })
+            .build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        router.subscribe(str -> {
+            started.countDown();
+            release.await();
+        });
+
+        // Occupy the only thread, then fill the queue.
+        router.publish("1");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        router.publish("2");
+
+        CompletableFuture<PublishResult> future = router.publishAsync("3").toCompletableFuture();
+        release.countDown();
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void testCompletesWhenThePoolRejectsSubscribers() throws Exception {
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        pool.shutdown();
+
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .customThreadPool(pool)
+            .publishOnCallingThread()
+            .maxAsync()
+            .exceptionHandler((err, eventObj) -> errors.add(err))
+            .build();
+
+        router.subscribe(str -> { });
+        router.subscribe(str -> { });
+
+        PublishResult result = await(router.publishAsync("hi"));
+
+        assertThat(result.getSubscriberCount()).isEqualTo(2);
+        assertThat(result.getFailureCount()).isEqualTo(2);
+        assertThat(errors).hasSize(2).allMatch(err -> err instanceof RejectedExecutionException);
+
+        // Batches too: each subscriber fails each event.
+        router.publishAll(Arrays.asList("a", "b"));
+        assertThat(errors).hasSize(6);
+    }
+
+    @Test
+    void testCompletesWhenThePoolRejectsMailboxes() throws Exception {
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        pool.shutdown();
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .customThreadPool(pool)
+            .perSubscriberMailboxes()
+            .exceptionHandler((err, eventObj) -> { })
+            .build();
+
+        router.subscribe(str -> { });
+
+        assertThat(await(router.publishAsync("1")).getFailureCount()).isEqualTo(1);
+
+        // The mailbox isn't left stuck as scheduled.
+        assertThat(await(router.publishAsync("2")).getFailureCount()).isEqualTo(1);
+    }
+
+    private static PublishResult await(CompletionStage<PublishResult> stage) throws Exception {
+        return stage.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+}
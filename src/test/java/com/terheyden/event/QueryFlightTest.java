@@ -0,0 +1,179 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * QueryFlightTest unit tests.
+ */
+class QueryFlightTest {
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final AtomicInteger callCount = new AtomicInteger();
+
+    private EventQuery<String, Integer> createQuery() {
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .coalesceQueries()
+            .build();
+
+        query.subscribe(str -> {
+            callCount.incrementAndGet();
+            gate.await(5, TimeUnit.SECONDS);
+            return str.length();
+        });
+
+        return query;
+    }
+
+    @Test
+    void testConcurrentQueriesShareOneDispatch() throws InterruptedException {
+
+        EventQuery<String, Integer> query = createQuery();
+        List<CompletableFuture<List<Integer>>> futures = new ArrayList<>();
+        List<Integer> callbackResponses = new CopyOnWriteArrayList<>();
+        CountDownLatch callbackLatch = new CountDownLatch(10);
+
+        for (int i = 0; i < 50; i++) {
+            futures.add(query.queryAll("hello"));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            query.query("hello", len -> {
+                callbackResponses.add(len);
+                callbackLatch.countDown();
+            });
+        }
+
+        CompletableFuture<Integer> first = query.queryFirst("hello");
+        CompletableFuture<List<Integer>> other = query.queryAll("hi");
+        gate.countDown();
+
+        for (CompletableFuture<List<Integer>> future : futures) {
+            assertThat(future.join()).containsExactly(5);
+        }
+
+        assertThat(callbackLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(callbackResponses).hasSize(10).containsOnly(5);
+        assertThat(first.join()).isEqualTo(5);
+        assertThat(other.join()).containsExactly(2);
+        assertThat(callCount).hasValue(2);
+
+        // Once it's done, the next query is dispatched again.
+        assertThat(query.queryAll("hello").join()).containsExactly(5);
+        assertThat(callCount).hasValue(3);
+    }
+
+    @Test
+    void testLateJoinerIsCaughtUp() throws InterruptedException {
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .coalesceQueries()
+            .build();
+
+        CountDownLatch firstResponseLatch = new CountDownLatch(1);
+
+        query.subscribe(String::length);
+        query.subscribe(str -> {
+            gate.await(5, TimeUnit.SECONDS);
+            return -1;
+        });
+
+        query.query("hello", len -> firstResponseLatch.countDown());
+        assertThat(firstResponseLatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Joins after the first response has already arrived.
+        List<Integer> lateResponses = new CopyOnWriteArrayList<>();
+        CountDownLatch lateLatch = new CountDownLatch(2);
+        query.query("hello", len -> {
+            lateResponses.add(len);
+            lateLatch.countDown();
+        });
+
+        gate.countDown();
+        assertThat(lateLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lateResponses).containsExactly(5, -1);
+    }
+
+    @Test
+    void testDroppedFlightIsNotJoined() throws Exception {
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .coalesceQueries()
+            .maxThreadPoolSize(1)
+            .maxQueueSize(1, OverflowPolicy.DROP_NEWEST)
+            .droppedEventHandler(eventObj -> { })
+            .build();
+
+        query.subscribe(str -> {
+            gate.await(5, TimeUnit.SECONDS);
+            return str.length();
+        });
+
+        // The first query occupies the only thread, the second fills the queue, and the third is dropped.
+        CompletableFuture<List<Integer>> running = query.queryAll("a");
+        CompletableFuture<List<Integer>> queued = query.queryAll("bb");
+        CompletableFuture<List<Integer>> dropped = query.queryAll("ccc");
+
+        assertThatThrownBy(dropped::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+        gate.countDown();
+        assertThat(running.join()).containsExactly(1);
+        assertThat(queued.join()).containsExactly(2);
+
+        // Dispatched again, rather than joining the dropped flight.
+        assertThat(query.queryAll("ccc").get(5, TimeUnit.SECONDS)).containsExactly(3);
+    }
+
+    @Test
+    void testCallbacksRunOutsideTheLock() throws InterruptedException {
+
+        EventQuery<String, Integer> query = EventRouters
+            .createWithEventType(String.class)
+            .eventReplyType(Integer.class)
+            .coalesceQueries()
+            .build();
+
+        query.subscribe(String::length);
+        query.subscribe(str -> {
+            gate.await(5, TimeUnit.SECONDS);
+            return -1;
+        });
+
+        List<Integer> joinerResponses = new CopyOnWriteArrayList<>();
+        CountDownLatch joinerLatch = new CountDownLatch(2);
+
+        // While the first callback runs, another thread joins the same flight.
+        query.query("hello", len -> {
+            if (len == 5) {
+                CompletableFuture
+                    .runAsync(() -> query.query("hello", joinerLen -> {
+                        joinerResponses.add(joinerLen);
+                        joinerLatch.countDown();
+                    }))
+                    .get(5, TimeUnit.SECONDS);
+                gate.countDown();
+            }
+        });
+
+        assertThat(joinerLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(joinerResponses).containsExactly(5, -1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.terheyden.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RingBufferPublishDispatcherTest unit tests.
+ */
+class RingBufferPublishDispatcherTest {
+
+    @Test
+    void testCapacityIsPowerOfTwo() {
+        assertThat(new RingBufferPublishDispatcher(1, 1).capacity()).isEqualTo(2);
+        assertThat(new RingBufferPublishDispatcher(8, 1).capacity()).isEqualTo(8);
+        assertThat(new RingBufferPublishDispatcher(1000, 1).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void testManyProducersWrapTheRing() throws InterruptedException {
+
+        int producerCount = 4;
+        int eventsPerProducer = 5_000;
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(producerCount * eventsPerProducer);
+
+        // A tiny ring, so producers have to wait for it and it wraps many times.
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .ringBufferDispatcher(16, 2)
+            .build();
+
+        router.subscribe(num -> {
+            received.incrementAndGet();
+            latch.countDown();
+        });
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    router.publish(i);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received.get()).isEqualTo(producerCount * eventsPerProducer);
+    }
+
+    @Test
+    void testSingleWorkerKeepsOrder() throws InterruptedException {
+
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .ringBufferDispatcher(8, 1)
+            .build();
+
+        router.subscribe(num -> {
+            results.add(num);
+            latch.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            router.publish(i);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(results.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void testSubscriberCanPublishIntoFullRing() throws InterruptedException {
+
+        CountDownLatch latch = new CountDownLatch(1);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .ringBufferDispatcher(1, 1)
+            .build();
+
+        // The only worker publishes back into its own (full) ring; it must not deadlock.
+        router.subscribe(num -> {
+            if (num < 10) {
+                router.publish(num + 1);
+                router.publish(num + 1);
+            } else {
+                latch.countDown();
+            }
+        });
+
+        router.publish(0);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testWorkersStartOnDemandAndExitWhenIdle() throws InterruptedException {
+
+        RingBufferPublishDispatcher dispatcher =
+            new RingBufferPublishDispatcher(8, 2, TimeUnit.MILLISECONDS.toNanos(50));
+
+        EventRouter<Integer> router = new EventRouterImpl<>(
+            EventRouters.DEFAULT_EXCEPTION_HANDLER,
+            EventRouters.createThreadPool(1),
+            new SequentialSendStrategy<>(EventRouters.DEFAULT_EXCEPTION_HANDLER),
+            dispatcher);
+
+        AtomicInteger received = new AtomicInteger();
+        router.subscribe(num -> received.incrementAndGet());
+
+        // No threads until there's something to do.
+        assertThat(dispatcher.liveWorkerCount()).isZero();
+
+        router.publish(1);
+        assertThat(dispatcher.liveWorkerCount()).isPositive();
+        awaitLiveWorkers(dispatcher, 0);
+        assertThat(received.get()).isEqualTo(1);
+
+        // And they come back for the next event.
+        router.publish(2);
+        awaitLiveWorkers(dispatcher, 0);
+        assertThat(received.get()).isEqualTo(2);
+    }
+
+    private static void awaitLiveWorkers(RingBufferPublishDispatcher dispatcher, int count) {
+
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (dispatcher.liveWorkerCount() != count) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            EventUtils.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * StagedEventRouter unit tests.
+ */
+class StagedEventRouterTest {
+
+    @Test
+    void testEventsFlowThroughStagesInOrder() throws InterruptedException {
+
+        StagedEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .stagedPipeline()
+            .stage("validate")
+            .stage("enrich").concurrency(4)
+            .build();
+
+        List<String> results = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+
+        router.subscribe("validate", str -> str.startsWith("bad") ? null : str.trim());
+        router.subscribe("enrich", str -> str + "!");
+        router.subscribeReadOnly("enrich", str -> {
+            results.add(str);
+            latch.countDown();
+        });
+
+        router.publishAll(" a ", "bad", " b ");
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(results).containsExactlyInAnyOrder("a!", "b!");
+        assertThat(router.getSubscriptions()).hasSize(3);
+        awaitProcessed(router, "enrich", 2);
+
+        // The count goes up after the handoff, so it can trail the next stage.
+        awaitProcessed(router, "validate", 3);
+    }
+
+    @Test
+    void testEachStageRunsOnItsOwnExecutor() throws InterruptedException {
+
+        ExecutorService cpuPool = Executors.newSingleThreadExecutor(task -> new Thread(task, "cpu-stage"));
+        ExecutorService ioPool = Executors.newSingleThreadExecutor(task -> new Thread(task, "io-stage"));
+
+        try {
+            StagedEventRouter<String> router = EventRouters
+                .createWithEventType(String.class)
+                .stagedPipeline()
+                .stage("cpu").executor(cpuPool)
+                .stage("io").executor(ioPool)
+                .build();
+
+            Set<String> cpuThreads = ConcurrentHashMap.newKeySet();
+            Set<String> ioThreads = ConcurrentHashMap.newKeySet();
+            CountDownLatch latch = new CountDownLatch(3);
+
+            router.subscribe("cpu", str -> {
+                cpuThreads.add(Thread.currentThread().getName());
+                return str;
+            });
+
+            router.subscribe("io", str -> {
+                ioThreads.add(Thread.currentThread().getName());
+                latch.countDown();
+                return str;
+            });
+
+            router.publishAll("a", "b", "c");
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(cpuThreads).containsExactly("cpu-stage");
+            assertThat(ioThreads).containsExactly("io-stage");
+
+        } finally {
+            cpuPool.shutdown();
+            ioPool.shutdown();
+        }
+    }
+
+    @Test
+    void testFullQueueDropsAndReportsDepth() throws InterruptedException {
+
+        List<Object> droppedEvents = new CopyOnWriteArrayList<>();
+
+        StagedEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .stagedPipeline()
+            .droppedEventHandler(droppedEvents::add)
+            .stage("slow").queueSize(2).overflowPolicy(OverflowPolicy.DROP_NEWEST)
+            .build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        router.subscribe("slow", str -> {
+            started.countDown();
+            release.await();
+            return str;
+        });
+
+        // Occupy the only worker, then fill the queue and overflow it.
+        router.publish("1");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        router.publishAll("2", "3", "4");
+
+        StageStats stats = router.getStageStats("slow");
+        assertThat(stats.getQueueSize()).isEqualTo(2);
+        assertThat(stats.getQueueCapacity()).isEqualTo(2);
+        assertThat(stats.getActiveWorkerCount()).isEqualTo(1);
+        assertThat(stats.getDroppedCount()).isEqualTo(1);
+        assertThat(droppedEvents).containsExactly("4");
+        assertThat(router.getDroppedEventCount()).isEqualTo(1);
+
+        release.countDown();
+        awaitProcessed(router, "slow", 3);
+        assertThat(router.getStageStats("slow").getQueueSize()).isZero();
+    }
+
+    @Test
+    void testFailFastThrowsToPublisher() throws InterruptedException {
+
+        StagedEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .stagedPipeline()
+            .stage("slow").queueSize(1).overflowPolicy(OverflowPolicy.FAIL_FAST)
+            .build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        router.subscribe("slow", str -> {
+            started.countDown();
+            release.await();
+            return str;
+        });
+
+        router.publish("1");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        router.publish("2");
+
+        assertThatThrownBy(() -> router.publish("3")).isInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+    }
+
+    @Test
+    void testFullNextStageHoldsBackUpstreamStage() throws InterruptedException {
+
+        StagedEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .stagedPipeline()
+            .stage("first")
+            .stage("second").queueSize(1)
+            .build();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> secondEvents = new CopyOnWriteArrayList<>();
+        Set<String> firstThreads = ConcurrentHashMap.newKeySet();
+        Set<String> secondThreads = ConcurrentHashMap.newKeySet();
+
+        router.subscribe("first", str -> {
+            firstThreads.add(Thread.currentThread().getName());
+            return str;
+        });
+
+        router.subscribe("second", str -> {
+            secondThreads.add(Thread.currentThread().getName());
+            secondEvents.add(str);
+            if (str.equals("1")) {
+                started.countDown();
+                release.await();
+            }
+            return str;
+        });
+
+        router.publish("1");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // "2" fills the second stage's queue, "3" waits in the first stage, and "4" isn't started.
+        router.publishAll("2", "3", "4");
+        awaitProcessed(router, "first", 3);
+        EventUtils.sleep(50);
+
+        assertThat(router.getStageStats("first").getProcessedCount()).isEqualTo(3);
+        assertThat(router.getStageStats("first").getQueueSize()).isEqualTo(1);
+        assertThat(router.getStageStats("first").getActiveWorkerCount()).isZero();
+        assertThat(secondEvents).containsExactly("1");
+
+        release.countDown();
+        awaitProcessed(router, "second", 4);
+
+        assertThat(secondEvents).containsExactly("1", "2", "3", "4");
+        assertThat(secondThreads).doesNotContainAnyElementsOf(firstThreads);
+        assertThat(router.getDroppedEventCount()).isZero();
+    }
+
+    @Test
+    void testObserversRunWithinStageConcurrency() throws InterruptedException {
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        try {
+            StagedEventRouter<String> router = EventRouters
+                .createWithEventType(String.class)
+                .stagedPipeline()
+                .stage("observe").executor(pool)
+                .build();
+
+            AtomicInteger runningCount = new AtomicInteger();
+            AtomicInteger maxRunningCount = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(6);
+
+            for (int i = 0; i < 3; i++) {
+                router.subscribeReadOnly("observe", str -> {
+                    maxRunningCount.accumulateAndGet(runningCount.incrementAndGet(), Math::max);
+                    EventUtils.sleep(10);
+                    runningCount.decrementAndGet();
+                    latch.countDown();
+                });
+            }
+
+            router.publishAll("a", "b");
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxRunningCount).hasValue(1);
+
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+
+        assertThatThrownBy(() -> EventRouters.createWithEventType(String.class).stagedPipeline().build())
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> EventRouters.createWithEventType(String.class).stagedPipeline().concurrency(2))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> EventRouters.createWithEventType(String.class).stagedPipeline().stage("a").stage("a"))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        StagedEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .stagedPipeline()
+            .stage("only")
+            .build();
+
+        assertThatThrownBy(() -> router.subscribe("missing", str -> str))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitProcessed(StagedEventRouter<String> router, String stageName, long count) {
+
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (router.getStageStats(stageName).getProcessedCount() < count) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            EventUtils.sleep(10);
+        }
+    }
+}
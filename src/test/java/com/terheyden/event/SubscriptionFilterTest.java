@@ -0,0 +1,200 @@
+package com.terheyden.event;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SubscriptionFilterTest unit tests.
+ */
+class SubscriptionFilterTest {
+
+    private static final EventAttribute<String, Integer> LENGTH = EventFilters.attribute(String::length);
+
+    @Test
+    void testPredicateFilter() {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe(str -> str.startsWith("a"), received::add);
+
+        router.publish("apple");
+        router.publish("banana");
+        router.publishAll(Arrays.asList("avocado", "cherry"));
+
+        assertThat(received).containsExactly("apple", "avocado");
+    }
+
+    @Test
+    void testAttributeFilter() {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe(received::add);
+        router.subscribe(LENGTH.equalTo(3), str -> received.add("3:" + str));
+        router.subscribe(LENGTH.equalTo(5), str -> received.add("5:" + str));
+
+        router.publish("abc");
+        router.publish("hello");
+        router.publish("x");
+
+        assertThat(received).containsExactly("abc", "3:abc", "hello", "5:hello", "x");
+        assertThat(router.getSubscriptions()).hasSize(3);
+    }
+
+    @Test
+    void testIndexedSubscribersKeepSubscriptionOrder() {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe(LENGTH.equalTo(3), str -> received.add("first"));
+        router.subscribe(str -> received.add("second"));
+        router.subscribe(LENGTH.equalTo(3), str -> received.add("third"));
+        router.subscribe(str -> true, str -> received.add("fourth"));
+
+        router.publish("abc");
+
+        assertThat(received).containsExactly("first", "second", "third", "fourth");
+    }
+
+    @Test
+    void testIndexedFilterIsOnlyExtractedOncePerPublish() {
+
+        AtomicInteger extractCount = new AtomicInteger();
+        EventAttribute<String, Integer> countedLength = EventFilters.attribute(str -> {
+            extractCount.incrementAndGet();
+            return str.length();
+        });
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        AtomicInteger receivedCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            router.subscribe(countedLength.equalTo(3), str -> receivedCount.incrementAndGet());
+        }
+
+        router.publish("abc");
+
+        assertThat(receivedCount).hasValue(3);
+        assertThat(extractCount).hasValue(1);
+    }
+
+    @Test
+    void testNonMatchingEventsAreNotDispatched() {
+
+        FilterIndex index = new FilterIndex();
+        EventRouterSubscription<String> sub = new EventRouterSubscription<>(str -> { }, LENGTH.equalTo(3));
+        index.subscribe(LENGTH.equalTo(3), sub);
+
+        EventSubscription[] base = new EventSubscription[0];
+        assertThat(index.resolve("hello", base, (e, obj) -> { })).isSameAs(base);
+        assertThat(index.resolve("abc", base, (e, obj) -> { })).containsExactly(sub);
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .build();
+
+        router.subscribe(LENGTH.equalTo(3), str -> { });
+
+        for (int i = 0; i < 100; i++) {
+            router.publish("hello");
+        }
+
+        assertThat(router.getThreadPool().getTaskCount()).isZero();
+    }
+
+    @Test
+    void testBatchFiltersBeforeSubmittingTasks() {
+
+        AtomicInteger taskCount = new AtomicInteger();
+        ThreadPoolSendStrategy<String> strategy = new ThreadPoolSendStrategy<>(
+            EventRouters.DEFAULT_EXCEPTION_HANDLER,
+            task -> {
+                taskCount.incrementAndGet();
+                task.run();
+            });
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        EventRouterSubscription<String> matching = new EventRouterSubscription<>(received::add, str -> str.length() == 3);
+        EventRouterSubscription<String> nonMatching = new EventRouterSubscription<>(received::add, str -> false);
+
+        strategy.sendEventsToSubscribers(
+            Arrays.asList(new EventRequest<>("abc"), new EventRequest<>("hello"), new EventRequest<>("xyz")),
+            new EventSubscription[] { matching, nonMatching });
+
+        assertThat(taskCount.get()).isEqualTo(1);
+        assertThat(received).containsExactly("abc", "xyz");
+    }
+
+    @Test
+    void testUnsubscribeIndexedFilter() {
+
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.unsubscribe(router.subscribe(LENGTH.equalTo(3), received::add));
+        router.subscribe(LENGTH.equalTo(3), str -> received.add("kept:" + str));
+
+        router.publish("abc");
+
+        assertThat(received).containsExactly("kept:abc");
+        assertThat(router.getSubscriptions()).hasSize(1);
+    }
+
+    @Test
+    void testUnsubscribeById() {
+
+        FilterIndex index = new FilterIndex();
+        EventRouterSubscription<String> sub1 = new EventRouterSubscription<>(str -> { }, LENGTH.equalTo(3));
+        EventRouterSubscription<String> sub2 = new EventRouterSubscription<>(str -> { }, LENGTH.equalTo(3));
+        index.subscribe(LENGTH.equalTo(3), sub1);
+        index.subscribe(LENGTH.equalTo(3), sub2);
+
+        EventSubscription[] base = new EventSubscription[0];
+        assertThat(index.unsubscribe(SubscriptionIds.nextId())).isFalse();
+        assertThat(index.unsubscribe(sub1.getId())).isTrue();
+        assertThat(index.unsubscribe(sub1.getId())).isFalse();
+        assertThat(index.resolve("abc", base, (e, obj) -> { })).containsExactly(sub2);
+
+        assertThat(index.unsubscribe(sub2.getId())).isTrue();
+        assertThat(index.isEmpty()).isTrue();
+
+        // Unfiltered subscriptions are still found once the index has some.
+        EventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe(LENGTH.equalTo(3), received::add);
+        router.unsubscribe(SubscriptionIds.toId(router.subscribe(str -> received.add("plain:" + str))));
+
+        router.publish("abc");
+
+        assertThat(received).containsExactly("abc");
+        assertThat(router.getSubscriptions()).hasSize(1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.terheyden.event;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TopicEventRouterTest unit tests.
+ */
+class TopicEventRouterTest {
+
+    @Test
+    void testWildcardMatching() {
+
+        TopicEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .topics()
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.subscribe("orders/eu/paid", str -> received.add("exact"));
+        router.subscribe("orders/eu/*", str -> received.add("star"));
+        router.subscribe("orders/+/paid", str -> received.add("plus"));
+        router.subscribe("orders/#", str -> received.add("orders-hash"));
+        router.subscribe("#", str -> received.add("hash"));
+        router.subscribe("invoices/#", str -> received.add("invoices"));
+
+        router.publish("orders/eu/paid", "event");
+        assertThat(received).containsExactlyInAnyOrder("exact", "star", "plus", "orders-hash", "hash");
+
+        received.clear();
+        router.publish("orders/us/shipped", "event");
+        assertThat(received).containsExactlyInAnyOrder("orders-hash", "hash");
+
+        // '#' also matches the parent level itself.
+        received.clear();
+        router.publish("orders", "event");
+        assertThat(received).containsExactlyInAnyOrder("orders-hash", "hash");
+
+        received.clear();
+        router.publish("orders/eu/paid/late", "event");
+        assertThat(received).containsExactlyInAnyOrder("orders-hash", "hash");
+    }
+
+    @Test
+    void testCachedMatchesSeeSubscriptionChanges() {
+
+        TopicEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .topics()
+            .publishOnCallingThread()
+            .build();
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        router.publish("a/b", "warm up the cache");
+
+        UUID subId = router.subscribe("a/*", received::add);
+        router.publish("a/b", "one");
+        router.unsubscribe(subId);
+        router.publish("a/b", "two");
+
+        assertThat(received).containsExactly("one");
+        assertThat(router.getSubscriptions()).isEmpty();
+    }
+
+    @Test
+    void testUnsubscribePrunesEmptyNodes() {
+
+        TopicSubscriberManager manager = new TopicSubscriberManager();
+
+        EventRouterSubscription<String> shared = new EventRouterSubscription<>(str -> { });
+        manager.subscribe("orders/#", shared);
+        int sharedNodeCount = manager.getNodeCount();
+
+        // Subscribe to and unsubscribe from many one-off topics, like per-request topics.
+        for (int i = 0; i < 100; i++) {
+            EventRouterSubscription<String> subscription = new EventRouterSubscription<>(str -> { });
+            manager.subscribe("orders/" + i + "/status", subscription);
+            manager.unsubscribe(subscription.getId());
+        }
+
+        assertThat(manager.getNodeCount()).isEqualTo(sharedNodeCount);
+        assertThat(manager.getSubscriberSnapshot("orders/1/status")).containsExactly(shared);
+
+        manager.unsubscribe(shared.getSubscriptionId());
+        assertThat(manager.getNodeCount()).isZero();
+    }
+
+    @Test
+    void testMatchCacheEvictsOneTopicAtATime() {
+
+        TopicSubscriberManager manager = new TopicSubscriberManager();
+        EventRouterSubscription<String> subscription = new EventRouterSubscription<>(str -> { });
+        manager.subscribe("orders/#", subscription);
+
+        for (int i = 0; i <= TopicSubscriberManager.MAX_CACHED_TOPICS; i++) {
+            manager.getSubscriberSnapshot("orders/" + i);
+        }
+
+        // Full, but not cleared.
+        assertThat(manager.getCachedTopicCount()).isEqualTo(TopicSubscriberManager.MAX_CACHED_TOPICS);
+        assertThat(manager.getSubscriberSnapshot("orders/new")).containsExactly(subscription);
+        assertThat(manager.getCachedTopicCount()).isEqualTo(TopicSubscriberManager.MAX_CACHED_TOPICS);
+    }
+
+    @Test
+    void testInvalidTopics() {
+
+        TopicEventRouter<String> router = EventRouters
+            .createWithEventType(String.class)
+            .topics()
+            .build();
+
+        assertThatThrownBy(() -> router.subscribe("orders/#/paid", str -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> router.subscribe("orders/eu*", str -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> router.publish("orders/*", "event"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
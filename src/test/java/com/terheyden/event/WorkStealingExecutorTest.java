@@ -0,0 +1,76 @@
+package com.terheyden.event;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WorkStealingExecutorTest unit tests.
+ */
+class WorkStealingExecutorTest {
+
+    @Test
+    void testWorkerTasksGoToLocalDeque() throws InterruptedException {
+
+        ForkJoinPool pool = ThreadPools.newWorkStealingPool(1);
+        WorkStealingExecutor executor = new WorkStealingExecutor(pool);
+        AtomicInteger localQueueSize = new AtomicInteger(-1);
+        CountDownLatch latch = new CountDownLatch(2);
+
+        executor.execute(() -> {
+            executor.execute(latch::countDown);
+            // Only one worker, so nobody can steal the task before we check.
+            localQueueSize.set(ForkJoinTask.getQueuedTaskCount());
+            latch.countDown();
+        });
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(localQueueSize.get()).isEqualTo(1);
+        pool.shutdown();
+    }
+
+    @Test
+    void testWorkStealingRouter() throws InterruptedException {
+
+        ForkJoinPool pool = ThreadPools.newWorkStealingPool(4);
+
+        EventRouter<Integer> router = EventRouters
+            .createWithEventType(Integer.class)
+            .customForkJoinPool(pool)
+            .maxAsync()
+            .build();
+
+        int subscriberCount = 50;
+        CountDownLatch latch = new CountDownLatch(subscriberCount * 10);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < subscriberCount; i++) {
+            router.subscribe(num -> {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            });
+        }
+
+        for (int i = 0; i < 10; i++) {
+            router.publish(i);
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(threads).allMatch(thread -> thread instanceof ForkJoinWorkerThread);
+        assertThat(router.getExecutor()).isSameAs(pool);
+        assertThatThrownBy(router::getThreadPool)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("getExecutor()");
+        pool.shutdown();
+    }
+}